@@ -19,12 +19,15 @@ package io.pivotal.cfenv.profile;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.boot.SpringApplication;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.logging.DeferredLog;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 /**
  * Originally contributed by Dylan Roberts in
@@ -48,7 +51,13 @@ public final class CloudProfileApplicationListener implements ApplicationListene
     @Override
     public void onApplicationEvent(ApplicationEvent event) {
         if (event instanceof ApplicationEnvironmentPreparedEvent e) {
+            SpringApplication application = e.getSpringApplication();
+            ApplicationStartup applicationStartup = (application != null)
+                    ? application.getApplicationStartup() : ApplicationStartup.DEFAULT;
+            StartupStep activateStep = applicationStartup.start("cfenv.cloud-profile.activate")
+                    .tag("profile", CLOUD_PROFILE);
             ProfileUtils.activateProfile(CLOUD_PROFILE, e.getEnvironment(), this.cfEnvHolder);
+            activateStep.end();
             logger.info(String.format("'%s' profile activated", CLOUD_PROFILE));
         } else if (event instanceof ApplicationPreparedEvent) {
             DeferredLog.replay(logger, LogFactory.getLog(getClass()));
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import io.pivotal.cfenv.core.CfService;
+
+/**
+ * A binding snapshot file, written by {@link BindingSnapshotWriter} and memory-mapped
+ * when read.
+ * <p>
+ * Only the header is read when the file is opened; the precomputed properties and the
+ * services are decoded the first time they are requested, so only the pages of the file
+ * that are used are ever loaded.
+ *
+ * @see BindingSnapshotProperties
+ */
+public final class BindingSnapshot {
+
+	private final ByteBuffer buffer;
+
+	private final byte[] hash;
+
+	private final int servicesOffset;
+
+	private final int propertiesOffset;
+
+	private final int classpathOffset;
+
+	private volatile Map<String, Map<String, Map<String, Object>>> properties;
+
+	private BindingSnapshot(ByteBuffer buffer) {
+		if (buffer.capacity() < BindingSnapshotFormat.HEADER_LENGTH
+				|| buffer.getInt(0) != BindingSnapshotFormat.MAGIC) {
+			throw new IllegalArgumentException("Not a binding snapshot");
+		}
+		short version = buffer.getShort(4);
+		if (version != BindingSnapshotFormat.VERSION) {
+			throw new IllegalArgumentException("Unsupported binding snapshot version " + version);
+		}
+		this.buffer = buffer;
+		this.hash = new byte[BindingSnapshotFormat.HASH_LENGTH];
+		buffer.get(6, this.hash);
+		this.servicesOffset = buffer.getInt(6 + BindingSnapshotFormat.HASH_LENGTH);
+		this.propertiesOffset = buffer.getInt(10 + BindingSnapshotFormat.HASH_LENGTH);
+		this.classpathOffset = buffer.getInt(14 + BindingSnapshotFormat.HASH_LENGTH);
+	}
+
+	/**
+	 * Map a snapshot file into memory.
+	 * @param file the snapshot file
+	 * @return the snapshot
+	 * @throws UncheckedIOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a binding snapshot of a
+	 * supported version
+	 */
+	public static BindingSnapshot open(Path file) {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new BindingSnapshot(buffer);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not read binding snapshot " + file, e);
+		}
+	}
+
+	static BindingSnapshot of(byte[] content) {
+		return new BindingSnapshot(ByteBuffer.wrap(content));
+	}
+
+	/**
+	 * Whether this snapshot was created from the given VCAP_SERVICES content.
+	 * @param vcapServicesHash the SHA-256 hash of the UTF-8 encoded content
+	 * @return {@code true} if the hashes are equal
+	 */
+	public boolean matches(byte[] vcapServicesHash) {
+		return Arrays.equals(this.hash, vcapServicesHash);
+	}
+
+	/**
+	 * Whether the classes the snapshot was created with are present, or absent, in the
+	 * same way for the given probe.
+	 * @param isPresent the probe, typically
+	 * {@link io.pivotal.cfenv.core.ClasspathCapabilities#isPresent(String)}
+	 * @return {@code true} if all recorded probe results are the same
+	 */
+	public boolean matchesClasspath(Predicate<String> isPresent) {
+		for (Map.Entry<String, Boolean> capability : getCapabilities().entrySet()) {
+			if (isPresent.test(capability.getKey()) != capability.getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Decode the class path probe results recorded when the snapshot was written.
+	 * @return whether each probed class was present, by class name
+	 */
+	public Map<String, Boolean> getCapabilities() {
+		BindingSnapshotFormat.Reader reader = new BindingSnapshotFormat.Reader(this.buffer, this.classpathOffset);
+		int count = reader.readInt();
+		Map<String, Boolean> capabilities = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			capabilities.put(reader.readString(), reader.readBoolean());
+		}
+		return capabilities;
+	}
+
+	/**
+	 * Decode the services the snapshot was created from.
+	 * @return the services, in binding order
+	 */
+	public List<CfService> getServices() {
+		BindingSnapshotFormat.Reader reader = new BindingSnapshotFormat.Reader(this.buffer, this.servicesOffset);
+		int count = reader.readInt();
+		List<CfService> services = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			services.add(new CfService(reader.readMapValue()));
+		}
+		return services;
+	}
+
+	/**
+	 * Return the precomputed properties for a property source.
+	 * @param key the processor class name or property source name the properties were
+	 * stored under
+	 * @return the properties of each candidate service by service name, or {@code null}
+	 * if the snapshot has none for the key
+	 */
+	public Map<String, Map<String, Object>> getCandidates(String key) {
+		return getProperties().get(key);
+	}
+
+	private Map<String, Map<String, Map<String, Object>>> getProperties() {
+		Map<String, Map<String, Map<String, Object>>> properties = this.properties;
+		if (properties == null) {
+			properties = readProperties();
+			this.properties = properties;
+		}
+		return properties;
+	}
+
+	private Map<String, Map<String, Map<String, Object>>> readProperties() {
+		BindingSnapshotFormat.Reader reader = new BindingSnapshotFormat.Reader(this.buffer, this.propertiesOffset);
+		int sources = reader.readInt();
+		Map<String, Map<String, Map<String, Object>>> properties = new LinkedHashMap<>();
+		for (int i = 0; i < sources; i++) {
+			String key = reader.readString();
+			int candidates = reader.readInt();
+			Map<String, Map<String, Object>> byService = new LinkedHashMap<>();
+			for (int j = 0; j < candidates; j++) {
+				String serviceName = reader.readString();
+				byService.put(serviceName, Collections.unmodifiableMap(reader.readMapValue()));
+			}
+			properties.put(key, Collections.unmodifiableMap(byService));
+		}
+		return Collections.unmodifiableMap(properties);
+	}
+
+}
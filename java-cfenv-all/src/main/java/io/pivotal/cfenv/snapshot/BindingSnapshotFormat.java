@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoding of the values stored in a binding snapshot file.
+ * <p>
+ * A file starts with a header: the magic number, the format version, the SHA-256 hash of
+ * the VCAP_SERVICES content the snapshot was created from and the offsets of the
+ * services, property and class path sections, so a reader can decode any section without
+ * reading the others. The class path section holds the results of the
+ * {@link io.pivotal.cfenv.core.ClasspathCapabilities} probes made while computing the
+ * properties, as the properties depend on them. Values are tagged; strings are stored as a length followed by their UTF-8
+ * bytes. All numbers are big-endian.
+ */
+final class BindingSnapshotFormat {
+
+	static final int MAGIC = 0x43464553;
+
+	static final short VERSION = 2;
+
+	static final int HASH_LENGTH = 32;
+
+	/**
+	 * Length of the header: magic, version, hash and the three section offsets.
+	 */
+	static final int HEADER_LENGTH = 4 + 2 + HASH_LENGTH + 4 + 4 + 4;
+
+	private static final byte NULL = 0;
+
+	private static final byte STRING = 1;
+
+	private static final byte INT = 2;
+
+	private static final byte LONG = 3;
+
+	private static final byte DOUBLE = 4;
+
+	private static final byte TRUE = 5;
+
+	private static final byte FALSE = 6;
+
+	private static final byte LIST = 7;
+
+	private static final byte MAP = 8;
+
+	private static final byte BIG_INTEGER = 9;
+
+	private BindingSnapshotFormat() {
+	}
+
+	/**
+	 * Hash of the VCAP_SERVICES content a snapshot belongs to.
+	 */
+	static byte[] hash(byte[] vcapServices) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(vcapServices);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static byte[] hash(String vcapServices) {
+		return hash(vcapServices.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Encode a value, which must be built from the types a JSON document decodes to.
+	 * @throws IllegalArgumentException for values of any other type
+	 */
+	static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		}
+		else if (value instanceof String string) {
+			out.writeByte(STRING);
+			writeString(out, string);
+		}
+		else if (value instanceof Integer number) {
+			out.writeByte(INT);
+			out.writeInt(number);
+		}
+		else if (value instanceof Long number) {
+			out.writeByte(LONG);
+			out.writeLong(number);
+		}
+		else if (value instanceof Double number) {
+			out.writeByte(DOUBLE);
+			out.writeDouble(number);
+		}
+		else if (value instanceof Boolean bool) {
+			out.writeByte(bool ? TRUE : FALSE);
+		}
+		else if (value instanceof BigInteger number) {
+			out.writeByte(BIG_INTEGER);
+			writeString(out, number.toString());
+		}
+		else if (value instanceof List<?> list) {
+			out.writeByte(LIST);
+			out.writeInt(list.size());
+			for (Object element : list) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof Map<?, ?> map) {
+			out.writeByte(MAP);
+			out.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeString(out, entry.getKey().toString());
+				writeValue(out, entry.getValue());
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Cannot store value of type " + value.getClass().getName());
+		}
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Encode a value on its own, to find out whether it can be stored.
+	 */
+	static byte[] encode(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writeValue(new DataOutputStream(bytes), value);
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Sequential decoder over a region of a buffer, reading with absolute positions so
+	 * the buffer itself is never modified.
+	 */
+	static final class Reader {
+
+		private final ByteBuffer buffer;
+
+		private int position;
+
+		Reader(ByteBuffer buffer, int position) {
+			this.buffer = buffer;
+			this.position = position;
+		}
+
+		int readInt() {
+			int value = this.buffer.getInt(this.position);
+			this.position += 4;
+			return value;
+		}
+
+		boolean readBoolean() {
+			return this.buffer.get(this.position++) != 0;
+		}
+
+		String readString() {
+			int length = readInt();
+			byte[] bytes = new byte[length];
+			this.buffer.get(this.position, bytes);
+			this.position += length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		Object readValue() {
+			byte tag = this.buffer.get(this.position++);
+			switch (tag) {
+				case NULL:
+					return null;
+				case STRING:
+					return readString();
+				case INT:
+					return readInt();
+				case LONG: {
+					long value = this.buffer.getLong(this.position);
+					this.position += 8;
+					return value;
+				}
+				case DOUBLE: {
+					double value = this.buffer.getDouble(this.position);
+					this.position += 8;
+					return value;
+				}
+				case TRUE:
+					return Boolean.TRUE;
+				case FALSE:
+					return Boolean.FALSE;
+				case BIG_INTEGER:
+					return new BigInteger(readString());
+				case LIST: {
+					int size = readInt();
+					List<Object> list = new ArrayList<>(size);
+					for (int i = 0; i < size; i++) {
+						list.add(readValue());
+					}
+					return list;
+				}
+				case MAP:
+					return readMap();
+				default:
+					throw new IllegalStateException("Invalid value tag " + tag + " at position " + (this.position - 1));
+			}
+		}
+
+		Map<String, Object> readMap() {
+			int size = readInt();
+			Map<String, Object> map = new LinkedHashMap<>(size * 4 / 3 + 1);
+			for (int i = 0; i < size; i++) {
+				String key = readString();
+				map.put(key, readValue());
+			}
+			return map;
+		}
+
+		Map<String, Object> readMapValue() {
+			byte tag = this.buffer.get(this.position);
+			if (tag != MAP) {
+				throw new IllegalStateException("Expected a map at position " + this.position);
+			}
+			this.position++;
+			return readMap();
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.snapshot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+
+import io.pivotal.cfenv.core.ClasspathCapabilities;
+import io.pivotal.cfenv.spring.boot.CfPropertiesSnapshot;
+
+/**
+ * {@link CfPropertiesSnapshot} backed by the {@link BindingSnapshot} file configured with
+ * {@code cfenv.snapshot.path}.
+ * <p>
+ * The snapshot is only used while the SHA-256 hash of the current VCAP_SERVICES content
+ * equals the hash stored in the file, and while the classes the snapshot was written with,
+ * such as JDBC drivers and Spring Security, are present in the same way; any other
+ * snapshot, or one that cannot be read, is ignored so that the services are parsed as
+ * usual.
+ */
+public class BindingSnapshotProperties implements CfPropertiesSnapshot {
+
+	/**
+	 * Property holding the path of the snapshot file.
+	 */
+	public static final String PATH_PROPERTY = "cfenv.snapshot.path";
+
+	private static volatile Loaded loaded;
+
+	@Override
+	public Map<String, Map<String, Object>> getCandidates(String key, Environment environment) {
+		String path = environment.getProperty(PATH_PROPERTY);
+		if (path == null || path.isEmpty()) {
+			return null;
+		}
+		BindingSnapshot snapshot = load(path);
+		return (snapshot != null) ? snapshot.getCandidates(key) : null;
+	}
+
+	/**
+	 * Return the snapshot at the given path if it matches the current VCAP_SERVICES
+	 * content. The result is kept until the path or the content changes, so the file is
+	 * mapped and the content hashed once for all post-processors.
+	 */
+	private static BindingSnapshot load(String path) {
+		String vcapServices = System.getenv("VCAP_SERVICES");
+		Loaded current = loaded;
+		if (current != null && current.path.equals(path) && current.vcapServices == vcapServices) {
+			return current.snapshot;
+		}
+		BindingSnapshot snapshot = open(Paths.get(path), vcapServices);
+		loaded = new Loaded(path, vcapServices, snapshot);
+		return snapshot;
+	}
+
+	static BindingSnapshot open(Path path, String vcapServices) {
+		try {
+			byte[] content = (vcapServices != null) ? vcapServices.getBytes(StandardCharsets.UTF_8)
+					: BindingSnapshotWriter.readVcapServices();
+			if (content == null) {
+				return null;
+			}
+			BindingSnapshot snapshot = BindingSnapshot.open(path);
+			return (snapshot.matches(BindingSnapshotFormat.hash(content))
+					&& snapshot.matchesClasspath(ClasspathCapabilities::isPresent)) ? snapshot : null;
+		}
+		catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static final class Loaded {
+
+		private final String path;
+
+		private final String vcapServices;
+
+		private final BindingSnapshot snapshot;
+
+		private Loaded(String path, String vcapServices, BindingSnapshot snapshot) {
+			this.path = path;
+			this.vcapServices = vcapServices;
+			this.snapshot = snapshot;
+		}
+
+	}
+
+}
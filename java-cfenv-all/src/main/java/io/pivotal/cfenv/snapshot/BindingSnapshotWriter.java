@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.core.ClasspathCapabilities;
+import io.pivotal.cfenv.jdbc.CfJdbcService;
+import io.pivotal.cfenv.jdbc.CfJdbcUrlCreator;
+import io.pivotal.cfenv.spring.boot.CfDataSourceEnvironmentPostProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvProcessors;
+
+/**
+ * Writes a {@link BindingSnapshot} of the bound services, typically while staging an
+ * application, with the class path of the application:
+ * <pre>
+ * java -cp "BOOT-INF/classes:BOOT-INF/lib/*:java-cfenv-all.jar" \
+ *     io.pivotal.cfenv.snapshot.BindingSnapshotWriter /home/vcap/app/.cfenv-snapshot
+ * </pre>
+ * The services are read from VCAP_SERVICES, or from the file VCAP_SERVICES_FILE_PATH
+ * points to. For every {@link CfEnvProcessor} registered in
+ * {@code META-INF/spring.factories}, and for the JDBC properties, the snapshot stores the
+ * properties of each service the processor accepts. A processor is left out, and so runs
+ * as usual at startup, when the services it accepts do not have unique names, when it
+ * fails, or when it produces values that cannot be stored.
+ * <p>
+ * Some properties depend on the class path, such as the JDBC driver of a MySQL service or
+ * whether Spring Security is present, so the snapshot also records the
+ * {@link ClasspathCapabilities} probe results, and is only used at startup when the
+ * application finds the same classes.
+ */
+public final class BindingSnapshotWriter {
+
+	private final byte[] vcapServices;
+
+	private final ClassLoader classLoader;
+
+	public BindingSnapshotWriter(byte[] vcapServices, ClassLoader classLoader) {
+		this.vcapServices = vcapServices;
+		this.classLoader = classLoader;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: BindingSnapshotWriter <snapshot file>");
+			System.exit(2);
+		}
+		byte[] vcapServices = readVcapServices();
+		if (vcapServices == null) {
+			System.err.println("Neither VCAP_SERVICES nor " + CfEnv.VCAP_SERVICES_FILE_PATH + " is set");
+			System.exit(1);
+		}
+		Path file = Paths.get(args[0]);
+		try (OutputStream out = Files.newOutputStream(file)) {
+			new BindingSnapshotWriter(vcapServices, BindingSnapshotWriter.class.getClassLoader()).write(out);
+		}
+	}
+
+	/**
+	 * Read the VCAP_SERVICES content as {@link BindingSnapshotProperties} hashes it.
+	 * @return the content, or {@code null} if the services are not bound through
+	 * VCAP_SERVICES or VCAP_SERVICES_FILE_PATH
+	 */
+	static byte[] readVcapServices() throws IOException {
+		String vcapServices = System.getenv("VCAP_SERVICES");
+		if (vcapServices != null) {
+			return vcapServices.getBytes(StandardCharsets.UTF_8);
+		}
+		String path = System.getenv(CfEnv.VCAP_SERVICES_FILE_PATH);
+		return (path != null) ? Files.readAllBytes(Paths.get(path)) : null;
+	}
+
+	/**
+	 * Write the snapshot.
+	 * @param out the stream to write to, which is not closed
+	 */
+	public void write(OutputStream out) throws IOException {
+		String json = new String(this.vcapServices, StandardCharsets.UTF_8);
+		List<CfService> services = new CfEnv(null, json).findAllServices();
+
+		byte[] servicesSection = encodeServices(services);
+		byte[] propertiesSection = encodeProperties(collectProperties(services));
+		// Taken after the properties were computed, so it includes the probes they made
+		byte[] classpathSection = encodeCapabilities(ClasspathCapabilities.getCapabilities());
+
+		ByteBuffer header = ByteBuffer.allocate(BindingSnapshotFormat.HEADER_LENGTH);
+		header.putInt(BindingSnapshotFormat.MAGIC);
+		header.putShort(BindingSnapshotFormat.VERSION);
+		header.put(BindingSnapshotFormat.hash(this.vcapServices));
+		header.putInt(BindingSnapshotFormat.HEADER_LENGTH);
+		header.putInt(BindingSnapshotFormat.HEADER_LENGTH + servicesSection.length);
+		header.putInt(BindingSnapshotFormat.HEADER_LENGTH + servicesSection.length + propertiesSection.length);
+		out.write(header.array());
+		out.write(servicesSection);
+		out.write(propertiesSection);
+		out.write(classpathSection);
+		out.flush();
+	}
+
+	private Map<String, Map<String, Map<String, Object>>> collectProperties(List<CfService> services) {
+		Map<String, Map<String, Map<String, Object>>> sources = new LinkedHashMap<>();
+		for (CfEnvProcessor processor : SpringFactoriesLoader.loadFactories(CfEnvProcessor.class,
+				this.classLoader)) {
+			Map<String, Map<String, Object>> candidates = processorCandidates(processor, services);
+			if (candidates != null) {
+				sources.put(processor.getClass().getName(), candidates);
+			}
+		}
+		Map<String, Map<String, Object>> jdbcCandidates = jdbcCandidates(services);
+		if (jdbcCandidates != null) {
+			sources.put(CfDataSourceEnvironmentPostProcessor.PROPERTY_SOURCE_NAME, jdbcCandidates);
+		}
+		return sources;
+	}
+
+	private static Map<String, Map<String, Object>> processorCandidates(CfEnvProcessor processor,
+			List<CfService> services) {
+		Map<String, Map<String, Object>> candidates = new LinkedHashMap<>();
+		try {
+			for (CfService service : services) {
+				if (CfEnvProcessors.accept(processor, service)) {
+					Map<String, Object> properties = new LinkedHashMap<>();
+					CfEnvProcessors.process(processor, service, properties);
+					if (service.getName() == null || !isStorable(properties)
+							|| candidates.put(service.getName(), properties) != null) {
+						return null;
+					}
+				}
+			}
+		}
+		catch (RuntimeException e) {
+			return null;
+		}
+		return candidates;
+	}
+
+	private static Map<String, Map<String, Object>> jdbcCandidates(List<CfService> services) {
+		Map<String, Map<String, Object>> candidates = new LinkedHashMap<>();
+		try {
+			for (CfJdbcService service : new CfJdbcUrlCreator(services).findJdbcServices()) {
+				Map<String, Object> properties = CfDataSourceEnvironmentPostProcessor.createProperties(service);
+				if (service.getName() == null || !isStorable(properties)
+						|| candidates.put(service.getName(), properties) != null) {
+					return null;
+				}
+			}
+		}
+		catch (RuntimeException e) {
+			return null;
+		}
+		return candidates;
+	}
+
+	private static boolean isStorable(Map<String, Object> properties) {
+		try {
+			BindingSnapshotFormat.encode(properties);
+			return true;
+		}
+		catch (IllegalArgumentException | IOException e) {
+			return false;
+		}
+	}
+
+	private static byte[] encodeServices(List<CfService> services) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(services.size());
+		for (CfService service : services) {
+			BindingSnapshotFormat.writeValue(out, service.getMap());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static byte[] encodeProperties(Map<String, Map<String, Map<String, Object>>> sources)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(sources.size());
+		for (Map.Entry<String, Map<String, Map<String, Object>>> source : sources.entrySet()) {
+			BindingSnapshotFormat.writeString(out, source.getKey());
+			out.writeInt(source.getValue().size());
+			for (Map.Entry<String, Map<String, Object>> candidate : source.getValue().entrySet()) {
+				BindingSnapshotFormat.writeString(out, candidate.getKey());
+				BindingSnapshotFormat.writeValue(out, candidate.getValue());
+			}
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static byte[] encodeCapabilities(Map<String, Boolean> capabilities) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(capabilities.size());
+		for (Map.Entry<String, Boolean> capability : capabilities.entrySet()) {
+			BindingSnapshotFormat.writeString(out, capability.getKey());
+			out.writeBoolean(capability.getValue());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+}
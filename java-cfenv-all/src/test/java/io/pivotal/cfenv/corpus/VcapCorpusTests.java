@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.corpus;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import io.pivotal.cfenv.spring.boot.CfDataSourceEnvironmentPostProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvProcessor;
+import io.pivotal.cfenv.test.AbstractCfEnvTests;
+import io.pivotal.cfenv.test.VcapCorpus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the properties derived from the generated bindings of {@link VcapCorpus} against
+ * its golden files.
+ */
+public class VcapCorpusTests extends AbstractCfEnvTests {
+
+	@ParameterizedTest
+	@MethodSource("io.pivotal.cfenv.test.VcapCorpus#entries")
+	public void derivedPropertiesMatchCorpus(VcapCorpus.Entry entry) {
+		entry.mock();
+
+		ConfigurableEnvironment environment = (ConfigurableEnvironment) getEnvironment();
+
+		assertThat(VcapCorpus.format(derivedProperties(environment)))
+				.as("Properties derived from corpus entry %s", entry)
+				.isEqualTo(entry.getExpectedProperties());
+	}
+
+	private Map<String, Object> derivedProperties(ConfigurableEnvironment environment) {
+		List<CfEnvProcessor> processors = SpringFactoriesLoader.loadFactories(CfEnvProcessor.class,
+				getClass().getClassLoader());
+		Set<String> names = processors.stream()
+				.map(processor -> processor.getClass().getSimpleName())
+				.collect(Collectors.toCollection(HashSet::new));
+		names.add(CfDataSourceEnvironmentPostProcessor.PROPERTY_SOURCE_NAME);
+		Map<String, Object> properties = new HashMap<>();
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			if (names.contains(propertySource.getName())) {
+				properties.putAll(((MapPropertySource) propertySource).getSource());
+			}
+		}
+		return properties;
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.JsonIoConverter;
+
+/**
+ * Time and allocation of parsing VCAP_SERVICES by number of bindings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CfEnvParseBenchmark {
+
+	@Param({ "1", "10", "100", "1000" })
+	public int bindings;
+
+	private String vcapServices;
+
+	@Setup
+	public void setup() {
+		this.vcapServices = VcapServices.generate(this.bindings);
+	}
+
+	@Benchmark
+	public CfEnv parse() {
+		return new CfEnv(null, this.vcapServices);
+	}
+
+	@Benchmark
+	public CfEnv parseWithLazyCredentials() {
+		return new CfEnv(null, this.vcapServices, true);
+	}
+
+	@Benchmark
+	public Map<?, ?> parseWithJsonIo() {
+		return JsonIoConverter.jsonToJavaWithListsAndInts(this.vcapServices);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfService;
+
+/**
+ * Throughput of the {@code findServicesBy*} queries by number of bindings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CfEnvQueryBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int bindings;
+
+	private CfEnv cfEnv;
+
+	private String name;
+
+	@Setup
+	public void setup() {
+		this.cfEnv = new CfEnv(null, VcapServices.generate(this.bindings));
+		this.name = VcapServices.name(this.bindings / 2);
+		// Builds the lookup tables, which are shared by all queries
+		this.cfEnv.findServicesByName(this.name);
+	}
+
+	@Benchmark
+	public List<CfService> findServicesByName() {
+		return this.cfEnv.findServicesByName(this.name);
+	}
+
+	@Benchmark
+	public List<CfService> findServicesByNamePattern() {
+		return this.cfEnv.findServicesByName("mysql-1.*");
+	}
+
+	@Benchmark
+	public List<CfService> findServicesByLabel() {
+		return this.cfEnv.findServicesByLabel("p-redis");
+	}
+
+	@Benchmark
+	public List<CfService> findServicesByTag() {
+		return this.cfEnv.findServicesByTag("service-3");
+	}
+
+	@Benchmark
+	public CfService findServiceByName() {
+		return this.cfEnv.findServiceByName(this.name);
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+/**
+ * Sets environment variables of the running JVM, so that the post-processors, which read
+ * VCAP_SERVICES with {@link System#getenv(String)}, can be measured. Needs
+ * {@code --add-opens java.base/java.util=ALL-UNNAMED}, which the build adds to the
+ * benchmark JVMs.
+ */
+final class EnvironmentVariables {
+
+	private EnvironmentVariables() {
+	}
+
+	static void set(String name, String value) {
+		if (value != null) {
+			modifiableEnvironment().put(name, value);
+		}
+		else {
+			modifiableEnvironment().remove(name);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, String> modifiableEnvironment() {
+		Map<String, String> environment = System.getenv();
+		try {
+			// The map behind the unmodifiable view is the one System.getenv(String) reads
+			Field field = environment.getClass().getDeclaredField("m");
+			field.setAccessible(true);
+			return (Map<String, String>) field.get(environment);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot modify the environment of this JVM", e);
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.jdbc.CfJdbcService;
+import io.pivotal.cfenv.jdbc.CfJdbcUrlCreator;
+
+/**
+ * Time of resolving the database services and their JDBC URLs with
+ * {@link CfJdbcUrlCreator}, by number of bindings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JdbcUrlCreatorBenchmark {
+
+	@Param({ "1", "10", "100", "1000" })
+	public int bindings;
+
+	private List<CfService> services;
+
+	private String name;
+
+	@Setup
+	public void setup() {
+		this.services = new CfEnv(null, VcapServices.generate(this.bindings)).findAllServices();
+		this.name = VcapServices.name(0);
+	}
+
+	@Benchmark
+	public List<CfJdbcService> findJdbcServices() {
+		return new CfJdbcUrlCreator(this.services).findJdbcServices();
+	}
+
+	@Benchmark
+	public CfJdbcService findJdbcServiceByName() {
+		return new CfJdbcUrlCreator(this.services).findJdbcServiceByName(this.name);
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
+
+import io.pivotal.cfenv.core.CfEnvCache;
+import io.pivotal.cfenv.spring.boot.CfDataSourceEnvironmentPostProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvironmentPostProcessor;
+
+/**
+ * Time of the full pass of {@link CfEnvironmentPostProcessor} and
+ * {@link CfDataSourceEnvironmentPostProcessor} over a new environment, by number of
+ * bindings, either parsing VCAP_SERVICES each time or reusing the {@link CfEnvCache}.
+ * <p>
+ * Each post-processor finds a unique service, as in an application that starts
+ * successfully; the other bindings are user-provided services.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PostProcessEnvironmentBenchmark {
+
+	@Param({ "1", "10", "100", "1000" })
+	public int bindings;
+
+	@Param({ "false", "true" })
+	public boolean cached;
+
+	private final CfEnvironmentPostProcessor cfEnvironmentPostProcessor = new CfEnvironmentPostProcessor();
+
+	private final CfDataSourceEnvironmentPostProcessor dataSourcePostProcessor = new CfDataSourceEnvironmentPostProcessor();
+
+	private final SpringApplication application = new SpringApplication();
+
+	@Setup
+	public void setup() {
+		EnvironmentVariables.set("VCAP_SERVICES", VcapServices.generateUniqueTypes(this.bindings));
+		CfEnvCache.clear();
+	}
+
+	@TearDown
+	public void tearDown() {
+		EnvironmentVariables.set("VCAP_SERVICES", null);
+		CfEnvCache.clear();
+	}
+
+	@Benchmark
+	public ConfigurableEnvironment postProcessEnvironment() {
+		if (!this.cached) {
+			CfEnvCache.clear();
+		}
+		ConfigurableEnvironment environment = new StandardEnvironment();
+		this.cfEnvironmentPostProcessor.postProcessEnvironment(environment, this.application);
+		this.dataSourcePostProcessor.postProcessEnvironment(environment, this.application);
+		return environment;
+	}
+
+}
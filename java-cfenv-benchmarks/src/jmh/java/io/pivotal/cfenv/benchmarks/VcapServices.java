@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.benchmarks;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates VCAP_SERVICES documents with a given number of bindings. The documents only
+ * depend on the number of bindings, so every run measures the same input.
+ */
+final class VcapServices {
+
+	private static final String[] LABELS = { "p-mysql", "postgres", "p-redis", "p-rabbitmq", "mongodb" };
+
+	private static final String[] SCHEMES = { "mysql", "postgres", "redis", "amqp", "mongodb" };
+
+	private static final int[] PORTS = { 3306, 5432, 6379, 5672, 27017 };
+
+	private VcapServices() {
+	}
+
+	/**
+	 * Generate bindings cycling through MySQL, PostgreSQL, Redis, RabbitMQ and MongoDB
+	 * services.
+	 */
+	static String generate(int bindings) {
+		Random random = new Random(bindings);
+		StringBuilder json = new StringBuilder("{");
+		for (int type = 0; type < LABELS.length; type++) {
+			if (type > 0) {
+				json.append(',');
+			}
+			json.append('"').append(LABELS[type]).append("\":[");
+			boolean first = true;
+			for (int i = type; i < bindings; i += LABELS.length) {
+				if (!first) {
+					json.append(',');
+				}
+				first = false;
+				appendService(json, type, i, random);
+			}
+			json.append(']');
+		}
+		return json.append('}').toString();
+	}
+
+	/**
+	 * Generate at most one MySQL, Redis, RabbitMQ and MongoDB binding each, so that every
+	 * post-processor finds a unique service, followed by user-provided services that no
+	 * post-processor accepts.
+	 */
+	static String generateUniqueTypes(int bindings) {
+		Random random = new Random(bindings);
+		StringBuilder json = new StringBuilder("{");
+		int[] types = { 0, 2, 3, 4 };
+		int typed = Math.min(bindings, types.length);
+		for (int i = 0; i < typed; i++) {
+			json.append((i > 0) ? "," : "").append('"').append(LABELS[types[i]]).append("\":[");
+			appendService(json, types[i], i, random);
+			json.append(']');
+		}
+		json.append((typed > 0) ? "," : "").append("\"user-provided\":[");
+		for (int i = typed; i < bindings; i++) {
+			json.append((i > typed) ? "," : "")
+					.append("{\"name\":\"config-").append(i).append('"')
+					.append(",\"label\":\"user-provided\",\"tags\":[]")
+					.append(",\"credentials\":{\"url\":\"https://config.example.com/").append(i).append('"')
+					.append(",\"token\":\"").append(Long.toHexString(random.nextLong())).append("\"}")
+					.append(",\"volume_mounts\":[]}");
+		}
+		return json.append("]}").toString();
+	}
+
+	private static void appendService(StringBuilder json, int type, int index, Random random) {
+		String host = "10.0." + random.nextInt(256) + "." + random.nextInt(256);
+		String password = Long.toHexString(random.nextLong());
+		String uri = SCHEMES[type] + "://user" + index + ":" + password + "@" + host + ":" + PORTS[type] + "/db" + index;
+		json.append("{\"name\":\"").append(name(type, index)).append('"')
+				.append(",\"label\":\"").append(LABELS[type]).append('"')
+				.append(",\"plan\":\"shared\"")
+				.append(",\"tags\":[\"").append(SCHEMES[type]).append("\",\"service-").append(index % 10).append("\"]")
+				.append(",\"instance_guid\":\"").append(new UUID(random.nextLong(), random.nextLong())).append('"')
+				.append(",\"credentials\":{")
+				.append("\"hostname\":\"").append(host).append('"')
+				.append(",\"port\":").append(PORTS[type])
+				.append(",\"username\":\"user").append(index).append('"')
+				.append(",\"password\":\"").append(password).append('"')
+				.append(",\"uri\":\"").append(uri).append('"')
+				.append("},\"volume_mounts\":[]}");
+	}
+
+	/**
+	 * The name of the binding with the given index.
+	 */
+	static String name(int index) {
+		return name(index % LABELS.length, index);
+	}
+
+	private static String name(int type, int index) {
+		return SCHEMES[type] + "-" + index;
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.Map;
 import io.pivotal.cfenv.core.CfCredentials;
 import io.pivotal.cfenv.core.CfService;
 import io.pivotal.cfenv.spring.boot.CfEnvProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvProcessorMatch;
 import io.pivotal.cfenv.spring.boot.CfEnvProcessorProperties;
 
 /**
@@ -33,6 +34,13 @@ public class CfConfigClientProcessor implements CfEnvProcessor {
         return service.existsByTagIgnoreCase("configuration");
     }
 
+    @Override
+    public CfEnvProcessorMatch getMatch() {
+        return CfEnvProcessorMatch.builder()
+                .tags("configuration")
+                .build();
+    }
+
     @Override
     public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
         properties.put("spring.cloud.config.uri", cfCredentials.getUri());
@@ -20,6 +20,7 @@ import java.util.Map;
 import io.pivotal.cfenv.core.CfCredentials;
 import io.pivotal.cfenv.core.CfService;
 import io.pivotal.cfenv.spring.boot.CfEnvProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvProcessorMatch;
 import io.pivotal.cfenv.spring.boot.CfEnvProcessorProperties;
 
 /**
@@ -36,6 +37,13 @@ public class CfEurekaClientProcessor implements CfEnvProcessor {
         return service.existsByTagIgnoreCase("eureka");
     }
 
+    @Override
+    public CfEnvProcessorMatch getMatch() {
+        return CfEnvProcessorMatch.builder()
+                .tags("eureka")
+                .build();
+    }
+
     @Override
     public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
         String uri = cfCredentials.getUri();
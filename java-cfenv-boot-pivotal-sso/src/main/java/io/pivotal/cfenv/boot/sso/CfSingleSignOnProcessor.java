@@ -17,9 +17,9 @@ package io.pivotal.cfenv.boot.sso;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -64,7 +64,7 @@ public class CfSingleSignOnProcessor implements CfEnvProcessor {
             properties.put("spring.security.oauth2.resourceserver.jwt.issuer-uri", issuer + "/oauth/token");
         }
 
-        ArrayList<String> grantTypes = (ArrayList<String>) cfCredentials.getMap().get("grant_types");
+        List<String> grantTypes = cfCredentials.getStringList("grant_types");
         if (grantTypes != null && isAuthCodeAndClientCreds(grantTypes)) {
             mapBasicClientProperties(properties, AUTHCODE_CLIENT_REGISTRATION_ID, clientId, clientSecret);
             properties.put(SPRING_SECURITY_CLIENT + ".registration." + AUTHCODE_CLIENT_REGISTRATION_ID + ".authorization-grant-type", AUTHORIZATION_CODE);
@@ -80,7 +80,7 @@ public class CfSingleSignOnProcessor implements CfEnvProcessor {
         }
     }
 
-    private boolean isAuthCodeAndClientCreds(ArrayList<String> grantTypes) {
+    private boolean isAuthCodeAndClientCreds(List<String> grantTypes) {
         return (new HashSet<>(grantTypes)).equals(AUTH_CODE_AND_CLIENT_CREDS);
     }
 
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.boot.sso;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * {@link RuntimeHintsRegistrar} for the classes probed by {@link SpringSecurityDetector},
+ * so that they are found in a native image when they were on the class path at build time.
+ */
+class SingleSignOnRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(TypeReference.of(SpringSecurityDetector.SPRING_SECURITY_CLASS_NAME));
+        hints.reflection().registerType(TypeReference.of(SpringSecurityDetector.LEGACY_CLASS_NAME));
+        hints.reflection().registerType(TypeReference.of(SpringSecurityDetector.RESOURCE_SERVER_CLASS_NAME));
+    }
+
+}
@@ -15,21 +15,24 @@
  */
 package io.pivotal.cfenv.boot.sso;
 
-import org.springframework.util.ClassUtils;
+import io.pivotal.cfenv.core.ClasspathCapabilities;
 
 /**
  * @author Pivotal Application Single Sign-On
  */
 public abstract class SpringSecurityDetector {
+    static final String SPRING_SECURITY_CLASS_NAME = "org.springframework.security.core.Authentication";
+    static final String LEGACY_CLASS_NAME = "org.springframework.security.oauth2.common.DefaultOAuth2AccessToken";
+    static final String RESOURCE_SERVER_CLASS_NAME = "org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider";
+
     private static boolean usingSpringSecurity;
     private static boolean usingLegacy;
     private static boolean usingSpringResourceServer;
 
     static {
-        ClassLoader classLoader = SpringSecurityDetector.class.getClassLoader();
-        usingSpringSecurity = ClassUtils.isPresent("org.springframework.security.core.Authentication", classLoader);
-        usingLegacy = ClassUtils.isPresent("org.springframework.security.oauth2.common.DefaultOAuth2AccessToken", classLoader);
-        usingSpringResourceServer = ClassUtils.isPresent("org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider", classLoader);
+        usingSpringSecurity = ClasspathCapabilities.isPresent(SPRING_SECURITY_CLASS_NAME);
+        usingLegacy = ClasspathCapabilities.isPresent(LEGACY_CLASS_NAME);
+        usingSpringResourceServer = ClasspathCapabilities.isPresent(RESOURCE_SERVER_CLASS_NAME);
     }
 
     static boolean isSpringSecurityPresent() {
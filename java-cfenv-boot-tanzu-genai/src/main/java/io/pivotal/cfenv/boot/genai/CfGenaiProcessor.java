@@ -20,6 +20,7 @@ import java.util.Map;
 import io.pivotal.cfenv.core.CfCredentials;
 import io.pivotal.cfenv.core.CfService;
 import io.pivotal.cfenv.spring.boot.CfEnvProcessor;
+import io.pivotal.cfenv.spring.boot.CfEnvProcessorMatch;
 import io.pivotal.cfenv.spring.boot.CfEnvProcessorProperties;
 
 /**
@@ -37,6 +38,15 @@ public class CfGenaiProcessor implements CfEnvProcessor {
         return (isGenAIService && service.getCredentials().getMap().containsKey("endpoint"));
     }
 
+    @Override
+    public CfEnvProcessorMatch getMatch() {
+        return CfEnvProcessorMatch.builder()
+                .tags("genai")
+                .labelPrefixes("genai")
+                .requiredCredentialKeys("endpoint")
+                .build();
+    }
+
     @Override
     public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
         Map<String, Object> endpoint = (Map<String, Object>)cfCredentials.getMap().get("endpoint");
@@ -31,8 +31,13 @@ import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.OpenAiEmbeddingModel;
 import org.springframework.ai.openai.OpenAiEmbeddingOptions;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
 import org.springframework.web.client.RestClient;
 
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
 /**
  * Locates available models and mcp servers from ai-servers config endpoint
  *
@@ -274,14 +279,25 @@ public class DefaultGenaiLocator implements GenaiLocator {
   }
 
   private ConfigEndpoint getEndpointConfig() {
-      RestClient client = builder.build();
-      LOGGER.info("Retrieving config from url {}", configUrl);
-      return client
-          .get()
-          .uri(configUrl)
-          .header("Authorization", "Bearer " + apiKey)
-          .retrieve()
-          .body(ConfigEndpoint.class);
+      GenaiConfigEvent event = FlightRecorderSupport.isAvailable() ? GenaiConfigEvent.start() : null;
+      ConfigEndpoint config = null;
+      try {
+        RestClient client = builder.build();
+        LOGGER.info("Retrieving config from url {}", configUrl);
+        config = client
+            .get()
+            .uri(configUrl)
+            .header("Authorization", "Bearer " + apiKey)
+            .retrieve()
+            .body(ConfigEndpoint.class);
+        return config;
+      }
+      finally {
+        if (event != null) {
+          event.end(configUrl, (config != null) ? config.advertisedModels() : null,
+              (config != null) ? config.advertisedMcpServers() : null, config != null);
+        }
+      }
   }
 
   private Predicate<ModelConnectivity> filterModelConnectivityOnLabels(Map<String, String> labels) {
@@ -337,4 +353,15 @@ public class DefaultGenaiLocator implements GenaiLocator {
 
   @JsonIgnoreProperties(ignoreUnknown = true)
   private record ConfigAdvertisedMcpServer(@JsonProperty("url") String url) {}
+
+  /**
+   * Registers the types the config endpoint response is bound to.
+   */
+  static class GenaiLocatorRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+      new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ConfigEndpoint.class);
+    }
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.boot.genai;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
+/**
+ * Flight Recorder event for a request of the config endpoint by a
+ * {@link DefaultGenaiLocator}. Only created when {@link FlightRecorderSupport#isAvailable()}.
+ **/
+@Name("io.pivotal.cfenv.GenaiConfig")
+@Label("GenAI Config Request")
+@Category(FlightRecorderSupport.CATEGORY)
+@Description("Request of the models and MCP servers advertised by a GenAI config endpoint")
+@StackTrace(false)
+final class GenaiConfigEvent extends Event {
+
+  @Label("Config URL")
+  String configUrl;
+
+  @Label("Models")
+  int models;
+
+  @Label("MCP Servers")
+  int mcpServers;
+
+  @Label("Succeeded")
+  boolean succeeded;
+
+  static GenaiConfigEvent start() {
+    GenaiConfigEvent event = new GenaiConfigEvent();
+    event.begin();
+    return event;
+  }
+
+  void end(String configUrl, List<?> models, List<?> mcpServers, boolean succeeded) {
+    end();
+    if (shouldCommit()) {
+      this.configUrl = configUrl;
+      this.models = (models != null) ? models.size() : 0;
+      this.mcpServers = (mcpServers != null) ? mcpServers.size() : 0;
+      this.succeeded = succeeded;
+      commit();
+    }
+  }
+}
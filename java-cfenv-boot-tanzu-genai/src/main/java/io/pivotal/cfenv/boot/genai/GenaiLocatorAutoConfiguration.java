@@ -19,6 +19,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.client.RestClient;
 
 /**
@@ -28,6 +29,7 @@ import org.springframework.web.client.RestClient;
  **/
 @AutoConfiguration
 @ConditionalOnProperty("genai.locator.config-url")
+@ImportRuntimeHints(DefaultGenaiLocator.GenaiLocatorRuntimeHints.class)
 public class GenaiLocatorAutoConfiguration {
 
   @Bean
@@ -49,17 +49,25 @@ public class AmqpCfEnvProcessor implements CfEnvProcessor {
 		return serviceIsBound;
 	}
 
+	@Override
+	public CfEnvProcessorMatch getMatch() {
+		return CfEnvProcessorMatch.builder()
+				.tags("rabbitmq", "amqp")
+				.labelPrefixes("rabbitmq", "cloudamqp")
+				.uriSchemes(amqpSchemes)
+				.build();
+	}
+
 	@Override
 	public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
-		String uri = cfCredentials.getUri(amqpSchemes);
+		UriInfo uriInfo = cfCredentials.findUriInfo(amqpSchemes);
 
-		if (uri == null) {
+		if (uriInfo == null) {
 			properties.put("spring.rabbitmq.host", cfCredentials.getHost());
 			properties.put("spring.rabbitmq.password", cfCredentials.getPassword());
 			properties.put("spring.rabbitmq.username", cfCredentials.getUsername());
 		}
 		else {
-			UriInfo uriInfo = new UriInfo(uri);
 			properties.put("spring.rabbitmq.host", uriInfo.getHost());
 			properties.put("spring.rabbitmq.password", uriInfo.getPassword());
 			properties.put("spring.rabbitmq.username", cfCredentials.getUsername());
@@ -68,7 +76,7 @@ public class AmqpCfEnvProcessor implements CfEnvProcessor {
 				properties.put("spring.rabbitmq.port", uriInfo.getPort() != -1 ? Integer.toString(uriInfo.getPort()) : "5671");
 				properties.put("spring.rabbitmq.virtualHost", uriInfo.getPath());
 			} else {
-				populateAddress(cfCredentials, properties, uri);
+				populateAddress(cfCredentials, properties, uriInfo.getUriString());
 			}
 		}
 
@@ -78,9 +86,9 @@ public class AmqpCfEnvProcessor implements CfEnvProcessor {
 	}
 
 	public void populateAddress(CfCredentials cfCredentials, Map<String, Object> properties, String uri) {
-		if (cfCredentials.getMap().get("uris") != null) {
-			properties.put("spring.rabbitmq.addresses", StringUtils.collectionToCommaDelimitedString(
-					(List<String>) cfCredentials.getMap().get("uris")));
+		List<String> uris = cfCredentials.getStringList("uris");
+		if (uris != null) {
+			properties.put("spring.rabbitmq.addresses", StringUtils.collectionToCommaDelimitedString(uris));
 		}
 		else if (uri != null) {
 			properties.put("spring.rabbitmq.addresses", uri);
@@ -15,7 +15,6 @@
  */
 package io.pivotal.cfenv.spring.boot;
 
-import java.util.ArrayList;
 import java.util.Map;
 
 import org.springframework.util.StringUtils;
@@ -40,14 +39,21 @@ public class CassandraCfEnvProcessor implements CfEnvProcessor {
 		return serviceIsBound;
 	}
 
+	@Override
+	public CfEnvProcessorMatch getMatch() {
+		return CfEnvProcessorMatch.builder()
+				.tags("cassandra")
+				.requiredCredentialKeys("cqlsh_port", "node_ips")
+				.build();
+	}
+
 	@Override
 	public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
 		properties.put(PREFIX + ".username", cfCredentials.getUsername());
 		properties.put(PREFIX + ".password", cfCredentials.getPassword());
 		properties.put(PREFIX + ".port", cfCredentials.getMap().get("cqlsh_port"));
-		ArrayList<String> contactPoints = (ArrayList<String>) cfCredentials.getMap().get("node_ips");
 		properties.put(PREFIX + ".contact-points",
-				StringUtils.collectionToCommaDelimitedString(contactPoints));
+				StringUtils.collectionToCommaDelimitedString(cfCredentials.getStringList("node_ips")));
 	}
 
 	@Override
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import org.springframework.boot.cloud.CloudPlatform;
+import org.springframework.core.env.Environment;
+
+import io.pivotal.cfenv.core.KubernetesBindingSource;
+
+/**
+ * Determines whether service bindings are available to the post-processors: on Cloud
+ * Foundry, or when {@value KubernetesBindingSource#SERVICE_BINDING_ROOT} holds Kubernetes
+ * service bindings, which {@link io.pivotal.cfenv.core.CfEnv} reads in the absence of
+ * {@code VCAP_SERVICES}.
+ */
+final class CfBindingPlatform {
+
+	private CfBindingPlatform() {
+	}
+
+	static boolean isActive(Environment environment) {
+		if (CloudPlatform.CLOUD_FOUNDRY.isActive(environment)) {
+			return true;
+		}
+		KubernetesBindingSource bindingSource = KubernetesBindingSource.fromEnvironment();
+		return bindingSource != null && bindingSource.hasBindings();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import io.pivotal.cfenv.core.CfEnvSnapshotHolder;
+import io.pivotal.cfenv.core.CfEnvWatcher;
+
+/**
+ * Watches file-based service bindings while the application runs and applies changes,
+ * such as rotated credentials, to the environment with a {@link CfPropertySourceRefresher}.
+ * <p>
+ * Reloading is disabled by default and is enabled with {@code cfenv.reload.enabled=true}.
+ * It applies to bindings read from {@code VCAP_SERVICES_FILE_PATH} or
+ * {@code SERVICE_BINDING_ROOT}; bindings from the {@code VCAP_SERVICES} variable cannot
+ * change during the life of the process. {@code cfenv.reload.debounce} sets how long to
+ * wait after the last change before bindings are read again.
+ *
+ * @see CfBindingsRefreshedEvent
+ */
+public class CfBindingReloadListener implements ApplicationListener<ApplicationEvent> {
+
+	/**
+	 * Property that enables reloading of changed bindings.
+	 */
+	public static final String ENABLED_PROPERTY = "cfenv.reload.enabled";
+
+	/**
+	 * Property with the quiet period after the last change before bindings are read again.
+	 */
+	public static final String DEBOUNCE_PROPERTY = "cfenv.reload.debounce";
+
+	private static final Log logger = LogFactory.getLog(CfBindingReloadListener.class);
+
+	private ConfigurableApplicationContext applicationContext;
+
+	private CfEnvWatcher watcher;
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		if (event instanceof ApplicationPreparedEvent preparedEvent) {
+			start(preparedEvent.getApplicationContext());
+		}
+		else if (event instanceof ContextClosedEvent closedEvent
+				&& closedEvent.getApplicationContext() == this.applicationContext) {
+			stop();
+		}
+	}
+
+	private synchronized void start(ConfigurableApplicationContext applicationContext) {
+		ConfigurableEnvironment environment = applicationContext.getEnvironment();
+		if (this.watcher != null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+			return;
+		}
+		Duration debounce = Binder.get(environment).bind(DEBOUNCE_PROPERTY, Duration.class)
+				.orElse(CfEnvWatcher.DEFAULT_DEBOUNCE);
+		CfEnvWatcher watcher = CfEnvWatcher.fromEnvironment(new CfEnvSnapshotHolder(), debounce);
+		if (watcher == null) {
+			logger.debug("Not watching service bindings, they are not read from files");
+			return;
+		}
+		List<CfEnvProcessor> cfEnvProcessors = CfEnvProcessors.load(getClass().getClassLoader());
+		watcher.setErrorHandler(e -> logger.warn("Could not reload service bindings", e));
+		watcher.start();
+		watcher.getHolder().addListener(
+				new CfPropertySourceRefresher(environment, applicationContext, cfEnvProcessors));
+		this.applicationContext = applicationContext;
+		this.watcher = watcher;
+	}
+
+	private synchronized void stop() {
+		if (this.watcher != null) {
+			this.watcher.close();
+			this.watcher = null;
+			this.applicationContext = null;
+		}
+	}
+
+}
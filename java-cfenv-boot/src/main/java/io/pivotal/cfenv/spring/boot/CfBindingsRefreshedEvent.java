@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+
+import io.pivotal.cfenv.core.CfEnvChangeEvent;
+
+/**
+ * Published after changed service bindings have been applied to the
+ * {@link org.springframework.core.env.Environment}, so that components holding
+ * connections, such as connection pools, can recreate them with the new properties.
+ *
+ * @see CfBindingReloadListener
+ */
+public class CfBindingsRefreshedEvent extends ApplicationEvent {
+
+	private final List<String> propertySourceNames;
+
+	public CfBindingsRefreshedEvent(CfEnvChangeEvent change, List<String> propertySourceNames) {
+		super(change);
+		this.propertySourceNames = propertySourceNames;
+	}
+
+	/**
+	 * The bindings that were added, removed or changed.
+	 */
+	public CfEnvChangeEvent getChange() {
+		return (CfEnvChangeEvent) getSource();
+	}
+
+	/**
+	 * The names of the property sources that were replaced, added or removed, for example
+	 * {@code RedisCfEnvProcessor} or {@code cfenvjdbc}.
+	 */
+	public List<String> getPropertySourceNames() {
+		return this.propertySourceNames;
+	}
+
+}
@@ -20,9 +20,10 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.cloud.CloudPlatform;
 import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.context.ApplicationEvent;
@@ -30,11 +31,20 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.CommandLinePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfEnvCache;
+import io.pivotal.cfenv.core.CfService;
 import io.pivotal.cfenv.jdbc.CfJdbcEnv;
+import io.pivotal.cfenv.jdbc.CfJdbcReplicaSet;
 import io.pivotal.cfenv.jdbc.CfJdbcService;
+import io.pivotal.cfenv.jdbc.JdbcPerformanceProfile;
 
 /**
  * @author Mark Pollack
@@ -44,6 +54,38 @@ import io.pivotal.cfenv.jdbc.CfJdbcService;
 public class CfDataSourceEnvironmentPostProcessor implements CfServiceEnablingEnvironmentPostProcessor,
 		Ordered, ApplicationListener<ApplicationEvent> {
 
+	/**
+	 * Name of the property source holding the {@code spring.datasource} and
+	 * {@code spring.r2dbc} properties.
+	 */
+	public static final String PROPERTY_SOURCE_NAME = "cfenvjdbc";
+
+	/**
+	 * Name of the property selecting the {@link JdbcPerformanceProfile}, {@code none} by
+	 * default.
+	 */
+	public static final String PROFILE_PROPERTY = "cfenv.jdbc.profile";
+
+	/**
+	 * Name of the property enabling the read replica mode, in which a primary database
+	 * service with read replicas is configured instead of skipping non-unique services.
+	 */
+	public static final String REPLICAS_ENABLED_PROPERTY = "cfenv.jdbc.replicas.enabled";
+
+	/**
+	 * Name of the property holding the pattern of the names of replica services, in
+	 * addition to the tags and credentials of {@link CfJdbcService#isReadReplica()}.
+	 */
+	public static final String REPLICAS_NAME_PATTERN_PROPERTY = "cfenv.jdbc.replicas.name-pattern";
+
+	/**
+	 * Prefix of the indexed properties of the read replicas, such as
+	 * {@code cfenv.jdbc.replicas.datasources[0].url}.
+	 */
+	public static final String REPLICA_DATASOURCES_PROPERTY_PREFIX = "cfenv.jdbc.replicas.datasources";
+
+	private static final String DATA_SOURCE_PROPERTIES_PREFIX = "spring.datasource.hikari.data-source-properties.";
+
 	private static final DeferredLog DEFERRED_LOG = new DeferredLog();
 
 	private static int invocationCount;
@@ -64,95 +106,329 @@ public class CfDataSourceEnvironmentPostProcessor implements CfServiceEnablingEn
 	public void postProcessEnvironment(ConfigurableEnvironment environment,
 			SpringApplication application) {
 		increaseInvocationCount();
-		if (CloudPlatform.CLOUD_FOUNDRY.isActive(environment)) {
-			CfJdbcEnv cfJdbcEnv = new CfJdbcEnv();
-			CfJdbcService cfJdbcService;
-			try {
-				cfJdbcService = cfJdbcEnv.findJdbcService();
-				cfJdbcService = this.isEnabled(cfJdbcService, environment) ? cfJdbcService : null;
-			} catch (Exception e) {
-
-				List<CfJdbcService> jdbcServices = cfJdbcEnv.findJdbcServices().stream()
-						.filter(service -> this.isEnabled(service, environment))
-						.toList();
+		ApplicationStartup applicationStartup = (application != null)
+				? application.getApplicationStartup() : ApplicationStartup.DEFAULT;
+		StartupStep postProcessStep = applicationStartup.start("cfenv.post-process")
+				.tag("postProcessor", getClass().getName());
+		addPropertySource(environment, applicationStartup);
+		postProcessStep.end();
+	}
 
-				if (jdbcServices.size() > 1) {
+	private void addPropertySource(ConfigurableEnvironment environment, ApplicationStartup applicationStartup) {
+		if (CfBindingPlatform.isActive(environment)) {
+			String serviceName = null;
+			CfJdbcService cfJdbcService = null;
+			List<CfJdbcService> replicas = Collections.emptyList();
+			Map<String, Object> properties = null;
+			boolean replicasEnabled = environment.getProperty(REPLICAS_ENABLED_PROPERTY, Boolean.class, false);
+			// Snapshots hold the properties of single services only
+			Map<String, Map<String, Object>> candidates = replicasEnabled ? null : CfPropertiesSnapshots
+					.findCandidates(PROPERTY_SOURCE_NAME, environment);
+			if (candidates != null) {
+				StartupStep resolveStep = applicationStartup.start("cfenv.jdbc.resolve")
+						.tag("source", "snapshot");
+				List<String> names = candidates.keySet().stream()
+						.filter(name -> this.isEnabled(name, environment))
+						.toList();
+				resolveStep.tag("services", () -> String.join(",", names));
+				resolveStep.end();
+				if (names.size() > 1) {
 					if (invocationCount == 1) {
 						DEFERRED_LOG.debug(
 							"Skipping execution of CfDataSourceEnvironmentPostProcessor. "
-								+ e.getMessage());
+								+ "No unique database service found. Found database service names ["
+								+ String.join(", ", candidates.keySet()) + "]");
 					}
 					return;
 				}
-
-				cfJdbcService = jdbcServices.size() == 1 ? jdbcServices.get(0) : null;
+				if (names.size() == 1) {
+					serviceName = names.get(0);
+					properties = new LinkedHashMap<>(candidates.get(serviceName));
+				}
 			}
-			if (cfJdbcService != null) {
-				ConnectorLibraryDetector.assertNoConnectorLibrary();
-				Map<String, Object> properties = new LinkedHashMap<>();
-				properties.put("spring.datasource.url", cfJdbcService.getJdbcUrl());
-				properties.put("spring.datasource.username", cfJdbcService.getUsername());
-				properties.put("spring.datasource.password", cfJdbcService.getPassword());
-				Object driverClassName = cfJdbcService.getDriverClassName();
-				if (driverClassName != null) {
-					properties.put("spring.datasource.driver-class-name", driverClassName);
+			else {
+				CfJdbcReplicaSet replicaSet = replicasEnabled
+						? findJdbcReplicaSet(environment, applicationStartup) : null;
+				if (replicaSet != null) {
+					cfJdbcService = replicaSet.getPrimary();
+					replicas = replicaSet.getReplicas();
+					properties = createProperties(replicaSet);
 				}
-
-				/* R2DBC processing
-				 * Split query param options and URL into two string
-				 * and move options to spring.r2dbc.properties.<option>
-				 */
-
-				String[] splitJDBCUrl = cfJdbcService.getJdbcUrl().split("\\?");
-
-				String r2dbcUrl = splitJDBCUrl[0].replaceFirst("jdbc:", "r2dbc:");
-
-				properties.put("spring.r2dbc.url", r2dbcUrl);
-				properties.put("spring.r2dbc.username", cfJdbcService.getUsername());
-				properties.put("spring.r2dbc.password", cfJdbcService.getPassword());
-
-				if (splitJDBCUrl.length == 2) {
-					Map<String, String> queryOptions = parseQueryString(splitJDBCUrl[1]);
-
-					if (queryOptions.size() > 0) {
-						queryOptions.forEach((key, value) -> {
-
-							switch (key) {
-								case "enabledTLSProtocols":
-									properties.put("spring.r2dbc.properties.tlsVersion", value);
-									break;
-								default:
-									properties.put(String.format("spring.r2dbc.properties.%s", key), value);
-							}
-						});
+				else {
+					cfJdbcService = findJdbcService(environment, applicationStartup);
+					if (cfJdbcService == null) {
+						return;
 					}
+					properties = createProperties(cfJdbcService);
 				}
+				serviceName = cfJdbcService.getName();
+			}
+			if (properties != null) {
+				ConnectorLibraryDetector.assertNoConnectorLibrary();
+				applyPerformanceProfile(properties, environment);
+				applyPoolSizing(properties, serviceName, cfJdbcService, replicas, environment);
 
+				StartupStep insertStep = applicationStartup.start("cfenv.property-source.insert")
+						.tag("propertySource", PROPERTY_SOURCE_NAME)
+						.tag("service", String.valueOf(serviceName));
 				MutablePropertySources propertySources = environment.getPropertySources();
 				if (propertySources.contains(
 						CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
 					propertySources.addAfter(
 							CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME,
-							new MapPropertySource("cfenvjdbc", properties));
+							new MapPropertySource(PROPERTY_SOURCE_NAME, properties));
 				}
 				else {
 					propertySources
-							.addFirst(new MapPropertySource("cfenvjdbc", properties));
+							.addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME, properties));
 				}
+				insertStep.end();
 				if (invocationCount == 1) {
 					DEFERRED_LOG.info(
 							"Setting spring.datasource properties from bound service ["
-									+ cfJdbcService.getName() + "]");
+									+ serviceName + "]");
 				}
 			}
 		}
 		else {
 			DEFERRED_LOG.debug(
-					"Not setting spring.datasource.url, not in Cloud Foundry Environment");
+					"Not setting spring.datasource.url, not in Cloud Foundry Environment"
+					+ " and no Kubernetes service bindings");
+		}
+	}
+
+	private void applyPoolSizing(Map<String, Object> properties, String serviceName,
+			CfJdbcService cfJdbcService, List<CfJdbcService> replicas, ConfigurableEnvironment environment) {
+		if (!environment.containsProperty(CfDataSourcePoolSizing.INSTANCES_PROPERTY)) {
+			return;
+		}
+		CfEnv cfEnv = CfEnvCache.get();
+		if (cfJdbcService == null) {
+			// Properties from a snapshot, look up the service for its connection limit
+			for (CfService cfService : cfEnv.findAllServices()) {
+				if (serviceName.equals(cfService.getName())) {
+					cfJdbcService = new CfJdbcService(cfService.getMap());
+					break;
+				}
+			}
+			if (cfJdbcService == null) {
+				return;
+			}
+		}
+		Consumer<String> warnings = message -> {
+			if (invocationCount == 1) {
+				DEFERRED_LOG.warn(message);
+			}
+		};
+		Integer maximumPoolSize = CfDataSourcePoolSizing.apply(properties, cfJdbcService, cfEnv.getApp(),
+				environment, warnings);
+		if (maximumPoolSize != null && invocationCount == 1) {
+			DEFERRED_LOG.info("Sizing connection pools to at most " + maximumPoolSize
+					+ " connections for bound service [" + serviceName + "]");
+		}
+		CfDataSourcePoolSizing.applyToReplicas(properties, replicas, cfEnv.getApp(), environment, warnings);
+	}
+
+	/**
+	 * Find the single enabled database service, or {@code null} if there is none or it is
+	 * not unique.
+	 */
+	private CfJdbcService findJdbcService(ConfigurableEnvironment environment,
+			ApplicationStartup applicationStartup) {
+		StartupStep parseStep = applicationStartup.start("cfenv.parse");
+		CfJdbcEnv cfJdbcEnv = new CfJdbcEnv(CfEnvCache.get());
+		parseStep.tag("services", String.valueOf(cfJdbcEnv.findAllServices().size()));
+		parseStep.end();
+		StartupStep resolveStep = applicationStartup.start("cfenv.jdbc.resolve")
+				.tag("source", "services");
+		CfJdbcService cfJdbcService = resolveJdbcService(cfJdbcEnv, environment);
+		resolveStep.tag("service", () -> (cfJdbcService != null) ? cfJdbcService.getName() : "");
+		resolveStep.end();
+		return cfJdbcService;
+	}
+
+	/**
+	 * Find the enabled primary database service with its read replicas, or {@code null} if
+	 * there is no such replica set.
+	 */
+	private CfJdbcReplicaSet findJdbcReplicaSet(ConfigurableEnvironment environment,
+			ApplicationStartup applicationStartup) {
+		StartupStep parseStep = applicationStartup.start("cfenv.parse");
+		CfJdbcEnv cfJdbcEnv = new CfJdbcEnv(CfEnvCache.get());
+		parseStep.tag("services", String.valueOf(cfJdbcEnv.findAllServices().size()));
+		parseStep.end();
+		StartupStep resolveStep = applicationStartup.start("cfenv.jdbc.resolve")
+				.tag("source", "replicas");
+		List<CfJdbcService> jdbcServices = cfJdbcEnv.findJdbcServices().stream()
+				.filter(service -> this.isEnabled(service, environment))
+				.toList();
+		CfJdbcReplicaSet replicaSet = findJdbcReplicaSet(jdbcServices, environment);
+		resolveStep.tag("service", () -> (replicaSet != null) ? replicaSet.getPrimary().getName() : "");
+		resolveStep.end();
+		if (replicaSet != null && invocationCount == 1) {
+			DEFERRED_LOG.info("Using bound services " + replicaSet.getReplicas().stream()
+					.map(CfJdbcService::getName).toList() + " as read replicas of ["
+					+ replicaSet.getPrimary().getName() + "]");
+		}
+		return replicaSet;
+	}
+
+	/**
+	 * Group the given enabled database services into a primary with read replicas.
+	 * @return the replica set, or {@code null} if {@value #REPLICAS_ENABLED_PROPERTY} is not
+	 * set or the services are not a primary with replicas
+	 */
+	static CfJdbcReplicaSet findJdbcReplicaSet(List<CfJdbcService> jdbcServices, Environment environment) {
+		if (!environment.getProperty(REPLICAS_ENABLED_PROPERTY, Boolean.class, false)) {
+			return null;
+		}
+		String namePattern = environment.getProperty(REPLICAS_NAME_PATTERN_PROPERTY);
+		return CfJdbcReplicaSet.of(jdbcServices, (namePattern != null) ? Pattern.compile(namePattern) : null);
+	}
+
+	private CfJdbcService resolveJdbcService(CfJdbcEnv cfJdbcEnv, ConfigurableEnvironment environment) {
+		CfJdbcService cfJdbcService;
+		try {
+			cfJdbcService = cfJdbcEnv.findJdbcService();
+			cfJdbcService = this.isEnabled(cfJdbcService, environment) ? cfJdbcService : null;
+		} catch (Exception e) {
+
+			List<CfJdbcService> jdbcServices = cfJdbcEnv.findJdbcServices().stream()
+					.filter(service -> this.isEnabled(service, environment))
+					.toList();
+
+			if (jdbcServices.size() > 1) {
+				if (invocationCount == 1) {
+					DEFERRED_LOG.debug(
+						"Skipping execution of CfDataSourceEnvironmentPostProcessor. "
+							+ e.getMessage());
+				}
+				return null;
+			}
+
+			cfJdbcService = jdbcServices.size() == 1 ? jdbcServices.get(0) : null;
+		}
+		return cfJdbcService;
+	}
+
+	/**
+	 * Create the {@code spring.datasource} and {@code spring.r2dbc} properties for a
+	 * database service.
+	 */
+	public static Map<String, Object> createProperties(CfJdbcService cfJdbcService) {
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("spring.datasource.url", cfJdbcService.getJdbcUrl());
+		properties.put("spring.datasource.username", cfJdbcService.getUsername());
+		properties.put("spring.datasource.password", cfJdbcService.getPassword());
+		Object driverClassName = cfJdbcService.getDriverClassName();
+		if (driverClassName != null) {
+			properties.put("spring.datasource.driver-class-name", driverClassName);
+		}
+
+		/* R2DBC processing
+		 * Split query param options and URL into two string
+		 * and move options to spring.r2dbc.properties.<option>
+		 */
+
+		String[] splitJDBCUrl = cfJdbcService.getJdbcUrl().split("\\?");
+
+		String r2dbcUrl = splitJDBCUrl[0].replaceFirst("jdbc:", "r2dbc:");
+
+		properties.put("spring.r2dbc.url", r2dbcUrl);
+		properties.put("spring.r2dbc.username", cfJdbcService.getUsername());
+		properties.put("spring.r2dbc.password", cfJdbcService.getPassword());
+
+		if (splitJDBCUrl.length == 2) {
+			Map<String, String> queryOptions = parseQueryString(splitJDBCUrl[1]);
+
+			if (queryOptions.size() > 0) {
+				queryOptions.forEach((key, value) -> {
+
+					switch (key) {
+						case "enabledTLSProtocols":
+							properties.put("spring.r2dbc.properties.tlsVersion", value);
+							break;
+						default:
+							properties.put(String.format("spring.r2dbc.properties.%s", key), value);
+					}
+				});
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Add the connection properties of the {@link JdbcPerformanceProfile} selected by
+	 * {@value #PROFILE_PROPERTY} as {@code spring.datasource.hikari.data-source-properties},
+	 * and as the {@code data-source-properties} of each read replica under
+	 * {@value #REPLICA_DATASOURCES_PROPERTY_PREFIX}. Parameters set in the JDBC URL or
+	 * configured in another property source of the environment are left alone.
+	 */
+	static void applyPerformanceProfile(Map<String, Object> properties, ConfigurableEnvironment environment) {
+		JdbcPerformanceProfile profile = JdbcPerformanceProfile.of(environment.getProperty(PROFILE_PROPERTY));
+		if (profile == JdbcPerformanceProfile.NONE) {
+			return;
+		}
+		applyPerformanceProfile(profile, properties.get("spring.datasource.url"), DATA_SOURCE_PROPERTIES_PREFIX,
+				properties, environment);
+		for (int i = 0; properties.containsKey(REPLICA_DATASOURCES_PROPERTY_PREFIX + "[" + i + "].url"); i++) {
+			String prefix = REPLICA_DATASOURCES_PROPERTY_PREFIX + "[" + i + "].";
+			applyPerformanceProfile(profile, properties.get(prefix + "url"), prefix + "data-source-properties.",
+					properties, environment);
+		}
+	}
+
+	private static void applyPerformanceProfile(JdbcPerformanceProfile profile, Object jdbcUrl, String prefix,
+			Map<String, Object> properties, ConfigurableEnvironment environment) {
+		if (jdbcUrl == null) {
+			return;
+		}
+		profile.getParameters(jdbcUrl.toString()).forEach((name, value) -> {
+			String key = prefix + name;
+			if (!properties.containsKey(key) && !isConfigured(key, environment)) {
+				properties.put(key, value);
+			}
+		});
+	}
+
+	/**
+	 * Whether the given property is set by a property source other than the one of this
+	 * post-processor.
+	 */
+	static boolean isConfigured(String key, ConfigurableEnvironment environment) {
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			if (!PROPERTY_SOURCE_NAME.equals(propertySource.getName()) && propertySource.containsProperty(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Create the properties for a primary database service with read replicas: the
+	 * properties of {@link #createProperties(CfJdbcService)} for the primary and, for each
+	 * replica, its name, url, username, password and driver class name under
+	 * {@value #REPLICA_DATASOURCES_PROPERTY_PREFIX}.
+	 */
+	public static Map<String, Object> createProperties(CfJdbcReplicaSet replicaSet) {
+		Map<String, Object> properties = createProperties(replicaSet.getPrimary());
+		List<CfJdbcService> replicas = replicaSet.getReplicas();
+		for (int i = 0; i < replicas.size(); i++) {
+			CfJdbcService replica = replicas.get(i);
+			String prefix = REPLICA_DATASOURCES_PROPERTY_PREFIX + "[" + i + "].";
+			properties.put(prefix + "name", replica.getName());
+			properties.put(prefix + "url", replica.getJdbcUrl());
+			properties.put(prefix + "username", replica.getUsername());
+			properties.put(prefix + "password", replica.getPassword());
+			String driverClassName = replica.getDriverClassName();
+			if (driverClassName != null) {
+				properties.put(prefix + "driver-class-name", driverClassName);
+			}
 		}
+		return properties;
 	}
 
-	private Map<String, String> parseQueryString(String queryParams) {
+	private static Map<String, String> parseQueryString(String queryParams) {
 		
 		if (queryParams == null || queryParams.equals(""))
 			return Collections.emptyMap(); 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import io.pivotal.cfenv.core.CfApplication;
+import io.pivotal.cfenv.jdbc.CfJdbcService;
+
+/**
+ * Sizes the JDBC and R2DBC connection pools so that all the instances of the application
+ * together stay under the connection limit of the bound database.
+ * <p>
+ * The connection limit is read from the credentials, see
+ * {@link CfJdbcService#getConnectionLimit()}, or else from
+ * {@code cfenv.jdbc.pool.plan-limits.<plan>}. Cloud Foundry does not tell an instance how
+ * many instances are running, so the count has to be configured with
+ * {@value #INSTANCES_PROPERTY}, for example as the {@code CFENV_JDBC_POOL_INSTANCES}
+ * environment variable; without it, or without a limit, the pools are left alone.
+ * <p>
+ * After subtracting {@value #RESERVED_CONNECTIONS_PROPERTY}, the limit is divided evenly
+ * between the instances, the instances with the lowest {@link CfApplication#getInstanceIndex()
+ * index} taking the remainder. When fewer connections remain than there are instances, the
+ * pools are left alone and a warning is logged, as not every instance could get one. The minimum number of idle connections is half the maximum,
+ * so that idle instances do not hold on to their full share. Each read replica is sized the
+ * same way from its own connection limit, under
+ * {@value CfDataSourceEnvironmentPostProcessor#REPLICA_DATASOURCES_PROPERTY_PREFIX}. Pool
+ * settings configured by the application are never overridden.
+ */
+final class CfDataSourcePoolSizing {
+
+	static final String INSTANCES_PROPERTY = "cfenv.jdbc.pool.instances";
+
+	static final String PLAN_LIMITS_PROPERTY_PREFIX = "cfenv.jdbc.pool.plan-limits.";
+
+	static final String RESERVED_CONNECTIONS_PROPERTY = "cfenv.jdbc.pool.reserved-connections";
+
+	private CfDataSourcePoolSizing() {
+	}
+
+	/**
+	 * Add the pool sizes for the given database service to the properties, if both the
+	 * connection limit and the instance count are known.
+	 * @param warnings receives the reason when the connection limit is too low to size the pools
+	 * @return the maximum pool size, or {@code null} if the pools were not sized
+	 */
+	static Integer apply(Map<String, Object> properties, CfJdbcService cfJdbcService,
+			CfApplication cfApplication, ConfigurableEnvironment environment, Consumer<String> warnings) {
+		Integer maximumPoolSize = getMaximumPoolSize(cfJdbcService, cfApplication, environment, warnings);
+		if (maximumPoolSize == null) {
+			return null;
+		}
+		int minimumIdle = Math.max(maximumPoolSize / 2, 1);
+		sizePool(properties, "spring.datasource.hikari.maximum-pool-size", maximumPoolSize,
+				"spring.datasource.hikari.minimum-idle", minimumIdle, environment);
+		sizePool(properties, "spring.r2dbc.pool.max-size", maximumPoolSize,
+				"spring.r2dbc.pool.min-idle", minimumIdle, environment);
+		return maximumPoolSize;
+	}
+
+	/**
+	 * Add the pool sizes of the given read replicas to the properties of each replica, for
+	 * the replicas whose connection limit is known.
+	 */
+	static void applyToReplicas(Map<String, Object> properties, List<CfJdbcService> replicas,
+			CfApplication cfApplication, ConfigurableEnvironment environment, Consumer<String> warnings) {
+		for (int i = 0; i < replicas.size(); i++) {
+			Integer maximumPoolSize = getMaximumPoolSize(replicas.get(i), cfApplication, environment, warnings);
+			if (maximumPoolSize != null) {
+				String prefix = CfDataSourceEnvironmentPostProcessor.REPLICA_DATASOURCES_PROPERTY_PREFIX
+						+ "[" + i + "].";
+				sizePool(properties, prefix + "maximum-pool-size", maximumPoolSize, prefix + "minimum-idle",
+						Math.max(maximumPoolSize / 2, 1), environment);
+			}
+		}
+	}
+
+	private static Integer getMaximumPoolSize(CfJdbcService cfJdbcService, CfApplication cfApplication,
+			ConfigurableEnvironment environment, Consumer<String> warnings) {
+		Integer instances = environment.getProperty(INSTANCES_PROPERTY, Integer.class);
+		if (instances == null || instances < 1) {
+			return null;
+		}
+		Integer connectionLimit = cfJdbcService.getConnectionLimit();
+		if (connectionLimit == null && cfJdbcService.getPlan() != null) {
+			connectionLimit = environment.getProperty(PLAN_LIMITS_PROPERTY_PREFIX + cfJdbcService.getPlan(),
+					Integer.class);
+		}
+		if (connectionLimit == null) {
+			return null;
+		}
+		int available = connectionLimit - environment.getProperty(RESERVED_CONNECTIONS_PROPERTY, Integer.class, 0);
+		if (available < instances) {
+			warnings.accept("Not sizing connection pools for bound service [" + cfJdbcService.getName() + "], "
+					+ Math.max(available, 0) + " of its " + connectionLimit + " connections are left for "
+					+ instances + " instances");
+			return null;
+		}
+		int index = (cfApplication != null) ? Math.max(cfApplication.getInstanceIndex(), 0) : 0;
+		return getShare(available, instances, index);
+	}
+
+	/**
+	 * The share of the given instance when dividing the connections between the instances.
+	 */
+	static int getShare(int connections, int instances, int index) {
+		int share = connections / instances;
+		return (index % instances < connections % instances) ? share + 1 : share;
+	}
+
+	/**
+	 * Set the maximum and minimum idle sizes of a pool, unless its maximum size is
+	 * configured by the application, in which case its minimum might no longer fit.
+	 */
+	private static void sizePool(Map<String, Object> properties, String maximumKey, int maximum,
+			String minimumKey, int minimum, ConfigurableEnvironment environment) {
+		if (isConfigured(properties, maximumKey, environment)) {
+			return;
+		}
+		properties.put(maximumKey, maximum);
+		if (!isConfigured(properties, minimumKey, environment)) {
+			properties.put(minimumKey, minimum);
+		}
+	}
+
+	private static boolean isConfigured(Map<String, Object> properties, String key,
+			ConfigurableEnvironment environment) {
+		return properties.containsKey(key) || CfDataSourceEnvironmentPostProcessor.isConfigured(key, environment);
+	}
+
+}
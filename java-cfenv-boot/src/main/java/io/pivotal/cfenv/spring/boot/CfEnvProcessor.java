@@ -54,4 +54,17 @@ public interface CfEnvProcessor {
 	 * @return processor properties
 	 */
 	CfEnvProcessorProperties getProperties();
+
+	/**
+	 * Declarative description of the services this processor accepts, letting
+	 * {@link CfEnvironmentPostProcessor} match services without calling {@link #accept(CfService)}.
+	 * When not {@code null}, it must match exactly the services {@link #accept(CfService)} accepts.
+	 * A subclass that overrides {@link #accept(CfService)} must therefore also override
+	 * this method, returning metadata for the services it accepts or {@code null}.
+	 *
+	 * @return the match metadata, or {@code null} to match services with {@link #accept(CfService)} only
+	 */
+	default CfEnvProcessorMatch getMatch() {
+		return null;
+	}
 }
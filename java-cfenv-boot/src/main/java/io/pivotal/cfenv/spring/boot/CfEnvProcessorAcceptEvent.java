@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
+/**
+ * Flight Recorder event for a call of {@link CfEnvProcessor#accept}. Only created when
+ * {@link FlightRecorderSupport#isAvailable()}.
+ */
+@Name("io.pivotal.cfenv.CfEnvProcessorAccept")
+@Label("CfEnvProcessor Accept")
+@Category(FlightRecorderSupport.CATEGORY)
+@Description("Check of a service by a CfEnvProcessor")
+@StackTrace(false)
+final class CfEnvProcessorAcceptEvent extends Event {
+
+	@Label("Processor")
+	Class<?> processor;
+
+	@Label("Service Name")
+	String serviceName;
+
+	@Label("Accepted")
+	boolean accepted;
+
+	static CfEnvProcessorAcceptEvent start() {
+		CfEnvProcessorAcceptEvent event = new CfEnvProcessorAcceptEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(CfEnvProcessor processor, String serviceName, boolean accepted) {
+		end();
+		if (shouldCommit()) {
+			this.processor = processor.getClass();
+			this.serviceName = serviceName;
+			this.accepted = accepted;
+			commit();
+		}
+	}
+
+}
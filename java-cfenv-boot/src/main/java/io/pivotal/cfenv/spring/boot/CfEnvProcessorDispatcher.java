@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.pivotal.cfenv.core.CfCredentials;
+import io.pivotal.cfenv.core.CfService;
+
+/**
+ * Matches services with {@link CfEnvProcessor}s, classifying each service once against
+ * all processors that provide {@link CfEnvProcessorMatch match metadata}.
+ * <p>
+ * The tags, label and URI of each service are read once and compared with those of all
+ * processors, and credentials are only read when a processor matching on URI schemes is not
+ * already matched by tag or label. Processors without match metadata are matched
+ * with {@link CfEnvProcessor#accept(CfService)} when their services are requested.
+ */
+final class CfEnvProcessorDispatcher {
+
+	private final List<CfService> services;
+
+	private final Map<CfEnvProcessor, List<CfService>> matchingServices = new IdentityHashMap<>();
+
+	private final List<CfEnvProcessor> indexed = new ArrayList<>();
+
+	private final List<CfEnvProcessorMatch> matches = new ArrayList<>();
+
+	private final Map<String, BitSet> byTag = new LinkedHashMap<>();
+
+	private final Map<String, BitSet> byLabelPrefix = new LinkedHashMap<>();
+
+	private final Map<String, BitSet> byUriPrefix = new LinkedHashMap<>();
+
+	private final Map<String, BitSet> byUriKey = new LinkedHashMap<>();
+
+	private final BitSet uriProcessors = new BitSet();
+
+	CfEnvProcessorDispatcher(List<CfEnvProcessor> processors, List<CfService> services) {
+		this.services = services;
+		for (CfEnvProcessor processor : processors) {
+			CfEnvProcessorMatch match = processor.getMatch();
+			if (match != null && !this.matchingServices.containsKey(processor)) {
+				index(processor, match);
+			}
+		}
+		if (this.indexed.isEmpty()) {
+			return;
+		}
+		BitSet matched = new BitSet(this.indexed.size());
+		for (CfService service : services) {
+			matched.clear();
+			matchTags(service, matched);
+			matchLabel(service, matched);
+			if (!isCovered(this.uriProcessors, matched)) {
+				matchUri(service, matched);
+			}
+			for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+				if (this.matches.get(i).hasRequiredCredentialKeys(service)) {
+					this.matchingServices.get(this.indexed.get(i)).add(service);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the services the given processor accepts, in their original order.
+	 */
+	List<CfService> getMatchingServices(CfEnvProcessor processor) {
+		List<CfService> matching = this.matchingServices.get(processor);
+		if (matching == null) {
+			matching = new ArrayList<>();
+			for (CfService service : this.services) {
+				if (CfEnvProcessors.accept(processor, service)) {
+					matching.add(service);
+				}
+			}
+			this.matchingServices.put(processor, matching);
+		}
+		return matching;
+	}
+
+	private void index(CfEnvProcessor processor, CfEnvProcessorMatch match) {
+		int index = this.indexed.size();
+		this.indexed.add(processor);
+		this.matches.add(match);
+		this.matchingServices.put(processor, new ArrayList<>());
+		for (String tag : match.getTags()) {
+			// Empty tags never match, as in CfService#existsByTagIgnoreCase
+			if (!tag.isEmpty()) {
+				add(this.byTag, tag, index);
+			}
+		}
+		for (String labelPrefix : match.getLabelPrefixes()) {
+			add(this.byLabelPrefix, labelPrefix, index);
+		}
+		for (String uriScheme : match.getUriSchemes()) {
+			add(this.byUriPrefix, uriScheme + "://", index);
+			for (String key : CfCredentials.getUriKeys(uriScheme)) {
+				add(this.byUriKey, key, index);
+			}
+			this.uriProcessors.set(index);
+		}
+	}
+
+	private void matchTags(CfService service, BitSet matched) {
+		List<String> tags = service.getTags();
+		if (tags == null || this.byTag.isEmpty()) {
+			return;
+		}
+		for (String tag : tags) {
+			if (tag != null) {
+				for (Map.Entry<String, BitSet> entry : this.byTag.entrySet()) {
+					// Same as comparing case-folded tags in CfService#existsByTagIgnoreCase
+					if (tag.equalsIgnoreCase(entry.getKey())) {
+						matched.or(entry.getValue());
+					}
+				}
+			}
+		}
+	}
+
+	private void matchLabel(CfService service, BitSet matched) {
+		String label = service.getLabel();
+		if (label == null || label.isEmpty()) {
+			return;
+		}
+		for (Map.Entry<String, BitSet> entry : this.byLabelPrefix.entrySet()) {
+			if (label.startsWith(entry.getKey())) {
+				matched.or(entry.getValue());
+			}
+		}
+	}
+
+	private void matchUri(CfService service, BitSet matched) {
+		CfCredentials credentials = service.getCredentials();
+		String uri = credentials.getUri();
+		if (uri != null) {
+			for (Map.Entry<String, BitSet> entry : this.byUriPrefix.entrySet()) {
+				if (uri.startsWith(entry.getKey())) {
+					matched.or(entry.getValue());
+				}
+			}
+		}
+		Map<String, Object> map = credentials.getMap();
+		if (map == null || map.isEmpty()) {
+			return;
+		}
+		if (map.size() < this.byUriKey.size()) {
+			for (String key : map.keySet()) {
+				BitSet processors = this.byUriKey.get(key);
+				if (processors != null) {
+					matched.or(processors);
+				}
+			}
+		}
+		else {
+			for (Map.Entry<String, BitSet> entry : this.byUriKey.entrySet()) {
+				if (map.containsKey(entry.getKey())) {
+					matched.or(entry.getValue());
+				}
+			}
+		}
+	}
+
+	private static void add(Map<String, BitSet> index, String key, int processor) {
+		index.computeIfAbsent(key, k -> new BitSet()).set(processor);
+	}
+
+	private static boolean isCovered(BitSet processors, BitSet matched) {
+		BitSet uncovered = (BitSet) processors.clone();
+		uncovered.andNot(matched);
+		return uncovered.isEmpty();
+	}
+
+}
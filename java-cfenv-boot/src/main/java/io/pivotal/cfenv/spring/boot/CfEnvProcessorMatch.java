@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.List;
+import java.util.Map;
+
+import io.pivotal.cfenv.core.CfService;
+
+/**
+ * Declarative description of the services a {@link CfEnvProcessor} accepts, so that
+ * {@link CfEnvironmentPostProcessor} can match all processors against each service in a
+ * single pass instead of calling {@link CfEnvProcessor#accept(CfService)} for every
+ * processor and service.
+ * <p>
+ * A service matches when it has any of the {@link #getTags() tags} (ignoring case), a
+ * label starting with any of the {@link #getLabelPrefixes() label prefixes} or a URI with
+ * any of the {@link #getUriSchemes() URI schemes}, and its credentials contain all the
+ * {@link #getRequiredCredentialKeys() required credential keys}.
+ *
+ * @see CfEnvProcessor#getMatch()
+ */
+public class CfEnvProcessorMatch {
+
+	private List<String> tags = List.of();
+
+	private List<String> labelPrefixes = List.of();
+
+	private List<String> uriSchemes = List.of();
+
+	private List<String> requiredCredentialKeys = List.of();
+
+	private CfEnvProcessorMatch() {
+	}
+
+	public static Builder builder() {
+		return new CfEnvProcessorMatch.Builder();
+	}
+
+	/**
+	 * Tags of matching services, compared ignoring case as by
+	 * {@link CfService#existsByTagIgnoreCase(String...)}.
+	 * @return the tags
+	 */
+	public List<String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Prefixes of the labels of matching services, as in
+	 * {@link CfService#existsByLabelStartsWith(String...)}.
+	 * @return the label prefixes
+	 */
+	public List<String> getLabelPrefixes() {
+		return labelPrefixes;
+	}
+
+	/**
+	 * Schemes of the URIs of matching services, either as the scheme of the {@code uri}
+	 * field as in {@link CfService#existsByUriSchemeStartsWith(String...)}, or as the
+	 * prefix of a field name as in {@link CfService#existsByCredentialsContainsUriField(String...)}.
+	 * @return the URI schemes
+	 */
+	public List<String> getUriSchemes() {
+		return uriSchemes;
+	}
+
+	/**
+	 * Keys that the credentials of matching services must all contain.
+	 * @return the required credential keys
+	 */
+	public List<String> getRequiredCredentialKeys() {
+		return requiredCredentialKeys;
+	}
+
+	/**
+	 * Determine if a service is matched.
+	 * @param service a service to inspect
+	 * @return {@code true} if the service matches; {@code false} otherwise
+	 */
+	public boolean matches(CfService service) {
+		return (matchesTag(service) || matchesLabel(service) || matchesUriScheme(service))
+				&& hasRequiredCredentialKeys(service);
+	}
+
+	boolean matchesTag(CfService service) {
+		for (String tag : this.tags) {
+			if (service.existsByTagIgnoreCase(tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	boolean matchesLabel(CfService service) {
+		for (String labelPrefix : this.labelPrefixes) {
+			if (service.existsByLabelStartsWith(labelPrefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	boolean matchesUriScheme(CfService service) {
+		for (String uriScheme : this.uriSchemes) {
+			if (service.existsByUriSchemeStartsWith(uriScheme)
+					|| service.existsByCredentialsContainsUriField(uriScheme)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	boolean hasRequiredCredentialKeys(CfService service) {
+		if (this.requiredCredentialKeys.isEmpty()) {
+			return true;
+		}
+		Map<String, Object> credentials = service.getCredentials().getMap();
+		if (credentials == null) {
+			return false;
+		}
+		for (String key : this.requiredCredentialKeys) {
+			if (!credentials.containsKey(key)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static class Builder {
+		private CfEnvProcessorMatch match = new CfEnvProcessorMatch();
+
+		public Builder tags(String... tags) {
+			this.match.tags = List.of(tags);
+			return this;
+		}
+
+		public Builder labelPrefixes(String... labelPrefixes) {
+			this.match.labelPrefixes = List.of(labelPrefixes);
+			return this;
+		}
+
+		public Builder uriSchemes(String... uriSchemes) {
+			this.match.uriSchemes = List.of(uriSchemes);
+			return this;
+		}
+
+		public Builder requiredCredentialKeys(String... requiredCredentialKeys) {
+			this.match.requiredCredentialKeys = List.of(requiredCredentialKeys);
+			return this;
+		}
+
+		public CfEnvProcessorMatch build() {
+			return match;
+		}
+	}
+}
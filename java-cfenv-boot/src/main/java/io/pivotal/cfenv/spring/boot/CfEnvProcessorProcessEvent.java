@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
+/**
+ * Flight Recorder event for a call of {@link CfEnvProcessor#process}. Only created when
+ * {@link FlightRecorderSupport#isAvailable()}.
+ */
+@Name("io.pivotal.cfenv.CfEnvProcessorProcess")
+@Label("CfEnvProcessor Process")
+@Category(FlightRecorderSupport.CATEGORY)
+@Description("Mapping of the credentials of a service to properties by a CfEnvProcessor")
+@StackTrace(false)
+final class CfEnvProcessorProcessEvent extends Event {
+
+	@Label("Processor")
+	Class<?> processor;
+
+	@Label("Service Name")
+	String serviceName;
+
+	@Label("Properties")
+	int properties;
+
+	static CfEnvProcessorProcessEvent start() {
+		CfEnvProcessorProcessEvent event = new CfEnvProcessorProcessEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(CfEnvProcessor processor, String serviceName, int properties) {
+		end();
+		if (shouldCommit()) {
+			this.processor = processor.getClass();
+			this.serviceName = serviceName;
+			this.properties = properties;
+			commit();
+		}
+	}
+
+}
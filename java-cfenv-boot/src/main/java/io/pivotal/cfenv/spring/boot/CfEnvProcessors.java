@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.ClassUtils;
+
+import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
+/**
+ * Loads and calls {@link CfEnvProcessor}s, recording Flight Recorder events for each call
+ * when the {@code jdk.jfr} module is available.
+ */
+public final class CfEnvProcessors {
+
+	/**
+	 * Location of the class names of the {@link CfEnvProcessor}s, one per line in order,
+	 * written during AOT processing by {@link CfEnvProcessorsAotProcessor}.
+	 */
+	static final String AOT_PROCESSORS_LOCATION = "META-INF/cfenv/cf-env-processors";
+
+	private CfEnvProcessors() {
+	}
+
+	/**
+	 * Load the {@link CfEnvProcessor}s registered in {@code META-INF/spring.factories},
+	 * sorted by order. When running with AOT-generated artifacts, the processors found
+	 * during AOT processing are instantiated instead, without reading or sorting the
+	 * factories again.
+	 */
+	public static List<CfEnvProcessor> load(ClassLoader classLoader) {
+		if (AotDetector.useGeneratedArtifacts()) {
+			List<String> classNames = loadAotClassNames(classLoader);
+			if (classNames != null) {
+				List<CfEnvProcessor> processors = new ArrayList<>(classNames.size());
+				for (String className : classNames) {
+					processors.add(instantiate(className, classLoader));
+				}
+				return processors;
+			}
+		}
+		List<CfEnvProcessor> processors = SpringFactoriesLoader.loadFactories(CfEnvProcessor.class, classLoader);
+		AnnotationAwareOrderComparator.sort(processors);
+		return processors;
+	}
+
+	private static List<String> loadAotClassNames(ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = (classLoader != null) ? classLoader : CfEnvProcessors.class.getClassLoader();
+		try (InputStream input = classLoaderToUse.getResourceAsStream(AOT_PROCESSORS_LOCATION)) {
+			if (input == null) {
+				return null;
+			}
+			List<String> classNames = new ArrayList<>();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (!line.isBlank()) {
+					classNames.add(line.trim());
+				}
+			}
+			return classNames;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to read " + AOT_PROCESSORS_LOCATION, ex);
+		}
+	}
+
+	private static CfEnvProcessor instantiate(String className, ClassLoader classLoader) {
+		try {
+			return (CfEnvProcessor) BeanUtils.instantiateClass(ClassUtils.forName(className, classLoader));
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			throw new IllegalStateException("Unable to instantiate CfEnvProcessor [" + className + "]", ex);
+		}
+	}
+
+	/**
+	 * Call {@link CfEnvProcessor#accept} for the given service.
+	 */
+	public static boolean accept(CfEnvProcessor processor, CfService service) {
+		if (!FlightRecorderSupport.isAvailable()) {
+			return processor.accept(service);
+		}
+		CfEnvProcessorAcceptEvent event = CfEnvProcessorAcceptEvent.start();
+		boolean accepted = processor.accept(service);
+		event.end(processor, service.getName(), accepted);
+		return accepted;
+	}
+
+	/**
+	 * Call {@link CfEnvProcessor#process} with the credentials of the given service.
+	 */
+	public static void process(CfEnvProcessor processor, CfService service, Map<String, Object> properties) {
+		if (!FlightRecorderSupport.isAvailable()) {
+			processor.process(service.getCredentials(), properties);
+			return;
+		}
+		CfEnvProcessorProcessEvent event = CfEnvProcessorProcessEvent.start();
+		processor.process(service.getCredentials(), properties);
+		event.end(processor, service.getName(), properties.size());
+	}
+
+}
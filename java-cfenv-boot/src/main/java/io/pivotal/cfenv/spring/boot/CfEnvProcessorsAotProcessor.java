@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.List;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * {@link BeanFactoryInitializationAotProcessor} that resolves the {@link CfEnvProcessor}s
+ * at build time: their class names are written, in order, to
+ * {@value CfEnvProcessors#AOT_PROCESSORS_LOCATION}, which {@link CfEnvProcessors#load}
+ * reads instead of {@code META-INF/spring.factories} when running with AOT-generated
+ * artifacts.
+ */
+class CfEnvProcessorsAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+	@Override
+	public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+		List<CfEnvProcessor> processors = CfEnvProcessors.load(beanFactory.getBeanClassLoader());
+		StringBuilder content = new StringBuilder();
+		for (CfEnvProcessor processor : processors) {
+			content.append(processor.getClass().getName()).append('\n');
+		}
+		return (generationContext, beanFactoryInitializationCode) -> {
+			generationContext.getGeneratedFiles().addResourceFile(CfEnvProcessors.AOT_PROCESSORS_LOCATION, content);
+			RuntimeHints hints = generationContext.getRuntimeHints();
+			hints.resources().registerPattern(CfEnvProcessors.AOT_PROCESSORS_LOCATION);
+			for (CfEnvProcessor processor : processors) {
+				hints.reflection().registerType(processor.getClass(), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import io.pivotal.cfenv.core.VcapJsonParser;
+import io.pivotal.cfenv.jdbc.JdbcUrlCreator;
+import io.pivotal.cfenv.jdbc.MySqlJdbcUrlCreator;
+
+/**
+ * {@link RuntimeHintsRegistrar} for the service providers, the JSON libraries and the class
+ * path probes of {@code java-cfenv}, {@code java-cfenv-jdbc} and {@code java-cfenv-boot}.
+ * <p>
+ * The probed classes are registered without members, so that a probe finds them in a
+ * native image when they were on the class path at build time.
+ */
+class CfEnvRuntimeHints implements RuntimeHintsRegistrar {
+
+	@Override
+	public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = (classLoader != null) ? classLoader : getClass().getClassLoader();
+		registerServiceProviders(hints, classLoaderToUse, VcapJsonParser.class.getName());
+		registerServiceProviders(hints, classLoaderToUse, JdbcUrlCreator.class.getName());
+		// Used by JsonIoVcapJsonParser: json-io reads its configuration from config/*.txt and
+		// returns JsonObjects
+		hints.resources().registerPattern("config/*.txt");
+		hints.reflection().registerType(TypeReference.of("com.cedarsoftware.io.JsonObject"),
+				MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+		// Probed by JacksonVcapJsonParser
+		hints.reflection().registerType(TypeReference.of("tools.jackson.core.json.JsonFactory"));
+		// Probed by MySqlJdbcUrlCreator
+		hints.reflection().registerType(TypeReference.of(MySqlJdbcUrlCreator.MARIADB_DRIVER_CLASS_NAME));
+		hints.reflection().registerType(TypeReference.of(MySqlJdbcUrlCreator.MYSQL_DRIVER_CLASS_NAME));
+		for (String className : ConnectorLibraryDetector.CONNECTOR_CLASS_NAMES) {
+			hints.reflection().registerType(TypeReference.of(className));
+		}
+	}
+
+	private void registerServiceProviders(RuntimeHints hints, ClassLoader classLoader, String serviceName) {
+		String location = "META-INF/services/" + serviceName;
+		hints.resources().registerPattern(location);
+		try {
+			Enumeration<URL> urls = classLoader.getResources(location);
+			while (urls.hasMoreElements()) {
+				try (InputStream input = urls.nextElement().openStream()) {
+					BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+					for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+						int comment = line.indexOf('#');
+						String providerName = ((comment != -1) ? line.substring(0, comment) : line).trim();
+						if (!providerName.isEmpty()) {
+							hints.reflection().registerType(TypeReference.of(providerName),
+									MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+						}
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to read " + location, ex);
+		}
+	}
+
+}
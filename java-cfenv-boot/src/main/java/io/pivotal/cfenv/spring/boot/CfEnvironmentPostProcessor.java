@@ -15,27 +15,29 @@
  */
 package io.pivotal.cfenv.spring.boot;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.cloud.CloudPlatform;
 import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
-import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.env.CommandLinePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
-import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Component;
 
-import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfEnvCache;
 import io.pivotal.cfenv.core.CfService;
 
 /**
@@ -76,58 +78,133 @@ public class CfEnvironmentPostProcessor implements
 									   SpringApplication application) {
 
 		increaseInvocationCount();
-		if (CloudPlatform.CLOUD_FOUNDRY.isActive(environment)) {
-			CfEnv cfEnv = new CfEnv();
-			List<CfService> allServices = cfEnv.findAllServices();
-
-			List<CfEnvProcessor> cfEnvProcessors = SpringFactoriesLoader
-					.loadFactories(CfEnvProcessor.class, getClass().getClassLoader());
-			AnnotationAwareOrderComparator.sort(cfEnvProcessors);
+		ApplicationStartup applicationStartup = (application != null)
+				? application.getApplicationStartup() : ApplicationStartup.DEFAULT;
+		StartupStep postProcessStep = applicationStartup.start("cfenv.post-process")
+				.tag("postProcessor", getClass().getName());
+		if (CfBindingPlatform.isActive(environment)) {
+			List<CfService> allServices = null;
+			CfEnvProcessorDispatcher dispatcher = null;
+			Map<String, Boolean> enabledServices = new HashMap<>();
+
+			StartupStep discoveryStep = applicationStartup.start("cfenv.processors.discover");
+			List<CfEnvProcessor> cfEnvProcessors = CfEnvProcessors.load(getClass().getClassLoader());
+			discoveryStep.tag("processors", () -> cfEnvProcessors.stream()
+					.map(processor -> processor.getClass().getName())
+					.collect(Collectors.joining(",")));
+			discoveryStep.end();
 
 			for (CfEnvProcessor processor : cfEnvProcessors) {
-				List<CfService> cfServices = allServices.stream()
-						.filter(processor::accept)
-						.filter(cfService-> this.isEnabled(cfService, environment))
-						.collect(Collectors.toList());
-
-				if (cfServices.size() > 1) {
-					List<String> names = cfServices.stream().map(CfService::getName).collect(Collectors.toList());
-					DEFERRED_LOG.warn(String.format("Skipping auto-configuration: No unique %s service found. Found services named [%s]",
-							processor.getProperties().getServiceName(),
-							String.join(",", names)
-					));
-				} else if (cfServices.size() == 1) {
+				String serviceName;
+				Map<String, Object> properties;
+				Map<String, Map<String, Object>> candidates = CfPropertiesSnapshots
+						.findCandidates(processor.getClass().getName(), environment);
+				if (candidates == null && allServices == null) {
+					// Only parsed when a processor is not covered by a snapshot
+					StartupStep parseStep = applicationStartup.start("cfenv.parse");
+					allServices = CfEnvCache.get().findAllServices();
+					dispatcher = new CfEnvProcessorDispatcher(cfEnvProcessors, allServices);
+					parseStep.tag("services", String.valueOf(allServices.size()));
+					parseStep.end();
+				}
+				StartupStep matchStep = applicationStartup.start("cfenv.processor.match")
+						.tag("processor", processor.getClass().getName())
+						.tag("source", (candidates != null) ? "snapshot" : "services");
+				List<String> names;
+				List<CfService> cfServices = null;
+				if (candidates != null) {
+					names = candidates.keySet().stream()
+							.filter(name -> this.isEnabled(name, environment))
+							.collect(Collectors.toList());
+				}
+				else {
+					List<CfService> matchingServices = dispatcher.getMatchingServices(processor);
+					cfServices = new ArrayList<>();
+					for (CfService cfService : matchingServices) {
+						if (enabledServices.computeIfAbsent(cfService.getName(),
+								name -> this.isEnabled(name, environment))) {
+							cfServices.add(cfService);
+						}
+					}
+					names = cfServices.stream().map(CfService::getName).collect(Collectors.toList());
+				}
+				matchStep.tag("services", () -> String.join(",", names));
+				matchStep.end();
+				if (!names.isEmpty()) {
+					// Matching by metadata or from a snapshot skips the check in accept()
+					ConnectorLibraryDetector.assertNoConnectorLibrary();
+				}
+				if (names.size() > 1) {
+					warnNoUniqueService(processor, names);
+					continue;
+				}
+				if (names.isEmpty()) {
+					continue;
+				}
+				if (candidates != null) {
+					serviceName = names.get(0);
+					properties = new LinkedHashMap<>(candidates.get(serviceName));
+				}
+				else {
 					CfService cfService = cfServices.get(0);
-					Map<String, Object> properties = new LinkedHashMap<>();
-
-					processor.process(cfService.getCredentials(), properties);
-
-					MutablePropertySources propertySources = environment.getPropertySources();
+					serviceName = cfService.getName();
+					StartupStep processStep = applicationStartup.start("cfenv.processor.process")
+							.tag("processor", processor.getClass().getName())
+							.tag("service", String.valueOf(serviceName));
+					properties = new LinkedHashMap<>();
+					CfEnvProcessors.process(processor, cfService, properties);
+					processStep.end();
+				}
 
-					if (propertySources.contains(
-							CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
-						propertySources.addAfter(
-								CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME,
-								new MapPropertySource(processor.getClass().getSimpleName(), properties));
-					} else {
-						propertySources.addFirst(
-								new MapPropertySource(processor.getClass().getSimpleName(), properties));
-					}
+				StartupStep insertStep = applicationStartup.start("cfenv.property-source.insert")
+						.tag("propertySource", processor.getClass().getSimpleName())
+						.tag("service", String.valueOf(serviceName));
+				MutablePropertySources propertySources = environment.getPropertySources();
+
+				if (propertySources.contains(
+						CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
+					propertySources.addAfter(
+							CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME,
+							new MapPropertySource(processor.getClass().getSimpleName(), properties));
+				} else {
+					propertySources.addFirst(
+							new MapPropertySource(processor.getClass().getSimpleName(), properties));
+				}
+				insertStep.end();
 
-					if (invocationCount == 1) {
-						DEFERRED_LOG.info(
-								"Setting " + processor.getProperties().getPropertyPrefixes() +
-										" properties from bound service ["
-										+ cfService.getName() + "] using " + processor.getClass().getName());
-					}
+				if (invocationCount == 1) {
+					DEFERRED_LOG.info(
+							"Setting " + processor.getProperties().getPropertyPrefixes() +
+									" properties from bound service ["
+									+ serviceName + "] using " + processor.getClass().getName());
 				}
 			}
 		} else {
 			if (invocationCount == 1) {
 				DEFERRED_LOG.debug(
-						"Not setting properties, Cloud Foundry Environment no detected");
+						"Not setting properties, Cloud Foundry Environment no detected"
+						+ " and no Kubernetes service bindings");
 			}
 		}
+		postProcessStep.end();
+	}
+
+	private void warnNoUniqueService(CfEnvProcessor processor, List<String> names) {
+		DEFERRED_LOG.warn(String.format("Skipping auto-configuration: No unique %s service found. Found services named [%s]",
+				processor.getProperties().getServiceName(),
+				String.join(",", names)
+		));
+	}
+
+	/**
+	 * Find the enabled services the given processor accepts.
+	 */
+	List<CfService> findMatchingServices(CfEnvProcessor processor, List<CfService> allServices,
+			Environment environment) {
+		return allServices.stream()
+				.filter(cfService -> CfEnvProcessors.accept(processor, cfService))
+				.filter(cfService -> this.isEnabled(cfService, environment))
+				.collect(Collectors.toList());
 	}
 
 	@Override
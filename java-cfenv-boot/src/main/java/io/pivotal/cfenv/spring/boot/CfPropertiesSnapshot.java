@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Properties derived from the bound services ahead of time, for example while staging an
+ * application, so that {@link CfEnvironmentPostProcessor} and
+ * {@link CfDataSourceEnvironmentPostProcessor} neither parse VCAP_SERVICES nor run
+ * processors at startup.
+ * <p>
+ * For each property source a snapshot holds the properties every candidate service
+ * would contribute, keyed by service name. The post-processors then apply the same
+ * {@code cfenv.service.<serviceName>.enabled} filtering and uniqueness rules as they do for
+ * live services, so the result does not depend on the application configuration the
+ * snapshot was created with.
+ * <p>
+ * Implementations are registered in {@code META-INF/spring.factories}.
+ */
+public interface CfPropertiesSnapshot {
+
+	/**
+	 * Return the precomputed properties for a property source.
+	 * @param key the fully qualified class name of a {@link CfEnvProcessor}, or
+	 * {@link CfDataSourceEnvironmentPostProcessor#PROPERTY_SOURCE_NAME} for the JDBC
+	 * properties
+	 * @param environment the environment being post-processed
+	 * @return the properties of each candidate service by service name, in binding order,
+	 * or {@code null} if this snapshot cannot provide them and they must be computed
+	 */
+	Map<String, Map<String, Object>> getCandidates(String key, Environment environment);
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+/**
+ * Looks up precomputed properties from the {@link CfPropertiesSnapshot}s registered in
+ * {@code META-INF/spring.factories}.
+ */
+final class CfPropertiesSnapshots {
+
+	private CfPropertiesSnapshots() {
+	}
+
+	/**
+	 * Return the precomputed properties of the first snapshot that has them.
+	 * @see CfPropertiesSnapshot#getCandidates(String, Environment)
+	 */
+	static Map<String, Map<String, Object>> findCandidates(String key, Environment environment) {
+		for (CfPropertiesSnapshot snapshot : SpringFactoriesLoader.loadFactories(CfPropertiesSnapshot.class,
+				CfPropertiesSnapshots.class.getClassLoader())) {
+			Map<String, Map<String, Object>> candidates = snapshot.getCandidates(key, environment);
+			if (candidates != null) {
+				return candidates;
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import io.pivotal.cfenv.core.CfApplication;
+import io.pivotal.cfenv.core.CfEnvChangeEvent;
+import io.pivotal.cfenv.core.CfEnvChangeListener;
+import io.pivotal.cfenv.core.CfEnvSnapshot;
+import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.jdbc.CfJdbcReplicaSet;
+import io.pivotal.cfenv.jdbc.CfJdbcService;
+import io.pivotal.cfenv.jdbc.CfJdbcUrlCreator;
+
+/**
+ * Applies changed service bindings to an environment: reruns the {@link CfEnvProcessor}s
+ * that accepted or now accept a changed binding and recomputes the JDBC properties when a
+ * database binding changed, replacing the property sources that
+ * {@link CfEnvironmentPostProcessor} and {@link CfDataSourceEnvironmentPostProcessor}
+ * registered. Each property source is replaced in a single step, so readers never see a
+ * mix of old and new values from one source.
+ * <p>
+ * A {@link CfBindingsRefreshedEvent} is published after the property sources have been
+ * replaced.
+ *
+ * @see CfBindingReloadListener
+ */
+public class CfPropertySourceRefresher implements CfEnvChangeListener {
+
+	private static final Log logger = LogFactory.getLog(CfPropertySourceRefresher.class);
+
+	private final ConfigurableEnvironment environment;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final List<CfEnvProcessor> cfEnvProcessors;
+
+	private final CfEnvironmentPostProcessor environmentPostProcessor = new CfEnvironmentPostProcessor();
+
+	private final CfDataSourceEnvironmentPostProcessor dataSourcePostProcessor = new CfDataSourceEnvironmentPostProcessor();
+
+	public CfPropertySourceRefresher(ConfigurableEnvironment environment,
+			ApplicationEventPublisher eventPublisher, List<CfEnvProcessor> cfEnvProcessors) {
+		this.environment = environment;
+		this.eventPublisher = eventPublisher;
+		this.cfEnvProcessors = cfEnvProcessors;
+	}
+
+	@Override
+	public void onChange(CfEnvChangeEvent event) {
+		if (!event.hasServiceChanges()) {
+			return;
+		}
+		Set<String> changedNames = new LinkedHashSet<>();
+		changedNames.addAll(event.getAddedServiceNames());
+		changedNames.addAll(event.getRemovedServiceNames());
+		changedNames.addAll(event.getChangedServiceNames());
+		List<CfService> previous = services(event.getPrevious());
+		List<CfService> current = services(event.getCurrent());
+
+		List<String> refreshed = new ArrayList<>();
+		for (CfEnvProcessor processor : this.cfEnvProcessors) {
+			if (accepts(processor, previous, changedNames) || accepts(processor, current, changedNames)) {
+				List<CfService> cfServices = this.environmentPostProcessor.findMatchingServices(processor,
+						current, this.environment);
+				Map<String, Object> properties = null;
+				if (cfServices.size() == 1) {
+					properties = new LinkedHashMap<>();
+					CfEnvProcessors.process(processor, cfServices.get(0), properties);
+				}
+				String name = processor.getClass().getSimpleName();
+				if (apply(name, properties)) {
+					refreshed.add(name);
+				}
+			}
+		}
+		if (isDatabaseChange(previous, current, changedNames)) {
+			List<CfJdbcService> jdbcServices = new CfJdbcUrlCreator(current).findJdbcServices().stream()
+					.filter(service -> this.dataSourcePostProcessor.isEnabled(service, this.environment))
+					.toList();
+			CfJdbcReplicaSet replicaSet = CfDataSourceEnvironmentPostProcessor.findJdbcReplicaSet(jdbcServices,
+					this.environment);
+			Map<String, Object> properties = null;
+			CfJdbcService primary = null;
+			if (replicaSet != null) {
+				primary = replicaSet.getPrimary();
+				properties = CfDataSourceEnvironmentPostProcessor.createProperties(replicaSet);
+			}
+			else if (jdbcServices.size() == 1) {
+				primary = jdbcServices.get(0);
+				properties = CfDataSourceEnvironmentPostProcessor.createProperties(primary);
+			}
+			if (properties != null) {
+				CfDataSourceEnvironmentPostProcessor.applyPerformanceProfile(properties, this.environment);
+				CfApplication cfApplication = (event.getCurrent() != null) ? event.getCurrent().getApp() : null;
+				CfDataSourcePoolSizing.apply(properties, primary, cfApplication, this.environment, logger::warn);
+				if (replicaSet != null) {
+					CfDataSourcePoolSizing.applyToReplicas(properties, replicaSet.getReplicas(), cfApplication,
+							this.environment, logger::warn);
+				}
+			}
+			if (apply(CfDataSourceEnvironmentPostProcessor.PROPERTY_SOURCE_NAME, properties)) {
+				refreshed.add(CfDataSourceEnvironmentPostProcessor.PROPERTY_SOURCE_NAME);
+			}
+		}
+		this.eventPublisher.publishEvent(new CfBindingsRefreshedEvent(event,
+				Collections.unmodifiableList(refreshed)));
+	}
+
+	private static List<CfService> services(CfEnvSnapshot snapshot) {
+		return (snapshot != null) ? snapshot.findAllServices() : Collections.emptyList();
+	}
+
+	private static boolean accepts(CfEnvProcessor processor, List<CfService> services, Set<String> names) {
+		for (CfService service : services) {
+			if (names.contains(service.getName()) && CfEnvProcessors.accept(processor, service)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDatabaseChange(List<CfService> previous, List<CfService> current,
+			Set<String> names) {
+		List<CfService> candidates = new ArrayList<>();
+		for (CfService service : previous) {
+			if (names.contains(service.getName())) {
+				candidates.add(service);
+			}
+		}
+		for (CfService service : current) {
+			if (names.contains(service.getName())) {
+				candidates.add(service);
+			}
+		}
+		return !candidates.isEmpty() && !new CfJdbcUrlCreator(candidates).findJdbcServices().isEmpty();
+	}
+
+	/**
+	 * Replace, add or remove a property source.
+	 * @return whether the environment changed
+	 */
+	private boolean apply(String name, Map<String, Object> properties) {
+		MutablePropertySources propertySources = this.environment.getPropertySources();
+		if (properties == null) {
+			return propertySources.remove(name) != null;
+		}
+		MapPropertySource propertySource = new MapPropertySource(name, properties);
+		if (propertySources.contains(name)) {
+			propertySources.replace(name, propertySource);
+		}
+		else if (propertySources.contains(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
+			propertySources.addAfter(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME, propertySource);
+		}
+		else {
+			propertySources.addFirst(propertySource);
+		}
+		return true;
+	}
+
+}
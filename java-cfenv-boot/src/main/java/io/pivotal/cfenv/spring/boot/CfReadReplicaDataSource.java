@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataSource} for a primary database with read replicas: the connections of
+ * read-only transactions come from the replicas, in turn, and all others from the primary.
+ * <p>
+ * Spring's transaction managers mark the connection of a read-only transaction as read-only
+ * before running a statement on it. As a {@link LazyConnectionDataSourceProxy}, this data
+ * source only obtains the actual connection at that point, from the replicas if it is
+ * read-only. When a replica fails to provide a connection the next one is tried.
+ *
+ * @see CfReadReplicaDataSourceAutoConfiguration
+ */
+public class CfReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+	private final DataSource primary;
+
+	private final List<DataSource> replicas;
+
+	public CfReadReplicaDataSource(DataSource primary, List<DataSource> replicas) {
+		super(primary);
+		Assert.notEmpty(replicas, "At least one replica is required");
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		setReadOnlyDataSource(new RoundRobinDataSource(this.replicas));
+	}
+
+	public DataSource getPrimary() {
+		return this.primary;
+	}
+
+	public List<DataSource> getReplicas() {
+		return this.replicas;
+	}
+
+	/**
+	 * Close the pools of the primary and the replicas.
+	 */
+	@Override
+	public void close() throws Exception {
+		close(this.primary);
+		for (DataSource replica : this.replicas) {
+			close(replica);
+		}
+	}
+
+	private static void close(DataSource dataSource) throws Exception {
+		if (dataSource instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	/**
+	 * Hands out connections from a list of data sources in turn.
+	 */
+	private static final class RoundRobinDataSource extends AbstractDataSource {
+
+		private final List<DataSource> dataSources;
+
+		private final AtomicInteger next = new AtomicInteger();
+
+		RoundRobinDataSource(List<DataSource> dataSources) {
+			this.dataSources = dataSources;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return getConnection(null, null);
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			int start = this.next.getAndIncrement();
+			SQLException failure = null;
+			for (int i = 0; i < this.dataSources.size(); i++) {
+				DataSource dataSource = this.dataSources.get(Math.floorMod(start + i, this.dataSources.size()));
+				try {
+					return (username != null) ? dataSource.getConnection(username, password)
+							: dataSource.getConnection();
+				}
+				catch (SQLException ex) {
+					if (failure == null) {
+						failure = ex;
+					}
+					else {
+						failure.addSuppressed(ex);
+					}
+				}
+			}
+			throw failure;
+		}
+
+	}
+
+}
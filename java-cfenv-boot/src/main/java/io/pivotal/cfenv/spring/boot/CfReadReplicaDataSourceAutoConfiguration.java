@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Auto-configuration of a {@link CfReadReplicaDataSource} when
+ * {@link CfDataSourceEnvironmentPostProcessor} found a primary database service with read
+ * replicas.
+ * <p>
+ * The primary pool uses the {@code spring.datasource} properties and is configured with the
+ * {@code spring.datasource.hikari} properties. Each replica pool uses the properties of a
+ * replica under {@value CfDataSourceEnvironmentPostProcessor#REPLICA_DATASOURCES_PROPERTY_PREFIX},
+ * which also hold its Hikari settings, such as the pool sizes derived from the connection
+ * limit of the replica, and the replica pools are read-only. The pool names of the replicas
+ * are derived from the name of the primary pool, so that they are unique.
+ */
+@AutoConfiguration(beforeName = "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration")
+@ConditionalOnClass({ LazyConnectionDataSourceProxy.class, HikariDataSource.class })
+@ConditionalOnProperty(CfDataSourceEnvironmentPostProcessor.REPLICA_DATASOURCES_PROPERTY_PREFIX + "[0].url")
+public class CfReadReplicaDataSourceAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(DataSource.class)
+	public CfReadReplicaDataSource dataSource(Environment environment) {
+		Binder binder = Binder.get(environment);
+		HikariDataSource primary = createDataSource(environment, "spring.datasource.");
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		if (primary.getPoolName() == null) {
+			primary.setPoolName("cfenv-primary");
+		}
+		List<DataSource> replicas = new ArrayList<>();
+		String prefix = CfDataSourceEnvironmentPostProcessor.REPLICA_DATASOURCES_PROPERTY_PREFIX;
+		for (int i = 0; environment.containsProperty(prefix + "[" + i + "].url"); i++) {
+			String replicaPrefix = prefix + "[" + i + "]";
+			HikariDataSource replica = createDataSource(environment, replicaPrefix + ".");
+			binder.bind(replicaPrefix, Bindable.ofInstance(replica));
+			if (replica.getPoolName() == null) {
+				// Pool names must be unique, for example to register the pools as MBeans
+				replica.setPoolName(primary.getPoolName() + "-"
+						+ environment.getProperty(replicaPrefix + ".name", "replica-" + i));
+			}
+			replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		return new CfReadReplicaDataSource(primary, replicas);
+	}
+
+	private HikariDataSource createDataSource(Environment environment, String prefix) {
+		return DataSourceBuilder.create(getClass().getClassLoader())
+				.type(HikariDataSource.class)
+				.url(environment.getProperty(prefix + "url"))
+				.username(environment.getProperty(prefix + "username"))
+				.password(environment.getProperty(prefix + "password"))
+				.driverClassName(environment.getProperty(prefix + "driver-class-name"))
+				.build();
+	}
+
+}
@@ -35,8 +35,19 @@ public interface CfServiceEnablingEnvironmentPostProcessor extends EnvironmentPo
 	 * @return {@code true} if the service is enabled; {@code false} otherwise
 	 */
 	default boolean isEnabled(CfService service, Environment environment) {
+		return isEnabled(service.getName(), environment);
+	}
+
+	/**
+	 * Determine if a service is enabled.
+	 *
+	 * @param serviceName the name of the service to inspect.
+	 * @param environment the Environment.
+	 * @return {@code true} if the service is enabled; {@code false} otherwise
+	 */
+	default boolean isEnabled(String serviceName, Environment environment) {
 		return Boolean.valueOf(
-			environment.getProperty(String.format("cfenv.service.%s.enabled", service.getName()),
+			environment.getProperty("cfenv.service." + serviceName + ".enabled",
 				"true"));
 	}
 }
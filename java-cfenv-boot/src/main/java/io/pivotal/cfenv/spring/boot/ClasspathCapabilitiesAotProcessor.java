@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import io.pivotal.cfenv.core.ClasspathCapabilities;
+import io.pivotal.cfenv.core.JacksonVcapJsonParser;
+import io.pivotal.cfenv.jdbc.MySqlJdbcUrlCreator;
+
+/**
+ * {@link BeanFactoryInitializationAotProcessor} that records the results of the
+ * {@link ClasspathCapabilities} probes at build time in
+ * {@value ClasspathCapabilities#AOT_LOCATION}, so that they are not repeated at runtime.
+ * <p>
+ * The probes of {@code java-cfenv}, {@code java-cfenv-jdbc} and {@code java-cfenv-boot} are
+ * run here; other modules run theirs from their own processors. The results are written
+ * when the contribution is applied, after all processors have run.
+ */
+class ClasspathCapabilitiesAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+	@Override
+	public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+		new JacksonVcapJsonParser().isAvailable();
+		ClasspathCapabilities.isPresent(MySqlJdbcUrlCreator.MARIADB_DRIVER_CLASS_NAME);
+		ClasspathCapabilities.isPresent(MySqlJdbcUrlCreator.MYSQL_DRIVER_CLASS_NAME);
+		ConnectorLibraryDetector.isUsingConnectorLibrary();
+		return (generationContext, beanFactoryInitializationCode) -> {
+			StringBuilder content = new StringBuilder();
+			for (Map.Entry<String, Boolean> capability : ClasspathCapabilities.getCapabilities().entrySet()) {
+				content.append(capability.getKey()).append('=').append(capability.getValue()).append('\n');
+			}
+			generationContext.getGeneratedFiles().addResourceFile(ClasspathCapabilities.AOT_LOCATION, content);
+			generationContext.getRuntimeHints().resources().registerPattern(ClasspathCapabilities.AOT_LOCATION);
+		};
+	}
+
+}
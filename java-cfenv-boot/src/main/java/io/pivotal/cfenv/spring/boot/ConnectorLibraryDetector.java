@@ -16,7 +16,7 @@
 
 package io.pivotal.cfenv.spring.boot;
 
-import org.springframework.util.ClassUtils;
+import io.pivotal.cfenv.core.ClasspathCapabilities;
 
 /**
  * Determine if the Connector Library is on the classpath
@@ -26,12 +26,14 @@ public abstract class ConnectorLibraryDetector {
 
 	public static String MESSAGE = "Exiting the application since the Spring Cloud Connector library has been detected on the classpath.  Please remove this dependency from your project and set the environment variable JBP_CONFIG_SPRING_AUTO_RECONFIGURATION '{enabled: false}' in the Cloud Foundry manifest.";
 
+	static final String[] CONNECTOR_CLASS_NAMES = { "org.springframework.cloud.Cloud",
+			"org.cloudfoundry.reconfiguration.org.springframework.cloud.Cloud" };
+
 	private static boolean usingConnectorLibrary;
 
 	static {
-		ClassLoader classLoader = ConnectorLibraryDetector.class.getClassLoader();
-		usingConnectorLibrary = ClassUtils.isPresent("org.springframework.cloud.Cloud", classLoader) ||
-				ClassUtils.isPresent("org.cloudfoundry.reconfiguration.org.springframework.cloud.Cloud", classLoader);
+		usingConnectorLibrary = ClasspathCapabilities.isPresent(CONNECTOR_CLASS_NAMES[0]) ||
+				ClasspathCapabilities.isPresent(CONNECTOR_CLASS_NAMES[1]);
 	}
 
 	static boolean isUsingConnectorLibrary() {
@@ -35,6 +35,14 @@ public class CredHubCfEnvProcessor implements CfEnvProcessor {
 				service.existsByLabelStartsWith("credhub");
 	}
 
+	@Override
+	public CfEnvProcessorMatch getMatch() {
+		return CfEnvProcessorMatch.builder()
+				.tags("credhub")
+				.labelPrefixes("credhub")
+				.build();
+	}
+
 	@Override
 	public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
 		Map<String, Object> allCredentials = cfCredentials.getMap();
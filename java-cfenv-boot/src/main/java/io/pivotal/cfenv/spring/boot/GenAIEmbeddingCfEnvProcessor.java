@@ -15,7 +15,7 @@
  */
 package io.pivotal.cfenv.spring.boot;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import io.pivotal.cfenv.core.CfCredentials;
@@ -36,7 +36,7 @@ public class GenAIEmbeddingCfEnvProcessor implements CfEnvProcessor {
 	public boolean accept(CfService service) {
 		boolean isGenAIService = service.existsByTagIgnoreCase("genai") || service.existsByLabelStartsWith("genai");
 		if (isGenAIService) {
-			ArrayList<String> modelCapabilities = (ArrayList<String>) service.getCredentials().getMap().get("model_capabilities");
+			List<String> modelCapabilities = service.getCredentials().getStringList("model_capabilities");
 			return (modelCapabilities != null && modelCapabilities.contains("embedding"));
 		}
 
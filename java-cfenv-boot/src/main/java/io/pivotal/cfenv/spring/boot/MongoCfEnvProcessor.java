@@ -43,6 +43,15 @@ public class MongoCfEnvProcessor implements CfEnvProcessor {
 		return serviceIsBound;
 	}
 
+	@Override
+	public CfEnvProcessorMatch getMatch() {
+		return CfEnvProcessorMatch.builder()
+				.tags("mongodb")
+				.labelPrefixes("mongolab")
+				.uriSchemes(mongoScheme)
+				.build();
+	}
+
 	@Override
 	public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
 		properties.put("spring.data.mongodb.uri", cfCredentials.getUri(mongoScheme));
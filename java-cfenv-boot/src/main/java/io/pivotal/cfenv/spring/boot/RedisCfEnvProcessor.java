@@ -47,11 +47,20 @@ public class RedisCfEnvProcessor implements CfEnvProcessor {
 		return serviceIsBound;
 	}
 
+	@Override
+	public CfEnvProcessorMatch getMatch() {
+		return CfEnvProcessorMatch.builder()
+				.tags("redis")
+				.labelPrefixes("rediscloud")
+				.uriSchemes(redisSchemes)
+				.build();
+	}
+
 	@Override
 	public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
-		String uri = cfCredentials.getUri(redisSchemes);
+		UriInfo uriInfo = cfCredentials.findUriInfo(redisSchemes);
 
-		if (uri == null) {
+		if (uriInfo == null) {
 			properties.put(PREFIX + ".host", cfCredentials.getHost());
 			properties.put(PREFIX + ".username", cfCredentials.getUsername());
 			properties.put(PREFIX + ".password", cfCredentials.getPassword());
@@ -64,7 +73,6 @@ public class RedisCfEnvProcessor implements CfEnvProcessor {
 				properties.put(PREFIX + ".port", cfCredentials.getPort());
 			}
 		} else {
-			UriInfo uriInfo = new UriInfo(uri);
 			properties.put(PREFIX + ".host", uriInfo.getHost());
 			properties.put(PREFIX + ".port", uriInfo.getPort());
 			properties.put(PREFIX + ".username", uriInfo.getUsername());
@@ -31,6 +31,13 @@ public class VaultCfEnvProcessor implements CfEnvProcessor {
 		return service.existsByLabelStartsWith("hashicorp-vault");
 	}
 
+	@Override
+	public CfEnvProcessorMatch getMatch() {
+		return CfEnvProcessorMatch.builder()
+				.labelPrefixes("hashicorp-vault")
+				.build();
+	}
+
 	@Override
 	public void process(CfCredentials cfCredentials, Map<String, Object> properties) {
 		properties.put("spring.cloud.vault.uri", cfCredentials.getString("address"));
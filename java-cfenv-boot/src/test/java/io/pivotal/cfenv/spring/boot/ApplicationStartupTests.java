@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.StartupStep;
+
+import io.pivotal.cfenv.test.AbstractCfEnvTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApplicationStartupTests extends AbstractCfEnvTests {
+
+	@Test
+	public void postProcessingStepsAreRecorded() {
+		mockVcapServices(getServicesPayload(getTemplatedPayload("test-redis-info.json",
+				"redis-service", hostname, port, username, password, "redis")));
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(64);
+		SpringApplication application = new SpringApplication();
+		application.setApplicationStartup(applicationStartup);
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources().addFirst(new MapPropertySource("vcap", Map.of("VCAP_APPLICATION", "{}")));
+
+		new CfEnvironmentPostProcessor().postProcessEnvironment(environment, application);
+
+		Map<String, Map<String, String>> steps = new LinkedHashMap<>();
+		applicationStartup.getBufferedTimeline().getEvents().forEach(event -> {
+			Map<String, String> tags = new LinkedHashMap<>();
+			for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+				tags.put(tag.getKey(), tag.getValue());
+			}
+			steps.putIfAbsent(event.getStartupStep().getName() + ":" + tags.get("processor"), tags);
+		});
+		String redis = RedisCfEnvProcessor.class.getName();
+		assertThat(steps).containsKeys("cfenv.post-process:null", "cfenv.processors.discover:null",
+				"cfenv.parse:null", "cfenv.processor.match:" + redis, "cfenv.processor.process:" + redis);
+		assertThat(steps.get("cfenv.processor.match:" + redis)).containsEntry("source", "services")
+				.containsEntry("services", "redis-service");
+		assertThat(steps.get("cfenv.processor.process:" + redis)).containsEntry("service", "redis-service");
+		assertThat(steps.get("cfenv.property-source.insert:null"))
+				.containsEntry("propertySource", "RedisCfEnvProcessor");
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.test.VcapCorpus;
+import io.pivotal.cfenv.test.VcapGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CfEnvProcessorDispatcherTests {
+
+	private static final List<CfEnvProcessor> PROCESSORS = List.of(new AmqpCfEnvProcessor(),
+			new CassandraCfEnvProcessor(), new CredHubCfEnvProcessor(), new GenAIChatCfEnvProcessor(),
+			new GenAIEmbeddingCfEnvProcessor(), new MongoCfEnvProcessor(), new RedisCfEnvProcessor(),
+			new VaultCfEnvProcessor());
+
+	@Test
+	public void matchesServicesAcceptedByProcessorsInCorpus() {
+		for (VcapCorpus.Entry entry : VcapCorpus.entries()) {
+			assertMatchesAcceptedServices(entry.vcapServices());
+		}
+	}
+
+	@Test
+	public void matchesServicesAcceptedByProcessorsInGeneratedPayloads() {
+		for (int seed = 0; seed < 50; seed++) {
+			assertMatchesAcceptedServices(VcapGenerator.configure().services(1 + seed).seed(seed).vcapServices());
+		}
+	}
+
+	@Test
+	public void matchesServicesAcceptedByProcessorsAtBoundaries() {
+		assertMatchesAcceptedServices("{\"user-provided\":["
+				+ "{\"name\":\"tag-case\",\"label\":\"user-provided\",\"tags\":[\"REDIS\",null],\"credentials\":{}},"
+				+ "{\"name\":\"label-prefix\",\"label\":\"rediscloudplus\",\"tags\":[],\"credentials\":{}},"
+				+ "{\"name\":\"empty-label\",\"label\":\"\",\"credentials\":{\"amqpsUrl\":\"amqps://host\"}},"
+				+ "{\"name\":\"uri-scheme\",\"label\":\"user-provided\",\"credentials\":{\"uri\":\"mongodb://host/db\"}},"
+				+ "{\"name\":\"uri-no-authority\",\"label\":\"user-provided\",\"credentials\":{\"url\":\"redis:host\"}},"
+				+ "{\"name\":\"partial-cassandra\",\"label\":\"cassandra\",\"tags\":[\"cassandra\"],\"credentials\":{\"cqlsh_port\":9042}},"
+				+ "{\"name\":\"cassandra\",\"label\":\"cassandra\",\"tags\":[\"Cassandra\"],\"credentials\":{\"cqlsh_port\":9042,\"node_ips\":[]}},"
+				+ "{\"name\":\"several\",\"label\":\"hashicorp-vault\",\"tags\":[\"credhub\",\"amqp\"],\"credentials\":{\"uri\":\"rediss://host:6380\"}}"
+				+ "]}");
+	}
+
+	@Test
+	public void matchesServicesInOriginalOrder() {
+		List<CfService> services = new CfEnv("{}", VcapGenerator.configure().types(VcapGenerator.ServiceType.REDIS)
+				.services(5).seed(7).vcapServices()).findAllServices();
+		CfEnvProcessorDispatcher dispatcher = new CfEnvProcessorDispatcher(PROCESSORS, services);
+
+		assertThat(dispatcher.getMatchingServices(PROCESSORS.get(6))).containsExactlyElementsOf(services);
+		// Processors that were not indexed are matched with accept()
+		assertThat(dispatcher.getMatchingServices(new RedisCfEnvProcessor())).containsExactlyElementsOf(services);
+	}
+
+	@Test
+	public void matchesSubclassesWithoutMatchMetadataWithAccept() {
+		List<CfService> services = new CfEnv("{}", VcapGenerator.configure().types(VcapGenerator.ServiceType.REDIS)
+				.services(5).seed(7).vcapServices()).findAllServices();
+		CfEnvProcessor processor = new RedisCfEnvProcessor() {
+
+			@Override
+			public boolean accept(CfService service) {
+				return super.accept(service) && service.getName().equals(services.get(2).getName());
+			}
+
+			@Override
+			public CfEnvProcessorMatch getMatch() {
+				return null;
+			}
+
+		};
+		CfEnvProcessorDispatcher dispatcher = new CfEnvProcessorDispatcher(List.of(processor), services);
+
+		assertThat(dispatcher.getMatchingServices(processor)).containsExactly(services.get(2));
+	}
+
+	private void assertMatchesAcceptedServices(String vcapServices) {
+		List<CfService> services = new CfEnv("{}", vcapServices).findAllServices();
+		CfEnvProcessorDispatcher dispatcher = new CfEnvProcessorDispatcher(PROCESSORS, services);
+		for (CfEnvProcessor processor : PROCESSORS) {
+			List<CfService> accepted = services.stream().filter(processor::accept).collect(Collectors.toList());
+			assertThat(dispatcher.getMatchingServices(processor)).as(processor.getClass().getSimpleName())
+					.containsExactlyElementsOf(accepted);
+			CfEnvProcessorMatch match = processor.getMatch();
+			if (match != null) {
+				assertThat(services.stream().filter(match::matches).collect(Collectors.toList()))
+						.as(processor.getClass().getSimpleName()).containsExactlyElementsOf(accepted);
+			}
+		}
+	}
+
+}
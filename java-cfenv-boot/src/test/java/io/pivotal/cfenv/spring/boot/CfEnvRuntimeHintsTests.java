@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import io.pivotal.cfenv.core.JacksonVcapJsonParser;
+import io.pivotal.cfenv.core.JsonIoVcapJsonParser;
+import io.pivotal.cfenv.core.JsonStreamVcapJsonParser;
+import io.pivotal.cfenv.jdbc.MySqlJdbcUrlCreator;
+import io.pivotal.cfenv.jdbc.PostgresqlJdbcUrlCreator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CfEnvRuntimeHintsTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	@Test
+	public void registersServiceProviders() {
+		new CfEnvRuntimeHints().registerHints(this.hints, getClass().getClassLoader());
+
+		assertThat(RuntimeHintsPredicates.resource()
+				.forResource("META-INF/services/io.pivotal.cfenv.core.VcapJsonParser")).accepts(this.hints);
+		assertThat(RuntimeHintsPredicates.resource()
+				.forResource("META-INF/services/io.pivotal.cfenv.jdbc.JdbcUrlCreator")).accepts(this.hints);
+		for (Class<?> provider : new Class<?>[] { JacksonVcapJsonParser.class, JsonStreamVcapJsonParser.class,
+				JsonIoVcapJsonParser.class, MySqlJdbcUrlCreator.class, PostgresqlJdbcUrlCreator.class }) {
+			assertThat(RuntimeHintsPredicates.reflection().onType(provider)
+					.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(this.hints);
+		}
+	}
+
+	@Test
+	public void registersProbedClasses() {
+		new CfEnvRuntimeHints().registerHints(this.hints, getClass().getClassLoader());
+
+		assertThat(this.hints.reflection().getTypeHint(TypeReference.of(MySqlJdbcUrlCreator.MYSQL_DRIVER_CLASS_NAME)))
+				.isNotNull();
+		for (String className : ConnectorLibraryDetector.CONNECTOR_CLASS_NAMES) {
+			assertThat(this.hints.reflection().getTypeHint(TypeReference.of(className))).isNotNull();
+		}
+	}
+
+	@Test
+	public void loadsProcessorsInOrder() {
+		assertThat(CfEnvProcessors.load(getClass().getClassLoader())).first().isInstanceOf(RedisCfEnvProcessor.class);
+	}
+
+}
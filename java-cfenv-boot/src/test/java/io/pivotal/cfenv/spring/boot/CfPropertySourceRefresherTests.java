@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.env.StandardEnvironment;
+
+import io.pivotal.cfenv.core.CfEnv;
+import io.pivotal.cfenv.core.CfEnvSnapshotHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CfPropertySourceRefresherTests {
+
+	private final StandardEnvironment environment = new StandardEnvironment();
+
+	private final List<Object> events = new ArrayList<>();
+
+	private final CfEnvSnapshotHolder holder = new CfEnvSnapshotHolder();
+
+	@BeforeEach
+	public void setup() {
+		this.holder.update(new CfEnv(null, vcapServices("redis-secret", "db-secret")));
+		this.holder.addListener(new CfPropertySourceRefresher(this.environment, this.events::add,
+				List.of(new RedisCfEnvProcessor(), new MongoCfEnvProcessor())));
+	}
+
+	@Test
+	public void onlyAffectedPropertySourcesAreReplaced() {
+		this.holder.update(new CfEnv(null, vcapServices("redis-rotated", "db-secret")));
+
+		assertThat(this.environment.getProperty("spring.data.redis.password")).isEqualTo("redis-rotated");
+		assertThat(this.environment.getPropertySources().contains("MongoCfEnvProcessor")).isFalse();
+		assertThat(this.environment.getPropertySources().contains("cfenvjdbc")).isFalse();
+		CfBindingsRefreshedEvent event = (CfBindingsRefreshedEvent) this.events.get(0);
+		assertThat(event.getPropertySourceNames()).containsExactly("RedisCfEnvProcessor");
+		assertThat(event.getChange().getChangedServiceNames()).containsExactly("redis");
+	}
+
+	@Test
+	public void dataSourcePropertiesAreRecomputed() {
+		this.holder.update(new CfEnv(null, vcapServices("redis-secret", "db-rotated")));
+
+		assertThat(this.environment.getProperty("spring.datasource.password")).isEqualTo("db-rotated");
+		assertThat(this.environment.getProperty("spring.r2dbc.password")).isEqualTo("db-rotated");
+		assertThat(((CfBindingsRefreshedEvent) this.events.get(0)).getPropertySourceNames())
+				.containsExactly("cfenvjdbc");
+	}
+
+	@Test
+	public void propertySourceOfRemovedBindingIsRemoved() {
+		this.holder.update(new CfEnv(null, vcapServices("redis-rotated", "db-secret")));
+		this.holder.update(new CfEnv(null, "{}"));
+
+		assertThat(this.environment.getPropertySources().contains("RedisCfEnvProcessor")).isFalse();
+		assertThat(this.environment.getProperty("spring.data.redis.password")).isNull();
+		assertThat(((CfBindingsRefreshedEvent) this.events.get(1)).getChange().getRemovedServiceNames())
+				.containsExactly("redis", "db");
+	}
+
+	@Test
+	public void unchangedBindingsPublishNothing() {
+		this.holder.update(new CfEnv(null, vcapServices("redis-secret", "db-secret")));
+
+		assertThat(this.events).isEmpty();
+	}
+
+	private static String vcapServices(String redisPassword, String dbPassword) {
+		return "{\"p-redis\":[{\"name\":\"redis\",\"label\":\"p-redis\",\"tags\":[\"redis\"],"
+				+ "\"credentials\":{\"host\":\"redis.example.com\",\"port\":6379,\"password\":\"" + redisPassword + "\"}}],"
+				+ "\"postgresql\":[{\"name\":\"db\",\"label\":\"postgresql\",\"tags\":[\"postgresql\"],"
+				+ "\"credentials\":{\"uri\":\"postgres://user:" + dbPassword + "@db.example.com:5432/orders\"}}]}";
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.spring.boot;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CfReadReplicaDataSourceTests {
+
+	private final StubDataSource primary = new StubDataSource("primary");
+
+	private final StubDataSource replica1 = new StubDataSource("replica-1");
+
+	private final StubDataSource replica2 = new StubDataSource("replica-2");
+
+	private final CfReadReplicaDataSource dataSource = new CfReadReplicaDataSource(this.primary,
+			List.of(this.replica1, this.replica2));
+
+	@Test
+	public void readWriteConnectionsUseThePrimary() throws SQLException {
+		assertThat(targetOf(this.dataSource, false)).isEqualTo("primary");
+		assertThat(targetOf(this.dataSource, false)).isEqualTo("primary");
+	}
+
+	@Test
+	public void readOnlyConnectionsUseTheReplicasInTurn() throws SQLException {
+		assertThat(targetOf(this.dataSource, true)).isEqualTo("replica-1");
+		assertThat(targetOf(this.dataSource, true)).isEqualTo("replica-2");
+		assertThat(targetOf(this.dataSource, true)).isEqualTo("replica-1");
+	}
+
+	@Test
+	public void unavailableReplicaIsSkipped() throws SQLException {
+		this.replica1.available = false;
+
+		assertThat(targetOf(this.dataSource, true)).isEqualTo("replica-2");
+		assertThat(targetOf(this.dataSource, true)).isEqualTo("replica-2");
+	}
+
+	private static String targetOf(DataSource dataSource, boolean readOnly) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setReadOnly(readOnly);
+			return ((ConnectionProxy) connection).getTargetConnection().toString();
+		}
+	}
+
+	private static final class StubDataSource extends AbstractDataSource {
+
+		private final String name;
+
+		private boolean available = true;
+
+		StubDataSource(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (!this.available) {
+				throw new SQLException(this.name + " is not available");
+			}
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] { Connection.class }, (proxy, method, args) -> switch (method.getName()) {
+						case "toString" -> this.name;
+						case "equals" -> proxy == args[0];
+						case "hashCode" -> System.identityHashCode(proxy);
+						case "getAutoCommit" -> true;
+						case "getTransactionIsolation" -> Connection.TRANSACTION_READ_COMMITTED;
+						default -> (method.getReturnType() == boolean.class) ? Boolean.FALSE : null;
+					});
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+
+	}
+
+}
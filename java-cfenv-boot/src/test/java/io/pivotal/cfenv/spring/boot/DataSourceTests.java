@@ -17,13 +17,17 @@ package io.pivotal.cfenv.spring.boot;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.util.ResourceUtils;
 
+import io.pivotal.cfenv.core.test.CfEnvMock;
 import io.pivotal.cfenv.test.AbstractCfEnvTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -141,4 +145,185 @@ public class DataSourceTests extends AbstractCfEnvTests {
 			System.clearProperty("VCAP_APPLICATION");
 		}
 	}	
+
+	@Test
+	public void testDataSource_performanceProfile() throws Exception {
+
+		// To make CloudPlatform test pass
+		try {
+			System.setProperty("VCAP_APPLICATION", "yes");
+
+			File file = ResourceUtils.getFile("classpath:vcap-services.json");
+			String fileContents = new String(Files.readAllBytes(file.toPath()));
+			mockVcapServices(fileContents);
+
+			Map<String, Object> configured = new HashMap<>();
+			configured.put(CfDataSourceEnvironmentPostProcessor.PROFILE_PROPERTY, "throughput");
+			configured.put("spring.datasource.hikari.data-source-properties.prepStmtCacheSize", "500");
+			this.context.getEnvironment().getPropertySources()
+					.addLast(new MapPropertySource("application", configured));
+
+			environmentPostProcessor.postProcessEnvironment(this.context.getEnvironment(),
+					null);
+			assertThat(this.context.getEnvironment().getProperty("spring.datasource.url"))
+					.isEqualTo(mysqlJdbcUrl);
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.data-source-properties.rewriteBatchedStatements"))
+					.isEqualTo("true");
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.data-source-properties.prepStmtCacheSize"))
+					.isEqualTo("500");
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.data-source-properties.user")).isNull();
+
+		} finally {
+			System.clearProperty("VCAP_APPLICATION");
+		}
+	}
+
+	@Test
+	public void testDataSource_poolSizing() throws Exception {
+
+		// To make CloudPlatform test pass
+		try {
+			System.setProperty("VCAP_APPLICATION", "yes");
+
+			File file = ResourceUtils.getFile("classpath:vcap-services.json");
+			String fileContents = new String(Files.readAllBytes(file.toPath()));
+			CfEnvMock.configure().vcapServices(fileContents).vcapApplication("{\"instance_index\": 1}").mock();
+
+			Map<String, Object> configured = new HashMap<>();
+			configured.put("cfenv.jdbc.pool.instances", "4");
+			configured.put("cfenv.jdbc.pool.plan-limits.100mb", "100");
+			configured.put("cfenv.jdbc.pool.reserved-connections", "10");
+			configured.put("spring.r2dbc.pool.max-size", "5");
+			this.context.getEnvironment().getPropertySources()
+					.addLast(new MapPropertySource("application", configured));
+
+			environmentPostProcessor.postProcessEnvironment(this.context.getEnvironment(),
+					null);
+			// 90 connections for 4 instances, the first two take the remainder
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.maximum-pool-size")).isEqualTo("23");
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.minimum-idle")).isEqualTo("11");
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.r2dbc.pool.max-size")).isEqualTo("5");
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.r2dbc.pool.min-idle")).isNull();
+
+		} finally {
+			System.clearProperty("VCAP_APPLICATION");
+		}
+	}
+
+	@Test
+	public void testDataSource_poolSizingSkippedWithoutAConnectionPerInstance() throws Exception {
+
+		// To make CloudPlatform test pass
+		try {
+			System.setProperty("VCAP_APPLICATION", "yes");
+
+			File file = ResourceUtils.getFile("classpath:vcap-services.json");
+			String fileContents = new String(Files.readAllBytes(file.toPath()));
+			CfEnvMock.configure().vcapServices(fileContents).vcapApplication("{\"instance_index\": 1}").mock();
+
+			Map<String, Object> configured = new HashMap<>();
+			configured.put("cfenv.jdbc.pool.instances", "4");
+			configured.put("cfenv.jdbc.pool.plan-limits.100mb", "13");
+			configured.put("cfenv.jdbc.pool.reserved-connections", "10");
+			this.context.getEnvironment().getPropertySources()
+					.addLast(new MapPropertySource("application", configured));
+
+			environmentPostProcessor.postProcessEnvironment(this.context.getEnvironment(),
+					null);
+			// 3 connections for 4 instances, one instance would get none
+			assertThat(this.context.getEnvironment().getProperty("spring.datasource.url"))
+					.isEqualTo(mysqlJdbcUrl);
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.maximum-pool-size")).isNull();
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.minimum-idle")).isNull();
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.r2dbc.pool.max-size")).isNull();
+
+		} finally {
+			System.clearProperty("VCAP_APPLICATION");
+		}
+	}
+
+	@Test
+	public void testDataSource_readReplicas() throws Exception {
+
+		// To make CloudPlatform test pass
+		try {
+			System.setProperty("VCAP_APPLICATION", "yes");
+
+			File file = ResourceUtils.getFile("classpath:vcap-services-replicas.json");
+			String fileContents = new String(Files.readAllBytes(file.toPath()));
+			mockVcapServices(fileContents);
+
+			Map<String, Object> configured = new HashMap<>();
+			configured.put(CfDataSourceEnvironmentPostProcessor.REPLICAS_ENABLED_PROPERTY, "true");
+			configured.put(CfDataSourceEnvironmentPostProcessor.REPLICAS_NAME_PATTERN_PROPERTY, ".*-replica-\\d+");
+			this.context.getEnvironment().getPropertySources()
+					.addLast(new MapPropertySource("application", configured));
+
+			environmentPostProcessor.postProcessEnvironment(this.context.getEnvironment(),
+					null);
+			assertThat(this.context.getEnvironment().getProperty("spring.datasource.url"))
+					.isEqualTo("jdbc:mysql://10.0.4.35:3306/orders?user=mysql_username&password=mysql_password");
+			assertThat(this.context.getEnvironment().getProperty("cfenv.jdbc.replicas.datasources[0].name"))
+					.isEqualTo("orders-replica-1");
+			assertThat(this.context.getEnvironment().getProperty("cfenv.jdbc.replicas.datasources[1].url"))
+					.isEqualTo("jdbc:mysql://10.0.4.37:3306/orders?user=replica_username&password=replica_password");
+			assertThat(this.context.getEnvironment().getProperty("cfenv.jdbc.replicas.datasources[1].username"))
+					.isEqualTo("replica_username");
+			assertThat(this.context.getEnvironment().getProperty("cfenv.jdbc.replicas.datasources[2].url"))
+					.isNull();
+
+		} finally {
+			System.clearProperty("VCAP_APPLICATION");
+		}
+	}
+
+	@Test
+	public void testDataSource_readReplicaPools() throws Exception {
+
+		// To make CloudPlatform test pass
+		try {
+			System.setProperty("VCAP_APPLICATION", "yes");
+
+			File file = ResourceUtils.getFile("classpath:vcap-services-replicas.json");
+			String fileContents = new String(Files.readAllBytes(file.toPath()))
+					.replace("\"name\": \"orders\",\n        \"username\": \"replica_username\"",
+							"\"name\": \"orders\",\n        \"max_connections\": 40,\n        \"username\": \"replica_username\"");
+			CfEnvMock.configure().vcapServices(fileContents).vcapApplication("{\"instance_index\": 0}").mock();
+
+			Map<String, Object> configured = new HashMap<>();
+			configured.put(CfDataSourceEnvironmentPostProcessor.REPLICAS_ENABLED_PROPERTY, "true");
+			configured.put(CfDataSourceEnvironmentPostProcessor.REPLICAS_NAME_PATTERN_PROPERTY, ".*-replica-\\d+");
+			configured.put(CfDataSourceEnvironmentPostProcessor.PROFILE_PROPERTY, "throughput");
+			configured.put("cfenv.jdbc.pool.instances", "4");
+			configured.put("cfenv.jdbc.pool.plan-limits.db-small", "100");
+			this.context.getEnvironment().getPropertySources()
+					.addLast(new MapPropertySource("application", configured));
+
+			environmentPostProcessor.postProcessEnvironment(this.context.getEnvironment(),
+					null);
+			// The primary uses the plan limit and each replica its own limit
+			assertThat(this.context.getEnvironment()
+					.getProperty("spring.datasource.hikari.maximum-pool-size")).isEqualTo("25");
+			assertThat(this.context.getEnvironment()
+					.getProperty("cfenv.jdbc.replicas.datasources[0].maximum-pool-size")).isEqualTo("10");
+			assertThat(this.context.getEnvironment()
+					.getProperty("cfenv.jdbc.replicas.datasources[1].minimum-idle")).isEqualTo("5");
+			assertThat(this.context.getEnvironment()
+					.getProperty("cfenv.jdbc.replicas.datasources[1].data-source-properties.rewriteBatchedStatements"))
+					.isEqualTo("true");
+
+		} finally {
+			System.clearProperty("VCAP_APPLICATION");
+		}
+	}
 }
@@ -16,6 +16,7 @@
 package io.pivotal.cfenv.jdbc;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 import io.pivotal.cfenv.core.CfEnv;
 
@@ -26,24 +27,61 @@ import io.pivotal.cfenv.core.CfEnv;
  */
 public class CfJdbcEnv extends CfEnv {
 
+	private volatile CfJdbcUrlCreator jdbcUrlCreator;
+
 	public CfJdbcEnv() {
 		super();
 	}
 
+	/**
+	 * Create an instance over an already parsed environment, such as the one shared
+	 * through {@link io.pivotal.cfenv.core.CfEnvCache}.
+	 * @param cfEnv the parsed environment
+	 */
+	public CfJdbcEnv(CfEnv cfEnv) {
+		super(cfEnv);
+	}
+
 	public List<CfJdbcService> findJdbcServices() {
-		CfJdbcUrlCreator cfJdbcUrlCreator = new CfJdbcUrlCreator(this.findAllServices());
-		return cfJdbcUrlCreator.findJdbcServices();
+		return getJdbcUrlCreator().findJdbcServices();
 	}
 
 	public CfJdbcService findJdbcServiceByName(String... spec) {
-		CfJdbcUrlCreator cfJdbcUrlCreator = new CfJdbcUrlCreator(
-				this.findServicesByName(spec));
-		return cfJdbcUrlCreator.findJdbcServiceByName(spec);
+		return getJdbcUrlCreator().findJdbcServiceByName(this, spec);
 	}
 
 	public CfJdbcService findJdbcService() {
-		CfJdbcUrlCreator cfJdbcUrlCreator = new CfJdbcUrlCreator(this.findAllServices());
-		return cfJdbcUrlCreator.findJdbcService();
+		return getJdbcUrlCreator().findJdbcService();
+	}
+
+	/**
+	 * Return the primary database service and its read replicas.
+	 * @param replicaNamePattern the pattern of the names of replica services, or
+	 * {@code null} to only use tags and credentials
+	 * @return the replica set, or {@code null} if there is not exactly one primary with at
+	 * least one replica
+	 * @see CfJdbcReplicaSet#of(List, Pattern)
+	 */
+	public CfJdbcReplicaSet findJdbcReplicaSet(Pattern replicaNamePattern) {
+		return CfJdbcReplicaSet.of(findJdbcServices(), replicaNamePattern);
+	}
+
+	/**
+	 * Return the JDBC services of all services, resolved once: each service is classified
+	 * and its JDBC URL created on the first lookup, and later lookups share the result.
+	 */
+	private CfJdbcUrlCreator getJdbcUrlCreator() {
+		CfJdbcUrlCreator creator = this.jdbcUrlCreator;
+		if (creator == null) {
+			synchronized (this) {
+				creator = this.jdbcUrlCreator;
+				if (creator == null) {
+					creator = new CfJdbcUrlCreator(this.findAllServices());
+					this.jdbcUrlCreator = creator;
+				}
+			}
+		}
+		return creator;
 	}
 
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A primary database service with the services that are its read replicas.
+ * <p>
+ * A service is a replica if {@link CfJdbcService#isReadReplica()} or if its name matches
+ * an optional pattern, such as {@code .*-replica-\d+}. All other services are primaries.
+ *
+ * @see CfJdbcEnv#findJdbcReplicaSet(Pattern)
+ */
+public final class CfJdbcReplicaSet {
+
+	private final CfJdbcService primary;
+
+	private final List<CfJdbcService> replicas;
+
+	private CfJdbcReplicaSet(CfJdbcService primary, List<CfJdbcService> replicas) {
+		this.primary = primary;
+		this.replicas = Collections.unmodifiableList(replicas);
+	}
+
+	/**
+	 * Group the given database services into a primary and its replicas.
+	 * @param jdbcServices the database services
+	 * @param replicaNamePattern the pattern of the names of replica services, or
+	 * {@code null} to only use tags and credentials
+	 * @return the replica set, or {@code null} unless there is exactly one primary and at
+	 * least one replica
+	 */
+	public static CfJdbcReplicaSet of(List<CfJdbcService> jdbcServices, Pattern replicaNamePattern) {
+		CfJdbcService primary = null;
+		List<CfJdbcService> replicas = new ArrayList<>();
+		for (CfJdbcService jdbcService : jdbcServices) {
+			if (isReplica(jdbcService, replicaNamePattern)) {
+				replicas.add(jdbcService);
+			}
+			else if (primary == null) {
+				primary = jdbcService;
+			}
+			else {
+				return null;
+			}
+		}
+		return (primary != null && !replicas.isEmpty()) ? new CfJdbcReplicaSet(primary, replicas) : null;
+	}
+
+	private static boolean isReplica(CfJdbcService jdbcService, Pattern replicaNamePattern) {
+		return jdbcService.isReadReplica() || (replicaNamePattern != null && jdbcService.getName() != null
+				&& replicaNamePattern.matcher(jdbcService.getName()).matches());
+	}
+
+	public CfJdbcService getPrimary() {
+		return this.primary;
+	}
+
+	public List<CfJdbcService> getReplicas() {
+		return this.replicas;
+	}
+
+}
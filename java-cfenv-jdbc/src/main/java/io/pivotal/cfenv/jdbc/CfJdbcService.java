@@ -24,6 +24,17 @@ import io.pivotal.cfenv.core.CfService;
  */
 public class CfJdbcService extends CfService {
 
+	/**
+	 * Tags that mark a database service as a read replica.
+	 */
+	public static final String[] READ_REPLICA_TAGS = new String[] { "read-replica", "replica" };
+
+	/**
+	 * Credentials that mark a database service as a read replica when {@code true}.
+	 */
+	public static final String[] READ_REPLICA_CREDENTIALS = new String[] { "read_replica", "readReplica",
+			"read_only", "readOnly" };
+
 	public CfJdbcService(Map<String, Object> serviceData) {
 		super(serviceData);
 	}
@@ -44,4 +55,24 @@ public class CfJdbcService extends CfService {
 		return getCredentials().getDerivedCredentials().get("driver-class-name");
 	}
 
+	/**
+	 * Whether this database service is a read replica of another one, as marked by one of
+	 * the {@link #READ_REPLICA_TAGS} or a {@link #READ_REPLICA_CREDENTIALS credential flag}.
+	 */
+	public boolean isReadReplica() {
+		return existsByTagIgnoreCase(READ_REPLICA_TAGS)
+				|| Boolean.TRUE.equals(getCredentials().getBoolean(READ_REPLICA_CREDENTIALS));
+	}
+
+	/**
+	 * Return the maximum number of connections of the database, if the credentials provide
+	 * it as {@code max_connections}, {@code maxConnections}, {@code connection_limit} or
+	 * {@code connectionLimit}.
+	 * @return the connection limit, or {@code null} if not provided
+	 */
+	public Integer getConnectionLimit() {
+		return getCredentials().getInteger("max_connections", "maxConnections", "connection_limit",
+				"connectionLimit");
+	}
+
 }
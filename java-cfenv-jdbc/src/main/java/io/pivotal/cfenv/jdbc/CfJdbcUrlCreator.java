@@ -15,62 +15,157 @@
  */
 package io.pivotal.cfenv.jdbc;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
+import io.pivotal.cfenv.core.CfEnv;
 import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.core.FlightRecorderSupport;
 
 /**
  * @author Mark Pollack
  */
 public class CfJdbcUrlCreator {
 
-	private List<CfJdbcService> cfJdbcServices;
+	private static volatile JdbcUrlCreators jdbcUrlCreators;
+
+	private final List<CfJdbcService> cfJdbcServices;
+
+	private final List<CfService> databaseServices = new ArrayList<>();
+
+	private final Map<CfService, List<CfJdbcService>> cfJdbcServicesByService = new IdentityHashMap<>();
 
 	public CfJdbcUrlCreator(List<CfService> cfServices) {
-		List<JdbcUrlCreator> jdbcUrlCreators = new ArrayList<>();
-		Iterable<JdbcUrlCreator> jdbcUrlCreatorIterable = ServiceLoader
-				.load(JdbcUrlCreator.class);
-		for (JdbcUrlCreator jdbcUrlCreator : jdbcUrlCreatorIterable) {
-			if (jdbcUrlCreator != null) {
-				jdbcUrlCreators.add(jdbcUrlCreator);
-			}
-		}
-		this.cfJdbcServices = new ArrayList<>();
+		List<JdbcUrlCreator> jdbcUrlCreators = getJdbcUrlCreators();
+		boolean recording = FlightRecorderSupport.isAvailable();
+		JdbcUrlResolutionEvent resolutionEvent = recording ? JdbcUrlResolutionEvent.start() : null;
+		List<CfJdbcService> cfJdbcServices = new ArrayList<>();
 		for (CfService cfService : cfServices) {
 			for (JdbcUrlCreator jdbcUrlCreator : jdbcUrlCreators) {
 				if (jdbcUrlCreator.isDatabaseService(cfService)) {
-					CfJdbcService cfJdbcService = new CfJdbcService(cfService.getMap());
-					String jdbcUrl = jdbcUrlCreator.createJdbcUrl(cfService);
+					JdbcUrlCreatorEvent creatorEvent = recording ? JdbcUrlCreatorEvent.start() : null;
+					CfJdbcService cfJdbcService = new CfJdbcService(copyServiceData(cfService));
+					String jdbcUrl = jdbcUrlCreator.createJdbcUrl(cfJdbcService);
 					cfJdbcService.getCredentials().getDerivedCredentials().put(
 							"driver-class-name", jdbcUrlCreator.getDriverClassName());
 					cfJdbcService.getCredentials().getDerivedCredentials().put("jdbcUrl",
 							jdbcUrl);
-					this.cfJdbcServices.add(cfJdbcService);
+					cfJdbcServices.add(cfJdbcService);
+					this.cfJdbcServicesByService.computeIfAbsent(cfService, k -> {
+						this.databaseServices.add(cfService);
+						return new ArrayList<>(1);
+					}).add(cfJdbcService);
+					if (creatorEvent != null) {
+						creatorEvent.end(jdbcUrlCreator, cfService.getName());
+					}
+				}
+			}
+		}
+		this.cfJdbcServices = Collections.unmodifiableList(cfJdbcServices);
+		if (resolutionEvent != null) {
+			resolutionEvent.end(cfServices.size(), jdbcUrlCreators.size(), this.cfJdbcServices.size());
+		}
+	}
+
+	/**
+	 * Return the {@link JdbcUrlCreator}s found with {@link ServiceLoader}, loaded once for
+	 * the thread context class loader.
+	 */
+	static List<JdbcUrlCreator> getJdbcUrlCreators() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		JdbcUrlCreators creators = jdbcUrlCreators;
+		if (creators == null || creators.classLoader.get() != classLoader) {
+			List<JdbcUrlCreator> loaded = new ArrayList<>();
+			for (JdbcUrlCreator jdbcUrlCreator : ServiceLoader.load(JdbcUrlCreator.class, classLoader)) {
+				if (jdbcUrlCreator != null) {
+					loaded.add(jdbcUrlCreator);
 				}
 			}
+			creators = new JdbcUrlCreators(classLoader, Collections.unmodifiableList(loaded));
+			jdbcUrlCreators = creators;
 		}
+		return creators.creators;
 	}
 
+	/**
+	 * Copy the service entry and its credentials, so that creators that adjust the
+	 * credentials of a JDBC service leave the bound {@link CfService} untouched.
+	 */
+	private static Map<String, Object> copyServiceData(CfService cfService) {
+		Map<String, Object> serviceData = new LinkedHashMap<>(cfService.getMap());
+		if (serviceData.get("credentials") != null) {
+			serviceData.put("credentials", new LinkedHashMap<>(cfService.getCredentials().getMap()));
+		}
+		return serviceData;
+	}
+
+	/**
+	 * Return the JDBC services, as an unmodifiable list.
+	 */
 	public List<CfJdbcService> findJdbcServices() {
 		return this.cfJdbcServices;
 	}
 
 	public CfJdbcService findJdbcServiceByName(String... spec) {
+		return findJdbcServiceByName(this::findDatabaseServicesByName, spec);
+	}
+
+	/**
+	 * Find the JDBC service with a name matching the spec, with the same result as
+	 * {@link #findJdbcServiceByName(String...)}, but looking up the services by name with
+	 * the index of the given environment, which must hold the services this instance was
+	 * created from.
+	 */
+	CfJdbcService findJdbcServiceByName(CfEnv cfEnv, String... spec) {
+		return findJdbcServiceByName(cfEnv::findServicesByName, spec);
+	}
+
+	private CfJdbcService findJdbcServiceByName(Function<String, List<CfService>> servicesByName,
+			String... spec) {
+		Map<CfService, Integer> matches = new IdentityHashMap<>();
+		if (spec != null) {
+			for (String regex : spec) {
+				for (CfService cfService : servicesByName.apply(regex)) {
+					matches.merge(cfService, 1, Integer::sum);
+				}
+			}
+		}
 		List<CfJdbcService> matchingJdbcServices = new ArrayList<>();
-		for (CfJdbcService cfJdbcService : this.cfJdbcServices) {
-			if (spec != null) {
-				for (String regex : spec) {
-					String name = cfJdbcService.getName();
-					if (name != null && name.length() > 0) {
-						if (name.matches(regex)) {
-							matchingJdbcServices.add(cfJdbcService);
-						}
+		for (CfService cfService : this.databaseServices) {
+			Integer count = matches.get(cfService);
+			if (count != null) {
+				// A service is matched once per matching regex
+				for (CfJdbcService cfJdbcService : this.cfJdbcServicesByService.get(cfService)) {
+					for (int i = 0; i < count; i++) {
+						matchingJdbcServices.add(cfJdbcService);
 					}
 				}
 			}
 		}
+		return findUniqueJdbcServiceByName(matchingJdbcServices, spec);
+	}
+
+	private List<CfService> findDatabaseServicesByName(String regex) {
+		Pattern pattern = Pattern.compile(regex);
+		List<CfService> cfServices = new ArrayList<>();
+		for (CfService cfService : this.databaseServices) {
+			String name = cfService.getName();
+			if (name != null && name.length() > 0 && pattern.matcher(name).matches()) {
+				cfServices.add(cfService);
+			}
+		}
+		return cfServices;
+	}
+
+	private CfJdbcService findUniqueJdbcServiceByName(List<CfJdbcService> matchingJdbcServices, String[] spec) {
 		if (matchingJdbcServices.size() == 1) {
 			return matchingJdbcServices.stream().findFirst().get();
 		}
@@ -110,4 +205,17 @@ public class CfJdbcUrlCreator {
 		}
 	}
 
+	private static final class JdbcUrlCreators {
+
+		private final WeakReference<ClassLoader> classLoader;
+
+		private final List<JdbcUrlCreator> creators;
+
+		private JdbcUrlCreators(ClassLoader classLoader, List<JdbcUrlCreator> creators) {
+			this.classLoader = new WeakReference<>(classLoader);
+			this.creators = creators;
+		}
+
+	}
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.jdbc;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opt-in driver tuning for the generated JDBC URLs, as connection properties per vendor.
+ * <p>
+ * {@link #THROUGHPUT} favours batching and statement caching, {@link #LATENCY} favours
+ * fewer round trips for single statements and {@link #NONE} leaves the driver defaults.
+ * The parameters are only suggestions: a parameter already present in the JDBC URL, for
+ * example supplied by the service broker, is never overridden. Profiles are defined for
+ * MySQL, MariaDB, PostgreSQL, SQL Server and Oracle; DB2 connections do not accept
+ * additional connection properties and are left unchanged.
+ */
+public enum JdbcPerformanceProfile {
+
+	THROUGHPUT,
+
+	LATENCY,
+
+	NONE;
+
+	private static final Map<JdbcPerformanceProfile, Map<String, Map<String, String>>> PARAMETERS = new EnumMap<>(
+			JdbcPerformanceProfile.class);
+
+	static {
+		register(THROUGHPUT, "mysql", "rewriteBatchedStatements", "true", "cachePrepStmts", "true",
+				"useServerPrepStmts", "true", "prepStmtCacheSize", "250", "prepStmtCacheSqlLimit", "2048");
+		register(THROUGHPUT, "mariadb", "useBulkStmts", "true", "cachePrepStmts", "true",
+				"useServerPrepStmts", "true", "prepStmtCacheSize", "250");
+		register(THROUGHPUT, "postgresql", "reWriteBatchedInserts", "true", "prepareThreshold", "1");
+		register(THROUGHPUT, "sqlserver", "sendStringParametersAsUnicode", "false");
+		register(THROUGHPUT, "oracle", "defaultRowPrefetch", "100");
+
+		register(LATENCY, "mysql", "cachePrepStmts", "true", "useServerPrepStmts", "true",
+				"prepStmtCacheSize", "250", "prepStmtCacheSqlLimit", "2048", "useLocalSessionState", "true");
+		register(LATENCY, "mariadb", "cachePrepStmts", "true", "useServerPrepStmts", "true",
+				"prepStmtCacheSize", "250");
+		register(LATENCY, "postgresql", "prepareThreshold", "1");
+		register(LATENCY, "sqlserver", "sendStringParametersAsUnicode", "false");
+		register(LATENCY, "oracle", "defaultRowPrefetch", "50");
+	}
+
+	private static void register(JdbcPerformanceProfile profile, String scheme, String... parameters) {
+		Map<String, String> values = new LinkedHashMap<>();
+		for (int i = 0; i < parameters.length; i += 2) {
+			values.put(parameters[i], parameters[i + 1]);
+		}
+		PARAMETERS.computeIfAbsent(profile, key -> new LinkedHashMap<>())
+				.put(AbstractJdbcUrlCreator.JDBC_PREFIX + scheme + ":", Collections.unmodifiableMap(values));
+	}
+
+	/**
+	 * Return the profile with the given name, ignoring case, or {@link #NONE} if the name is
+	 * {@code null} or empty.
+	 * @throws IllegalArgumentException if there is no profile with the given name
+	 */
+	public static JdbcPerformanceProfile of(String name) {
+		if (name == null || name.trim().isEmpty()) {
+			return NONE;
+		}
+		for (JdbcPerformanceProfile profile : values()) {
+			if (profile.name().equalsIgnoreCase(name.trim())) {
+				return profile;
+			}
+		}
+		throw new IllegalArgumentException("Unknown JDBC performance profile '" + name
+				+ "', expected one of throughput, latency or none");
+	}
+
+	/**
+	 * Return the connection properties of this profile for the vendor of the given JDBC URL,
+	 * without the ones the URL already sets.
+	 * @param jdbcUrl the JDBC URL
+	 * @return the connection properties, empty if this profile has none for the vendor
+	 */
+	public Map<String, String> getParameters(String jdbcUrl) {
+		Map<String, Map<String, String>> parametersByPrefix = PARAMETERS.get(this);
+		if (parametersByPrefix == null || jdbcUrl == null) {
+			return Collections.emptyMap();
+		}
+		for (Map.Entry<String, Map<String, String>> entry : parametersByPrefix.entrySet()) {
+			if (jdbcUrl.startsWith(entry.getKey())) {
+				Set<String> urlParameterNames = getUrlParameterNames(jdbcUrl);
+				Map<String, String> parameters = new LinkedHashMap<>();
+				entry.getValue().forEach((name, value) -> {
+					if (!urlParameterNames.contains(name.toLowerCase(Locale.ROOT))) {
+						parameters.put(name, value);
+					}
+				});
+				return parameters;
+			}
+		}
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * The lower case names of the {@code name=value} parameters of a JDBC URL, whether
+	 * separated by {@code ?} and {@code &} or by {@code ;} as for SQL Server.
+	 */
+	private static Set<String> getUrlParameterNames(String jdbcUrl) {
+		Set<String> names = new HashSet<>();
+		for (String parameter : jdbcUrl.split("[?&;]")) {
+			int separator = parameter.indexOf('=');
+			if (separator > 0) {
+				names.add(parameter.substring(0, separator).trim().toLowerCase(Locale.ROOT));
+			}
+		}
+		return names;
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.jdbc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
+/**
+ * Flight Recorder event for the creation of the JDBC URL of a database service by a
+ * {@link JdbcUrlCreator}. Only created when {@link FlightRecorderSupport#isAvailable()}.
+ */
+@Name("io.pivotal.cfenv.JdbcUrlCreator")
+@Label("JDBC URL Creation")
+@Category(FlightRecorderSupport.CATEGORY)
+@Description("Creation of the JDBC URL of a database service")
+@StackTrace(false)
+final class JdbcUrlCreatorEvent extends Event {
+
+	@Label("JDBC URL Creator")
+	Class<?> creator;
+
+	@Label("Service Name")
+	String serviceName;
+
+	static JdbcUrlCreatorEvent start() {
+		JdbcUrlCreatorEvent event = new JdbcUrlCreatorEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(JdbcUrlCreator creator, String serviceName) {
+		end();
+		if (shouldCommit()) {
+			this.creator = creator.getClass();
+			this.serviceName = serviceName;
+			commit();
+		}
+	}
+
+}
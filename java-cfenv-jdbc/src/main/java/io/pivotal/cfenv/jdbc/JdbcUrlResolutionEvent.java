@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.jdbc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import io.pivotal.cfenv.core.FlightRecorderSupport;
+
+/**
+ * Flight Recorder event for the resolution of the database services among all services
+ * by a {@link CfJdbcUrlCreator}. Only created when
+ * {@link FlightRecorderSupport#isAvailable()}.
+ */
+@Name("io.pivotal.cfenv.JdbcUrlResolution")
+@Label("JDBC URL Resolution")
+@Category(FlightRecorderSupport.CATEGORY)
+@Description("Matching of services with JDBC URL creators and creation of their JDBC URLs")
+@StackTrace(false)
+final class JdbcUrlResolutionEvent extends Event {
+
+	@Label("Services")
+	int services;
+
+	@Label("JDBC URL Creators")
+	int creators;
+
+	@Label("Database Services")
+	int databaseServices;
+
+	static JdbcUrlResolutionEvent start() {
+		JdbcUrlResolutionEvent event = new JdbcUrlResolutionEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(int services, int creators, int databaseServices) {
+		end();
+		if (shouldCommit()) {
+			this.services = services;
+			this.creators = creators;
+			this.databaseServices = databaseServices;
+			commit();
+		}
+	}
+
+}
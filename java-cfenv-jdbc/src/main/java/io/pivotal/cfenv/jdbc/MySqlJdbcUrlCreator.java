@@ -17,6 +17,7 @@ package io.pivotal.cfenv.jdbc;
 
 import io.pivotal.cfenv.core.CfCredentials;
 import io.pivotal.cfenv.core.CfService;
+import io.pivotal.cfenv.core.ClasspathCapabilities;
 import io.pivotal.cfenv.core.UriInfo;
 
 /**
@@ -54,21 +55,15 @@ public class MySqlJdbcUrlCreator extends AbstractJdbcUrlCreator {
 
 	@Override
 	public String getDriverClassName() {
-		String driverClassNameToUse;
-		try {
-			driverClassNameToUse = MARIADB_DRIVER_CLASS_NAME;
-			Class.forName(driverClassNameToUse, false, getClass().getClassLoader());
+		// Drivers may only be visible to a child of the class loader of java-cfenv
+		ClassLoader classLoader = getClass().getClassLoader();
+		if (ClasspathCapabilities.isPresent(MARIADB_DRIVER_CLASS_NAME, classLoader)) {
+			return MARIADB_DRIVER_CLASS_NAME;
 		}
-		catch (ClassNotFoundException e) {
-			try {
-				driverClassNameToUse = MYSQL_DRIVER_CLASS_NAME;
-				Class.forName(driverClassNameToUse, false, getClass().getClassLoader());
-			}
-			catch (ClassNotFoundException e2) {
-				return null;
-			}
+		if (ClasspathCapabilities.isPresent(MYSQL_DRIVER_CLASS_NAME, classLoader)) {
+			return MYSQL_DRIVER_CLASS_NAME;
 		}
-		return driverClassNameToUse;
+		return null;
 	}
 
 	@Override
@@ -15,6 +15,8 @@
  */
 package io.pivotal.cfenv.jdbc;
 
+import java.util.regex.Pattern;
+
 import org.junit.jupiter.api.Test;
 
 import io.pivotal.cfenv.core.test.CfEnvMock;
@@ -50,4 +52,44 @@ public class CfJdbcEnvTests {
 		CfJdbcService cfJdbcService = cfJdbcEnv.findJdbcService();
 		assertThat(cfJdbcService.getJdbcUrl()).isEqualTo(mysqlJdbcUrl);
 	}
+
+	@Test
+	public void testJdbcServicesAreResolvedOnce() {
+		CfEnvMock.configure().vcapServicesResource("vcap-services-jdbc.json").mock();
+		CfJdbcEnv cfJdbcEnv = new CfJdbcEnv();
+		CfJdbcService cfJdbcService = cfJdbcEnv.findJdbcService();
+
+		assertThat(cfJdbcEnv.findJdbcServices()).containsExactly(cfJdbcService);
+		assertThat(cfJdbcEnv.findJdbcServiceByName("mysql")).isSameAs(cfJdbcService);
+		assertThat(cfJdbcEnv.findJdbcServiceByName("my.*")).isSameAs(cfJdbcService);
+		assertThatThrownBy(() -> cfJdbcEnv.findJdbcServices().clear())
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void testJdbcServiceMatchedByMultipleSpecs() {
+		CfEnvMock.configure().vcapServicesResource("vcap-services-jdbc.json").mock();
+		CfJdbcEnv cfJdbcEnv = new CfJdbcEnv();
+
+		assertThat(cfJdbcEnv.findJdbcServiceByName("mysql", "blah").getJdbcUrl()).isEqualTo(mysqlJdbcUrl);
+		assertThatThrownBy(() -> cfJdbcEnv.findJdbcServiceByName("mysql", "my.*"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Matching service names are [mysql, mysql]");
+	}
+
+	@Test
+	public void testJdbcReplicaSet() {
+		CfEnvMock.configure().vcapServicesResource("vcap-services-jdbc-replicas.json").mock();
+		CfJdbcEnv cfJdbcEnv = new CfJdbcEnv();
+
+		// Only orders-replica-1 is tagged, which leaves two primaries
+		assertThat(cfJdbcEnv.findJdbcReplicaSet(null)).isNull();
+
+		CfJdbcReplicaSet replicaSet = cfJdbcEnv.findJdbcReplicaSet(Pattern.compile(".*-replica-\\d+"));
+		assertThat(replicaSet.getPrimary().getName()).isEqualTo("orders");
+		assertThat(replicaSet.getReplicas()).extracting(CfJdbcService::getName)
+				.containsExactly("orders-replica-1", "orders-replica-2");
+		assertThat(replicaSet.getReplicas().get(0).isReadReplica()).isTrue();
+		assertThat(replicaSet.getPrimary().isReadReplica()).isFalse();
+	}
 }
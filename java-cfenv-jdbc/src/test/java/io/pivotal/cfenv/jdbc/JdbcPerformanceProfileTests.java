@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class JdbcPerformanceProfileTests {
+
+	@Test
+	public void profileIsSelectedByName() {
+		assertThat(JdbcPerformanceProfile.of("Throughput")).isEqualTo(JdbcPerformanceProfile.THROUGHPUT);
+		assertThat(JdbcPerformanceProfile.of("latency")).isEqualTo(JdbcPerformanceProfile.LATENCY);
+		assertThat(JdbcPerformanceProfile.of(null)).isEqualTo(JdbcPerformanceProfile.NONE);
+		assertThat(JdbcPerformanceProfile.of("")).isEqualTo(JdbcPerformanceProfile.NONE);
+		assertThatIllegalArgumentException().isThrownBy(() -> JdbcPerformanceProfile.of("fast"));
+	}
+
+	@Test
+	public void parametersDependOnTheVendor() {
+		assertThat(JdbcPerformanceProfile.THROUGHPUT.getParameters("jdbc:mysql://10.0.4.35:3306/db"))
+				.containsEntry("rewriteBatchedStatements", "true")
+				.containsEntry("cachePrepStmts", "true");
+		assertThat(JdbcPerformanceProfile.THROUGHPUT.getParameters("jdbc:postgresql://10.0.4.35:5432/db"))
+				.containsEntry("reWriteBatchedInserts", "true");
+		assertThat(JdbcPerformanceProfile.THROUGHPUT.getParameters("jdbc:oracle:thin:user/password@10.0.4.35:1521/db"))
+				.containsEntry("defaultRowPrefetch", "100");
+		assertThat(JdbcPerformanceProfile.LATENCY.getParameters("jdbc:mysql://10.0.4.35:3306/db"))
+				.doesNotContainKey("rewriteBatchedStatements");
+		assertThat(JdbcPerformanceProfile.THROUGHPUT.getParameters("jdbc:db2://10.0.4.35:50000/db")).isEmpty();
+		assertThat(JdbcPerformanceProfile.NONE.getParameters("jdbc:mysql://10.0.4.35:3306/db")).isEmpty();
+	}
+
+	@Test
+	public void urlParametersAreNotOverridden() {
+		assertThat(JdbcPerformanceProfile.THROUGHPUT
+				.getParameters("jdbc:mysql://10.0.4.35:3306/db?user=u&cachePrepStmts=false"))
+				.containsEntry("rewriteBatchedStatements", "true")
+				.doesNotContainKey("cachePrepStmts");
+		assertThat(JdbcPerformanceProfile.THROUGHPUT
+				.getParameters("jdbc:sqlserver://10.0.4.35:1433;database=db;SENDSTRINGPARAMETERSASUNICODE=true"))
+				.isEmpty();
+	}
+
+}
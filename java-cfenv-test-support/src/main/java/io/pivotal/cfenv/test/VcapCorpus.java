@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.core.io.ClassPathResource;
+
+import io.pivotal.cfenv.core.test.CfEnvMock;
+import io.pivotal.cfenv.test.VcapGenerator.ServiceType;
+
+/**
+ * Golden corpus of the Spring properties derived from generated bindings, for regression
+ * checks of the processors.
+ * <p>
+ * Each entry pairs a {@link VcapGenerator} configuration with the properties expected from
+ * all post-processors of {@code java-cfenv-all}, stored in the format of
+ * {@link #format(Map)} under {@code io/pivotal/cfenv/test/corpus}. Entries cover every
+ * service type bound alone, all types bound together, large credentials and a large number
+ * of bindings, where only the Redis service is unique. The expected properties assume
+ * Spring Security is on the classpath, without its OAuth2 resource server and legacy OAuth
+ * modules. When a processor intentionally changes its output, update the affected files
+ * with the actual output reported by the failing check.
+ */
+public final class VcapCorpus {
+
+	private static final String LOCATION = "io/pivotal/cfenv/test/corpus/";
+
+	private static final List<Entry> ENTRIES;
+
+	static {
+		List<Entry> entries = new ArrayList<>();
+		for (ServiceType type : ServiceType.values()) {
+			entries.add(new Entry(type.name().toLowerCase().replace('_', '-'),
+					VcapGenerator.configure().types(type).seed(type.ordinal() + 1)));
+		}
+		entries.add(new Entry("all-types", VcapGenerator.configure().seed(100)));
+		entries.add(new Entry("all-types-large-credentials",
+				VcapGenerator.configure().credentialSize(16 * 1024).seed(101)));
+		entries.add(new Entry("scale-500",
+				VcapGenerator.configure().services(500).uniqueTypes(ServiceType.REDIS).seed(500)));
+		ENTRIES = Collections.unmodifiableList(entries);
+	}
+
+	private VcapCorpus() {
+	}
+
+	public static List<Entry> entries() {
+		return ENTRIES;
+	}
+
+	/**
+	 * Format properties as sorted {@code name=value} lines, the format of the corpus files.
+	 */
+	public static String format(Map<String, ?> properties) {
+		StringBuilder result = new StringBuilder();
+		new TreeMap<>(properties).forEach((name, value) -> result.append(name).append('=')
+				.append(String.valueOf(value).replace("\\", "\\\\").replace("\n", "\\n")).append('\n'));
+		return result.toString();
+	}
+
+	public static final class Entry {
+
+		private final String name;
+
+		private final VcapGenerator generator;
+
+		private Entry(String name, VcapGenerator generator) {
+			this.name = name;
+			this.generator = generator;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public String vcapServices() {
+			return this.generator.vcapServices();
+		}
+
+		public String vcapApplication() {
+			return this.generator.vcapApplication();
+		}
+
+		/**
+		 * Mock the environment with the payloads of this entry, see {@link CfEnvMock}.
+		 */
+		public CfEnvMock mock() {
+			return this.generator.mock();
+		}
+
+		/**
+		 * The expected properties, in the format of {@link VcapCorpus#format(Map)}.
+		 */
+		public String getExpectedProperties() {
+			try {
+				return new ClassPathResource(LOCATION + this.name + ".properties")
+						.getContentAsString(StandardCharsets.UTF_8);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Unable to read corpus entry " + this.name, ex);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+	}
+
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import io.pivotal.cfenv.core.test.CfEnvMock;
+
+/**
+ * Generates realistic {@code VCAP_SERVICES} and {@code VCAP_APPLICATION} payloads with any
+ * number of services, for tests and benchmarks that need more than hand-written snippets.
+ * <p>
+ * Services are assigned the configured {@link ServiceType types} in turn, so generating as
+ * many services as there are types binds exactly one of each. Names, hosts and secrets are
+ * derived from the seed only: the same configuration always produces the same payload.
+ * <pre class="code">
+ * String vcapServices = VcapGenerator.configure()
+ *		.services(500)
+ *		.credentialSize(4096)
+ *		.seed(42)
+ *		.vcapServices();
+ * </pre>
+ */
+public final class VcapGenerator {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private long seed;
+
+	private int services = -1;
+
+	private ServiceType[] types = ServiceType.values();
+
+	private ServiceType[] uniqueTypes = new ServiceType[0];
+
+	private int credentialSize;
+
+	private String applicationName = "cfenv-app";
+
+	private VcapGenerator() {
+	}
+
+	public static VcapGenerator configure() {
+		return new VcapGenerator();
+	}
+
+	/**
+	 * Seed for all generated names, hosts and secrets, 0 by default.
+	 */
+	public VcapGenerator seed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Number of services to bind, one per configured type by default.
+	 */
+	public VcapGenerator services(int services) {
+		if (services < 0) {
+			throw new IllegalArgumentException("'services' must not be negative");
+		}
+		this.services = services;
+		return this;
+	}
+
+	/**
+	 * Types to bind, in the order they are assigned to services, all types by default.
+	 */
+	public VcapGenerator types(ServiceType... types) {
+		if (types == null || types.length == 0) {
+			throw new IllegalArgumentException("'types' must not be empty");
+		}
+		this.types = types.clone();
+		return this;
+	}
+
+	/**
+	 * Types of which exactly one service is bound, as the last services. The other
+	 * services are assigned the remaining configured types in turn. None by default.
+	 */
+	public VcapGenerator uniqueTypes(ServiceType... uniqueTypes) {
+		this.uniqueTypes = uniqueTypes.clone();
+		return this;
+	}
+
+	/**
+	 * Approximate number of characters of certificate material added to the credentials of
+	 * each service, none by default. CredHub credentials are never padded since all of them
+	 * are mapped to properties.
+	 */
+	public VcapGenerator credentialSize(int credentialSize) {
+		if (credentialSize < 0) {
+			throw new IllegalArgumentException("'credentialSize' must not be negative");
+		}
+		this.credentialSize = credentialSize;
+		return this;
+	}
+
+	public VcapGenerator applicationName(String applicationName) {
+		this.applicationName = applicationName;
+		return this;
+	}
+
+	public String vcapServices() {
+		Random random = new Random(this.seed);
+		int count = (this.services >= 0) ? this.services : this.types.length;
+		List<ServiceType> unique = Arrays.asList(this.uniqueTypes);
+		ServiceType[] types = Arrays.stream(this.types).filter(type -> !unique.contains(type))
+				.toArray(ServiceType[]::new);
+		int shared = count - unique.size();
+		if (shared < 0 || (shared > 0 && types.length == 0)) {
+			throw new IllegalArgumentException("Cannot bind " + count + " services with unique types " + unique);
+		}
+		Map<ServiceType, Integer> occurrences = new EnumMap<>(ServiceType.class);
+		Map<String, List<Object>> servicesByLabel = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			ServiceType type = (i < shared) ? types[i % types.length] : unique.get(i - shared);
+			int occurrence = occurrences.merge(type, 1, Integer::sum) - 1;
+			Map<String, Object> service = service(type, type.prefix + "-" + i, occurrence, random);
+			servicesByLabel.computeIfAbsent(type.label, k -> new ArrayList<>()).add(service);
+		}
+		return toJson(servicesByLabel);
+	}
+
+	public String vcapApplication() {
+		Random random = new Random(~this.seed);
+		String uri = this.applicationName + ".apps.example.com";
+		String version = uuid(random);
+		Map<String, Object> application = new LinkedHashMap<>();
+		application.put("application_id", uuid(random));
+		application.put("application_name", this.applicationName);
+		application.put("application_uris", List.of(uri));
+		application.put("application_version", version);
+		application.put("cf_api", "https://api.sys.example.com");
+		application.put("limits", map("disk", 1024, "fds", 16384, "mem", 1024));
+		application.put("name", this.applicationName);
+		application.put("organization_id", uuid(random));
+		application.put("organization_name", "cfenv-org");
+		application.put("process_id", application.get("application_id"));
+		application.put("process_type", "web");
+		application.put("space_id", uuid(random));
+		application.put("space_name", "cfenv-space");
+		application.put("uris", List.of(uri));
+		application.put("users", null);
+		application.put("version", version);
+		return toJson(application);
+	}
+
+	/**
+	 * Mock the environment with the generated payloads, see {@link CfEnvMock}.
+	 */
+	public CfEnvMock mock() {
+		return CfEnvMock.configure()
+				.vcapServices(vcapServices())
+				.vcapApplication(vcapApplication())
+				.mock();
+	}
+
+	private Map<String, Object> service(ServiceType type, String name, int occurrence, Random random) {
+		String instanceGuid = uuid(random);
+		String host = "q-s0." + type.prefix + ".service-instance-" + instanceGuid + ".bosh";
+		String username = hex(random, 16);
+		String password = hex(random, 32);
+		Map<String, Object> credentials = new LinkedHashMap<>();
+		switch (type) {
+			case MYSQL -> {
+				credentials.put("hostname", host);
+				credentials.put("port", 3306);
+				credentials.put("name", "service_instance_db");
+				credentials.put("username", username);
+				credentials.put("password", password);
+				credentials.put("uri", "mysql://" + username + ":" + password + "@" + host
+						+ ":3306/service_instance_db?reconnect=true");
+				credentials.put("jdbcUrl", "jdbc:mysql://" + host + ":3306/service_instance_db?user=" + username
+						+ "&password=" + password + "&useSSL=false");
+			}
+			case POSTGRES -> {
+				credentials.put("db", "postgres_" + occurrence);
+				credentials.put("hosts", List.of(host));
+				credentials.put("port", 5432);
+				credentials.put("user", username);
+				credentials.put("password", password);
+				credentials.put("uri", "postgresql://" + username + ":" + password + "@" + host
+						+ ":5432/postgres_" + occurrence);
+			}
+			case SQLSERVER -> {
+				String database = "csb-db-" + hex(random, 8);
+				credentials.put("hostname", host);
+				credentials.put("port", 1433);
+				credentials.put("name", database);
+				credentials.put("username", username);
+				credentials.put("password", password);
+				credentials.put("uri", "sqlserver://" + username + ":" + password + "@" + host + ":1433/" + database);
+				credentials.put("jdbcUrl", "jdbc:sqlserver://" + host + ":1433;database=" + database
+						+ ";user=" + username + ";password=" + password + ";encrypt=true;loginTimeout=30");
+			}
+			case ORACLE -> {
+				credentials.put("hostname", host);
+				credentials.put("port", 1521);
+				credentials.put("name", "ORCLPDB" + occurrence);
+				credentials.put("username", username);
+				credentials.put("password", password);
+				credentials.put("uri", "oracle://" + username + ":" + password + "@" + host + ":1521/ORCLPDB" + occurrence);
+			}
+			case DB2 -> {
+				credentials.put("hostname", host);
+				credentials.put("port", 50000);
+				credentials.put("db", "BLUDB");
+				credentials.put("username", username);
+				credentials.put("password", password);
+				credentials.put("uri", "db2://" + username + ":" + password + "@" + host + ":50000/BLUDB");
+			}
+			case REDIS -> {
+				credentials.put("host", host);
+				credentials.put("port", 6379);
+				credentials.put("password", password);
+			}
+			case RABBITMQ -> {
+				String vhost = instanceGuid;
+				String uri = "amqp://" + username + ":" + password + "@" + host + "/" + vhost;
+				credentials.put("dashboard_url", "https://rmq-" + instanceGuid + ".sys.example.com");
+				credentials.put("hostname", host);
+				credentials.put("hostnames", List.of(host));
+				credentials.put("http_api_uri", "https://" + username + ":" + password + "@rmq-" + instanceGuid
+						+ ".sys.example.com/api/");
+				credentials.put("password", password);
+				credentials.put("protocols", map("amqp", map("host", host, "password", password, "port", 5672,
+						"ssl", false, "uri", uri, "username", username, "vhost", vhost)));
+				credentials.put("ssl", false);
+				credentials.put("uri", uri);
+				credentials.put("uris", List.of(uri));
+				credentials.put("username", username);
+				credentials.put("vhost", vhost);
+			}
+			case MONGODB -> {
+				List<String> servers = List.of(host + ":28000", host.replace("q-s0", "q-s1") + ":28000",
+						host.replace("q-s0", "q-s2") + ":28000");
+				credentials.put("database", "default");
+				credentials.put("password", password);
+				credentials.put("servers", servers);
+				credentials.put("uri", "mongodb://" + username + ":" + password + "@" + String.join(",", servers)
+						+ "/default?authSource=admin");
+				credentials.put("username", username);
+			}
+			case CASSANDRA -> {
+				credentials.put("cqlsh_port", 9042);
+				credentials.put("keyspace_name", "ks_" + hex(random, 8));
+				credentials.put("node_ips", List.of(ip(random), ip(random), ip(random)));
+				credentials.put("password", password);
+				credentials.put("thrift_port", 9160);
+				credentials.put("username", username);
+			}
+			case CREDHUB -> {
+				credentials.put("secrets." + name + ".api-key", hex(random, 32));
+				credentials.put("secrets." + name + ".password", password);
+			}
+			case VAULT -> {
+				credentials.put("address", "https://vault.service.example.com:8200/");
+				credentials.put("auth", map("accessor", uuid(random), "token", "hvs." + hex(random, 24)));
+				credentials.put("backends", map("generic", List.of("cf/" + instanceGuid + "/secret"),
+						"transit", List.of("cf/" + instanceGuid + "/transit")));
+				credentials.put("backends_shared", map("organization", "cf/" + uuid(random) + "/secret",
+						"space", "cf/" + uuid(random) + "/secret"));
+			}
+			case GENAI_CHAT, GENAI_EMBEDDING -> {
+				String model = (type == ServiceType.GENAI_CHAT) ? "llama3.1" : "nomic-embed-text";
+				String apiBase = "https://genai-proxy.sys.example.com/" + instanceGuid + "/openai";
+				String apiKey = hex(random, 64);
+				credentials.put("api_base", apiBase);
+				credentials.put("api_key", apiKey);
+				credentials.put("endpoint", map("api_base", apiBase, "api_key", apiKey,
+						"config_url", apiBase.replace("/openai", "/config/v1/endpoint"), "name", name));
+				credentials.put("model_aliases", Collections.emptyList());
+				credentials.put("model_capabilities",
+						(type == ServiceType.GENAI_CHAT) ? List.of("chat", "tools") : List.of("embedding"));
+				credentials.put("model_name", model);
+				credentials.put("wire_format", "openai");
+			}
+			case SSO -> {
+				credentials.put("auth_domain", "https://" + type.plan + ".login.sys.example.com");
+				credentials.put("client_id", uuid(random));
+				credentials.put("client_secret", uuid(random));
+				credentials.put("grant_types", List.of("authorization_code", "client_credentials"));
+			}
+			case CONFIG_SERVER, SERVICE_REGISTRY -> {
+				credentials.put("access_token_uri", "https://p-spring-cloud-services.uaa.sys.example.com/oauth/token");
+				credentials.put("client_id", type.prefix + "-" + uuid(random));
+				credentials.put("client_secret", hex(random, 12));
+				credentials.put("uri", "https://" + type.prefix + "-" + instanceGuid + ".apps.example.com");
+			}
+		}
+		if (this.credentialSize > 0 && type != ServiceType.CREDHUB) {
+			credentials.put("tls", map("cert", map("ca", certificate(random, this.credentialSize))));
+		}
+
+		Map<String, Object> service = new LinkedHashMap<>();
+		service.put("binding_guid", uuid(random));
+		service.put("binding_name", null);
+		service.put("credentials", credentials);
+		service.put("instance_guid", instanceGuid);
+		service.put("instance_name", name);
+		service.put("label", type.label);
+		service.put("name", name);
+		service.put("plan", type.plan);
+		service.put("provider", null);
+		service.put("syslog_drain_url", null);
+		service.put("tags", type.tags);
+		service.put("volume_mounts", Collections.emptyList());
+		return service;
+	}
+
+	private static String certificate(Random random, int size) {
+		StringBuilder pem = new StringBuilder("-----BEGIN CERTIFICATE-----\n");
+		byte[] line = new byte[48];
+		while (pem.length() < size) {
+			random.nextBytes(line);
+			pem.append(Base64.getEncoder().encodeToString(line)).append('\n');
+		}
+		return pem.append("-----END CERTIFICATE-----\n").toString();
+	}
+
+	private static String uuid(Random random) {
+		long mostSigBits = (random.nextLong() & ~0xf000L) | 0x4000L;
+		long leastSigBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+		return new UUID(mostSigBits, leastSigBits).toString();
+	}
+
+	private static String hex(Random random, int length) {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = HEX[random.nextInt(16)];
+		}
+		return new String(chars);
+	}
+
+	private static String ip(Random random) {
+		return "10.0." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+	}
+
+	private static Map<String, Object> map(Object... keysAndValues) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+
+	private static String toJson(Object value) {
+		StringBuilder json = new StringBuilder();
+		appendJson(json, value);
+		return json.toString();
+	}
+
+	private static void appendJson(StringBuilder json, Object value) {
+		if (value instanceof Map<?, ?> map) {
+			json.append('{');
+			String separator = "";
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				json.append(separator);
+				appendJson(json, entry.getKey());
+				json.append(':');
+				appendJson(json, entry.getValue());
+				separator = ",";
+			}
+			json.append('}');
+		}
+		else if (value instanceof List<?> list) {
+			json.append('[');
+			String separator = "";
+			for (Object element : list) {
+				json.append(separator);
+				appendJson(json, element);
+				separator = ",";
+			}
+			json.append(']');
+		}
+		else if (value instanceof String string) {
+			json.append('"');
+			for (int i = 0; i < string.length(); i++) {
+				char c = string.charAt(i);
+				switch (c) {
+					case '"' -> json.append("\\\"");
+					case '\\' -> json.append("\\\\");
+					case '\n' -> json.append("\\n");
+					default -> json.append(c);
+				}
+			}
+			json.append('"');
+		}
+		else {
+			json.append(value);
+		}
+	}
+
+	/**
+	 * The kinds of services the generator binds, shaped after the bindings of the
+	 * corresponding Cloud Foundry tiles and brokers.
+	 */
+	public enum ServiceType {
+
+		MYSQL("mysql", "p.mysql", "db-small", "mysql"),
+
+		POSTGRES("postgres", "postgres", "on-demand-postgres-db", "postgres", "postgresql", "relational"),
+
+		SQLSERVER("sqlserver", "csb-azure-mssql-db", "small-v2", "azure", "mssql", "sqlserver"),
+
+		ORACLE("oracle", "oracle-database", "standard", "oracle", "relational"),
+
+		DB2("db2", "db2", "lite", "db2", "sqldb"),
+
+		REDIS("redis", "p.redis", "on-demand-cache", "redis", "pivotal", "on-demand"),
+
+		RABBITMQ("rabbitmq", "p.rabbitmq", "single-node", "rabbitmq"),
+
+		MONGODB("mongodb", "mongodb-odb", "replica_set", "mongodb"),
+
+		CASSANDRA("cassandra", "cassandra", "multi-node", "cassandra"),
+
+		CREDHUB("credhub", "credhub", "default", "credhub"),
+
+		VAULT("vault", "hashicorp-vault", "shared"),
+
+		GENAI_CHAT("genai-chat", "genai", "llama3.1", "genai", "llm"),
+
+		GENAI_EMBEDDING("genai-embedding", "genai", "nomic-embed-text", "genai", "llm"),
+
+		SSO("sso", "p-identity", "uaa"),
+
+		CONFIG_SERVER("config-server", "p.config-server", "standard", "configuration", "spring-cloud"),
+
+		SERVICE_REGISTRY("service-registry", "p.service-registry", "standard", "eureka", "discovery", "registry",
+				"spring-cloud");
+
+		private final String prefix;
+
+		private final String label;
+
+		private final String plan;
+
+		private final List<String> tags;
+
+		ServiceType(String prefix, String label, String plan, String... tags) {
+			this.prefix = prefix;
+			this.label = label;
+			this.plan = plan;
+			this.tags = Collections.unmodifiableList(Arrays.asList(tags));
+		}
+
+		public String getLabel() {
+			return this.label;
+		}
+
+	}
+
+}
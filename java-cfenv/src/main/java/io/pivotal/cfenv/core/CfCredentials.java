@@ -15,11 +15,13 @@
  */
 package io.pivotal.cfenv.core;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Access service credentials.
@@ -28,24 +30,46 @@ import java.util.Map;
  */
 public class CfCredentials {
 
+	private static final String[] URI_KEYS = { "uri", "url" };
+
+	private static final ConcurrentMap<String, List<String>> SCHEME_URI_KEYS = new ConcurrentHashMap<>();
+
 	private final Map<String, Object> credentialsData;
 
-	private UriInfo uriInfo;
+	private volatile UriInfo uriInfo;
+
+	private volatile SchemeUriInfo schemeUriInfos;
 
-	private final Map<String, String> derivedCredentials = new HashMap<>();
+	private final Map<String, String> derivedCredentials;
 
 	public CfCredentials(Map<String, Object> credentialsData) {
+		this(credentialsData, new HashMap<>());
+	}
+
+	CfCredentials(Map<String, Object> credentialsData, Map<String, String> derivedCredentials) {
 		this.credentialsData = credentialsData;
+		this.derivedCredentials = derivedCredentials;
 	}
 
-	private synchronized UriInfo createOrGetUriInfo() {
-		if (uriInfo == null) {
-			if (credentialsData.containsKey("uri")
-					|| credentialsData.containsKey("url")) {
-				uriInfo = new UriInfo(getString("uri", "url"));
-			}
+	/**
+	 * Return the keys of the uri field that begin with the given uri scheme, suffixed
+	 * with 'Uri', 'uri', 'Url' and 'url'.
+	 * @param uriScheme the uri scheme
+	 * @return an unmodifiable list of the keys
+	 */
+	public static List<String> getUriKeys(String uriScheme) {
+		if (uriScheme == null) {
+			return createUriKeys(null);
 		}
-		return uriInfo;
+		return SCHEME_URI_KEYS.computeIfAbsent(uriScheme, CfCredentials::createUriKeys);
+	}
+
+	private static List<String> createUriKeys(String uriScheme) {
+		return List.of(uriScheme + "Uri", uriScheme + "uri", uriScheme + "Url", uriScheme + "url");
+	}
+
+	private UriInfo createOrGetUriInfo() {
+		return findUriInfo();
 	}
 
 	public Map<String, Object> getMap() {
@@ -129,15 +153,31 @@ public class CfCredentials {
 	 * @return the value of the uri field
 	 */
 	public String getUri(String... uriSchemes) {
-		List<String> keys = new ArrayList<>();
-		keys.addAll(Arrays.asList("uri", "url"));
-		for (String uriScheme : uriSchemes) {
-			keys.add(uriScheme + "Uri");
-			keys.add(uriScheme + "uri");
-			keys.add(uriScheme + "Url");
-			keys.add(uriScheme + "url");
+		String uri = getString(URI_KEYS);
+		for (int i = 0; uri == null && i < uriSchemes.length; i++) {
+			uri = getFirstString(getUriKeys(uriSchemes[i]));
+		}
+		return uri;
+	}
+
+	/**
+	 * Return UriInfo derived from the URI field, as found by {@link #getUri(String...)}.
+	 * The UriInfo is created once for a given URI.
+	 * @param uriSchemes optional list of uri scheme names to use as a prefix for an
+	 * expanded search of the uri field
+	 * @return the UriInfo object, null if there is no uri field
+	 */
+	public UriInfo findUriInfo(String... uriSchemes) {
+		String uri = getUri(uriSchemes);
+		if (uri == null) {
+			return null;
+		}
+		UriInfo uriInfo = this.uriInfo;
+		if (uriInfo == null || !uriInfo.getUriString().equals(uri)) {
+			uriInfo = new UriInfo(uri);
+			this.uriInfo = uriInfo;
 		}
-		return getString(keys.toArray(new String[keys.size()]));
+		return uriInfo;
 	}
 
 	/**
@@ -149,29 +189,109 @@ public class CfCredentials {
 	}
 
 	/**
-	 * Return UriInfo derived from URI field
+	 * Return UriInfo derived from URI field, or from the host, port, username, password
+	 * and name fields if there is none. The UriInfo is created once for a given uri
+	 * scheme and the values it is derived from.
 	 * @param uriScheme a uri scheme name to use as a prefix to search of the uri field
 	 * @return the UriInfo object
 	 */
 	public UriInfo getUriInfo(String uriScheme) {
 		String uri = getUri(uriScheme);
-		UriInfo uriInfo;
-		if (uri == null) {
-			String hostname = getHost();
-			String port = getPort();
-			String username = getUsername();
-			String password = getPassword();
-			String databaseName = getName();
-			uriInfo = new UriInfo(uriScheme, hostname, Integer.parseInt(port), username,
-					password, databaseName);
-		} else {
-			//	in the case the CF instance returned a URI starting with jdbc://, we need to remove it
-			uri = uri.startsWith("jdbc:") ? uri.split("jdbc:")[1] : uri;
-			uriInfo = new UriInfo(uri);
+		List<String> source = (uri != null) ? Collections.singletonList(uri)
+				: Arrays.asList(getHost(), getPort(), getUsername(), getPassword(), getName());
+		for (SchemeUriInfo cached = this.schemeUriInfos; cached != null; cached = cached.next) {
+			if (cached.uriScheme.equals(uriScheme) && cached.source.equals(source)) {
+				return cached.uriInfo;
+			}
+		}
+		UriInfo uriInfo = createUriInfo(uriScheme, uri, source);
+		if (uriScheme != null) {
+			// Entries added concurrently may be lost, and created again when next used
+			this.schemeUriInfos = new SchemeUriInfo(uriScheme, source, uriInfo,
+					SchemeUriInfo.without(this.schemeUriInfos, uriScheme));
 		}
 		return uriInfo;
 	}
 
+	private static UriInfo createUriInfo(String uriScheme, String uri, List<String> fields) {
+		if (uri == null) {
+			return new UriInfo(uriScheme, fields.get(0), Integer.parseInt(fields.get(1)), fields.get(2),
+					fields.get(3), fields.get(4));
+		}
+		//	in the case the CF instance returned a URI starting with jdbc://, we need to remove it
+		return new UriInfo(uri.startsWith("jdbc:") ? uri.split("jdbc:")[1] : uri);
+	}
+
+	/**
+	 * Return the list under the given key in the credential map.
+	 * @param key the key of the list
+	 * @return the list, null if not found or not a list
+	 */
+	@SuppressWarnings("unchecked")
+	public List<String> getStringList(String key) {
+		Object value = (this.credentialsData != null) ? this.credentialsData.get(key) : null;
+		return (value instanceof List) ? (List<String>) value : null;
+	}
+
+	/**
+	 * Return the integer under the first of the given keys found in the credential map,
+	 * stored as a JSON number or as a string holding one.
+	 * @param keys the keys to look under, in order
+	 * @return the integer, null if not found or not an integer
+	 */
+	public Integer getInteger(String... keys) {
+		Object value = getValue(keys);
+		if (value instanceof Integer integer) {
+			return integer;
+		}
+		if (value instanceof Long number) {
+			return (number == number.intValue()) ? number.intValue() : null;
+		}
+		if (value instanceof String string) {
+			try {
+				return Integer.valueOf(string.trim());
+			}
+			catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the boolean under the first of the given keys found in the credential map,
+	 * stored as a JSON boolean or as the string {@code true} or {@code false}, ignoring
+	 * case.
+	 * @param keys the keys to look under, in order
+	 * @return the boolean, null if not found or not a boolean
+	 */
+	public Boolean getBoolean(String... keys) {
+		Object value = getValue(keys);
+		if (value instanceof Boolean bool) {
+			return bool;
+		}
+		if (value instanceof String string) {
+			if ("true".equalsIgnoreCase(string.trim())) {
+				return Boolean.TRUE;
+			}
+			if ("false".equalsIgnoreCase(string.trim())) {
+				return Boolean.FALSE;
+			}
+		}
+		return null;
+	}
+
+	private Object getValue(String... keys) {
+		if (this.credentialsData != null) {
+			for (String key : keys) {
+				if (this.credentialsData.containsKey(key)) {
+					return this.credentialsData.get(key);
+				}
+			}
+		}
+		return null;
+	}
+
 	public String getString(String... keys) {
 		if (this.credentialsData != null) {
 			for (String key : keys) {
@@ -183,4 +303,49 @@ public class CfCredentials {
 		return null;
 	}
 
+	private String getFirstString(List<String> keys) {
+		if (this.credentialsData != null) {
+			for (String key : keys) {
+				if (this.credentialsData.containsKey(key)) {
+					return this.credentialsData.get(key).toString();
+				}
+			}
+		}
+		return null;
+	}
+
+	private static final class SchemeUriInfo {
+
+		private final String uriScheme;
+
+		private final List<String> source;
+
+		private final UriInfo uriInfo;
+
+		private final SchemeUriInfo next;
+
+		private SchemeUriInfo(String uriScheme, List<String> source, UriInfo uriInfo, SchemeUriInfo next) {
+			this.uriScheme = uriScheme;
+			this.source = source;
+			this.uriInfo = uriInfo;
+			this.next = next;
+		}
+
+		/**
+		 * Return the entries of the given list other than the one for the uri scheme.
+		 */
+		private static SchemeUriInfo without(SchemeUriInfo entries, String uriScheme) {
+			if (entries == null) {
+				return null;
+			}
+			SchemeUriInfo next = without(entries.next, uriScheme);
+			if (entries.uriScheme.equals(uriScheme)) {
+				return next;
+			}
+			return (next == entries.next) ? entries
+					: new SchemeUriInfo(entries.uriScheme, entries.source, entries.uriInfo, next);
+		}
+
+	}
+
 }
@@ -15,13 +15,16 @@
  */
 package io.pivotal.cfenv.core;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Provides access to Cloud Foundry environment variables.
@@ -32,23 +35,151 @@ public class CfEnv {
 	private static final String VCAP_APPLICATION = "VCAP_APPLICATION";
 	private static final String VCAP_SERVICES = "VCAP_SERVICES";
 
+	/**
+	 * Environment variable holding the path of a file with the VCAP_SERVICES document, set
+	 * by Cloud Foundry instead of VCAP_SERVICES when file-based service bindings are
+	 * enabled.
+	 */
+	public static final String VCAP_SERVICES_FILE_PATH = "VCAP_SERVICES_FILE_PATH";
+
+	/**
+	 * System property that enables {@link #CfEnv(String, String, boolean) lazy
+	 * credentials} for the default constructor.
+	 */
+	public static final String LAZY_CREDENTIALS_PROPERTY = "cfenv.lazy-credentials";
+
+	/**
+	 * System property that makes the default constructor store the parsed environment in
+	 * compact, unmodifiable maps and lists, with keys interned and repeated string values
+	 * stored once. This lowers the memory held by an application with many bindings, but
+	 * the maps of its services can then no longer be modified.
+	 */
+	public static final String COMPACT_MODEL_PROPERTY = "cfenv.compact-model";
+
+	/**
+	 * Depth of the service objects in VCAP_SERVICES: root object, label array, service.
+	 */
+	private static final int SERVICE_DEPTH = 3;
+
 	private final List<CfService> cfServices = new ArrayList<>();
 
 	private CfApplication cfApplication;
 
+	private volatile CfServiceIndex serviceIndex;
+
+	/**
+	 * Create an instance from the VCAP_APPLICATION and VCAP_SERVICES environment
+	 * variables. If {@value #VCAP_SERVICES_FILE_PATH} is set, the services are read from
+	 * that file instead of VCAP_SERVICES. If neither is set, the services are read from
+	 * the Kubernetes service bindings under
+	 * {@value KubernetesBindingSource#SERVICE_BINDING_ROOT}, if that is set.
+	 */
 	public CfEnv() {
-		this(System.getenv(VCAP_APPLICATION), System.getenv(VCAP_SERVICES));
+		this(System.getenv(VCAP_APPLICATION), readVcapServices(),
+				Boolean.getBoolean(LAZY_CREDENTIALS_PROPERTY), Boolean.getBoolean(COMPACT_MODEL_PROPERTY));
+		if (System.getenv(VCAP_SERVICES) == null && System.getenv(VCAP_SERVICES_FILE_PATH) == null) {
+			KubernetesBindingSource bindingSource = KubernetesBindingSource.fromEnvironment();
+			if (bindingSource != null) {
+				this.cfServices.addAll(bindingSource.readServices());
+			}
+		}
 	}
 
 	public CfEnv(String vcapApplicationJson, String vcapServicesJson) {
-		parseVcapServices(vcapServicesJson);
-		parseVcapApplication(vcapApplicationJson);
+		this(vcapApplicationJson, vcapServicesJson, false);
+	}
+
+	/**
+	 * Create an instance from the given JSON documents.
+	 * <p>
+	 * With {@code lazyCredentials} enabled, the {@code credentials} object of each service
+	 * is only validated while parsing and decoded the first time
+	 * {@link CfService#getCredentials()} or {@link CfService#getMap()} is called, so that
+	 * the cost of parsing grows with the bindings that are used rather than with all
+	 * bindings that exist.
+	 * @param vcapApplicationJson the VCAP_APPLICATION document
+	 * @param vcapServicesJson the VCAP_SERVICES document
+	 * @param lazyCredentials whether to defer decoding of service credentials
+	 */
+	public CfEnv(String vcapApplicationJson, String vcapServicesJson, boolean lazyCredentials) {
+		this(vcapApplicationJson, vcapServicesJson, lazyCredentials, false);
+	}
+
+	CfEnv(String vcapApplicationJson, CharSequence vcapServicesJson, boolean lazyCredentials) {
+		this(vcapApplicationJson, vcapServicesJson, lazyCredentials, false);
+	}
+
+	CfEnv(String vcapApplicationJson, CharSequence vcapServicesJson, boolean lazyCredentials,
+			boolean compact) {
+		VcapParseEvent event = FlightRecorderSupport.isAvailable() ? VcapParseEvent.start() : null;
+		CompactModel compactModel = compact ? new CompactModel() : null;
+		parseVcapServices(vcapServicesJson, lazyCredentials, compactModel);
+		parseVcapApplication(vcapApplicationJson, compactModel);
+		if (event != null) {
+			event.end(vcapServicesJson, this.cfServices.size(), lazyCredentials, compact);
+		}
 	}
 
-	private void parseVcapApplication(String vcapApplicationJson) {
+	/**
+	 * Create an instance that shares the services and application of another instance,
+	 * for example one obtained from {@link CfEnvCache}, without parsing them again.
+	 * @param cfEnv the instance to share the parsed environment of
+	 */
+	protected CfEnv(CfEnv cfEnv) {
+		this(cfEnv.cfApplication, cfEnv.cfServices);
+	}
+
+	/**
+	 * Create an instance from services that have already been read, for example by a
+	 * {@link CfEnvWatcher} that only re-reads the bindings that changed.
+	 */
+	CfEnv(CfApplication cfApplication, List<CfService> cfServices) {
+		this.cfApplication = cfApplication;
+		this.cfServices.addAll(cfServices);
+	}
+
+	private static CharSequence readVcapServices() {
+		String path = System.getenv(VCAP_SERVICES_FILE_PATH);
+		if (path != null && path.length() > 0) {
+			return readVcapServicesFile(Path.of(path));
+		}
+		return System.getenv(VCAP_SERVICES);
+	}
+
+	/**
+	 * Map a VCAP_SERVICES file into memory. The returned sequence reads the mapped bytes
+	 * directly, so the document is never copied into a {@link String}; a leading UTF-8
+	 * byte order mark is skipped. The mapping is only read while parsing: credentials
+	 * left undecoded are copied to the heap, so the file can be rewritten or truncated
+	 * afterwards, as when credentials are rotated.
+	 */
+	static CharSequence readVcapServicesFile(Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IllegalStateException("File " + path + " from " + VCAP_SERVICES_FILE_PATH
+						+ " environment variable is too large.");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (size >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+					&& buffer.get(2) == (byte) 0xBF) {
+				buffer.position(3);
+			}
+			return new Utf8CharSequence(buffer);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Could not read file " + path + " from "
+					+ VCAP_SERVICES_FILE_PATH + " environment variable.", e);
+		}
+	}
+
+	private void parseVcapApplication(String vcapApplicationJson, CompactModel compactModel) {
 		try {
 			if (vcapApplicationJson != null && vcapApplicationJson.length() > 0) {
-				Map<String, Object> applicationData = JsonIoConverter.jsonToJavaWithListsAndInts(vcapApplicationJson);
+				Map<String, Object> applicationData = parseJson(vcapApplicationJson);
+				if (compactModel != null) {
+					applicationData = compactModel.map(applicationData);
+				}
 				this.cfApplication = new CfApplication(applicationData);
 			}
 		} catch (Exception e) {
@@ -56,12 +187,16 @@ public class CfEnv {
 		}
 	}
 
-	private void parseVcapServices(String vcapServicesJson) {
+	private void parseVcapServices(CharSequence vcapServicesJson, boolean lazyCredentials,
+			CompactModel compactModel) {
 		try {
 			if (vcapServicesJson != null && vcapServicesJson.length() > 0) {
-				Map<String, List<Map<String, Object>>> rawServicesMap = JsonIoConverter.jsonToJavaWithListsAndInts(vcapServicesJson);
+				Map<String, List<Map<String, Object>>> rawServicesMap = lazyCredentials
+						? parseJsonDeferringCredentials(vcapServicesJson)
+						: parseJson(vcapServicesJson);
 				rawServicesMap.values().stream()
 						.flatMap(Collection::stream)
+						.map(serviceData -> (compactModel != null) ? compactModel.map(serviceData) : serviceData)
 						.forEach(serviceData -> cfServices.add(new CfService(serviceData)));
 			}
 		} catch (Exception e) {
@@ -69,25 +204,42 @@ public class CfEnv {
 		}
 	}
 
+	/**
+	 * Parse with the selected {@link VcapJsonParser}, falling back to json-io for input
+	 * the strict parsers reject.
+	 */
+	private static Map parseJson(CharSequence json) {
+		VcapJsonParser parser = VcapJsonParsers.get();
+		try {
+			return parser.parseObject(json);
+		}
+		catch (IllegalArgumentException e) {
+			if (parser instanceof JsonIoVcapJsonParser) {
+				throw e;
+			}
+			return JsonIoConverter.jsonToJavaWithListsAndInts(json.toString());
+		}
+	}
+
+	private static Map parseJsonDeferringCredentials(CharSequence json) {
+		try {
+			return JsonStreamParser.parseObject(json, "credentials", SERVICE_DEPTH);
+		}
+		catch (IllegalArgumentException e) {
+			return JsonIoConverter.jsonToJavaWithListsAndInts(json.toString());
+		}
+	}
+
 	public CfApplication getApp() {
 		return this.cfApplication;
 	}
 
 	public List<CfService> findAllServices() {
-		return cfServices;
+		return Collections.unmodifiableList(this.cfServices);
 	}
 
 	public List<CfService> findServicesByName(String... spec) {
-		if (spec == null || spec.length == 0) {
-			return Collections.emptyList();
-		}
-		return Arrays.stream(spec)
-				.flatMap(regex -> this.cfServices.stream().filter(cfService -> {
-					String name = cfService.getName();
-					return name != null && name.length() > 0 && name.matches(regex);
-				}))
-				.distinct()
-				.collect(Collectors.toList());
+		return getServiceIndex().findByName(spec);
 	}
 
 	public CfService findServiceByName(String... spec) {
@@ -114,16 +266,7 @@ public class CfEnv {
 	}
 
 	public List<CfService> findServicesByLabel(String... spec) {
-		if (spec == null || spec.length == 0) {
-			return Collections.emptyList();
-		}
-		return Arrays.stream(spec)
-				.flatMap(regex -> this.cfServices.stream().filter(cfService -> {
-					String label = cfService.getLabel();
-					return label != null && label.length() > 0 && label.matches(regex);
-				}))
-				.distinct()
-				.collect(Collectors.toList());
+		return getServiceIndex().findByLabel(spec);
 	}
 
 	public CfService findServiceByLabel(String... spec) {
@@ -149,15 +292,46 @@ public class CfEnv {
 	}
 
 	public List<CfService> findServicesByTag(String... spec) {
-		if (spec == null || spec.length == 0) {
-			return Collections.emptyList();
-		}
-		return Arrays.stream(spec)
-				.flatMap(regex -> cfServices.stream()
-						.filter(cfService -> cfService.getTags().stream()
-								.anyMatch(tag -> tag != null && tag.matches(regex))))
-				.distinct()
-				.collect(Collectors.toList());
+		return getServiceIndex().findByTag(spec);
+	}
+
+	private CfServiceIndex getServiceIndex() {
+		CfServiceIndex index = this.serviceIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = this.serviceIndex;
+				if (index == null) {
+					index = new CfServiceIndex(this.cfServices);
+					this.serviceIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Find the services matched by a selector, in a single pass over all services.
+	 * @param selector the selector
+	 * @return the matching services, in binding order
+	 */
+	public List<CfService> findServices(ServiceSelector selector) {
+		return selector.select(this.cfServices);
+	}
+
+	/**
+	 * Find the single service matched by a selector.
+	 * @param selector the selector
+	 * @return the matching service
+	 * @throws IllegalArgumentException if no service or more than one service matches
+	 */
+	public CfService findService(ServiceSelector selector) {
+		List<CfService> cfServices = findServices(selector);
+		if (cfServices.size() == 1) {
+			return cfServices.get(0);
+		}
+		throwExceptionIfMultipleMatches(cfServices, selector.toString(), "selector");
+		throw new IllegalArgumentException(
+				"No service matching selector [" + selector + "] was found.");
 	}
 
 	public CfCredentials findCredentialsByName(String... spec) {
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide cache of the {@link CfEnv} parsed from the environment, shared by the
+ * Spring Boot post-processors, {@link CfEnvSingleton} and other entry points so that
+ * VCAP_SERVICES is parsed once rather than once per caller.
+ * <p>
+ * The cached instance is keyed by the raw content of VCAP_APPLICATION and VCAP_SERVICES,
+ * by the identity, size and modification time of the {@value CfEnv#VCAP_SERVICES_FILE_PATH}
+ * file and of the files of each binding under the
+ * {@value KubernetesBindingSource#SERVICE_BINDING_ROOT} directory, and is parsed again only
+ * when one of these changes. Files replaced through a rename, such as the {@code ..data}
+ * links of Kubernetes volume projections, are seen as changed even when their size and
+ * modification time are the same; a file rewritten in place within the timestamp
+ * granularity of the file system is not, which is why {@link CfEnvWatcher} also
+ * {@link #clear() clears} the cache when it reloads the bindings. The environment strings
+ * are compared by their hash first, which the JVM caches on the string, so a lookup is
+ * cheap when nothing changed.
+ * <p>
+ * The cached instance is shared: callers must not modify the maps of its services.
+ */
+public final class CfEnvCache {
+
+	private static volatile Entry entry;
+
+	private CfEnvCache() {
+	}
+
+	/**
+	 * Return the {@link CfEnv} for the current environment, parsing it only if the
+	 * environment changed since the last call.
+	 * @return the shared instance
+	 */
+	public static CfEnv get() {
+		Key key = Key.current();
+		Entry current = entry;
+		if (current != null && current.key.equals(key)) {
+			return current.cfEnv;
+		}
+		synchronized (CfEnvCache.class) {
+			current = entry;
+			if (current == null || !current.key.equals(key)) {
+				current = new Entry(key, new CfEnv());
+				entry = current;
+			}
+			return current.cfEnv;
+		}
+	}
+
+	/**
+	 * Drop the cached instance, so that the next {@link #get()} parses the environment.
+	 */
+	public static void clear() {
+		entry = null;
+	}
+
+	private static final class Entry {
+
+		private final Key key;
+
+		private final CfEnv cfEnv;
+
+		Entry(Key key, CfEnv cfEnv) {
+			this.key = key;
+			this.cfEnv = cfEnv;
+		}
+
+	}
+
+	private static final class Key {
+
+		private final Object[] values;
+
+		private final int hash;
+
+		private Key(Object... values) {
+			this.values = values;
+			this.hash = Arrays.hashCode(values);
+		}
+
+		static Key current() {
+			String vcapServicesFile = System.getenv(CfEnv.VCAP_SERVICES_FILE_PATH);
+			String bindingRoot = System.getenv(KubernetesBindingSource.SERVICE_BINDING_ROOT);
+			return new Key(System.getenv("VCAP_APPLICATION"), System.getenv("VCAP_SERVICES"),
+					vcapServicesFile, fileVersion(vcapServicesFile),
+					bindingRoot, bindingsVersion(bindingRoot),
+					Boolean.getBoolean(CfEnv.LAZY_CREDENTIALS_PROPERTY),
+					Boolean.getBoolean(CfEnv.COMPACT_MODEL_PROPERTY));
+		}
+
+		private static String fileVersion(String file) {
+			return (file != null && !file.isEmpty()) ? fileVersion(Path.of(file)) : null;
+		}
+
+		/**
+		 * The versions of the files of all the bindings, in name order.
+		 */
+		private static List<String> bindingsVersion(String root) {
+			if (root == null || root.isEmpty()) {
+				return null;
+			}
+			Path rootPath = Path.of(root);
+			if (!Files.isDirectory(rootPath)) {
+				return null;
+			}
+			List<String> versions = new ArrayList<>();
+			try (DirectoryStream<Path> bindings = Files.newDirectoryStream(rootPath)) {
+				for (Path binding : bindings) {
+					if (Files.isDirectory(binding)) {
+						try (DirectoryStream<Path> files = Files.newDirectoryStream(binding,
+								path -> !path.getFileName().toString().startsWith("."))) {
+							for (Path file : files) {
+								versions.add(rootPath.relativize(file) + "=" + fileVersion(file));
+							}
+						}
+					}
+				}
+			}
+			catch (IOException e) {
+				return null;
+			}
+			Collections.sort(versions);
+			return versions;
+		}
+
+		/**
+		 * The version of a file, following links: the identity of the file, which changes
+		 * when it is replaced, and its size and modification time.
+		 */
+		private static String fileVersion(Path file) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+				return attributes.fileKey() + ":" + attributes.size() + "@"
+						+ attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+			}
+			catch (IOException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key key) || this.hash != key.hash) {
+				return false;
+			}
+			for (int i = 0; i < this.values.length; i++) {
+				// Identical environment strings compare in constant time
+				if (this.values[i] != key.values[i] && !Objects.equals(this.values[i], key.values[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+}
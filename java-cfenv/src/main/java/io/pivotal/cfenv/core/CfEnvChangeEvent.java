@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The difference between two {@link CfEnvSnapshot snapshots}, by service name.
+ * <p>
+ * A binding is changed when a service with the same name exists in both snapshots but
+ * its entry in VCAP_SERVICES, including the credentials, is different.
+ */
+public final class CfEnvChangeEvent {
+
+	private final CfEnvSnapshot previous;
+
+	private final CfEnvSnapshot current;
+
+	private final Set<String> added;
+
+	private final Set<String> removed;
+
+	private final Set<String> changed;
+
+	CfEnvChangeEvent(CfEnvSnapshot previous, CfEnvSnapshot current) {
+		this.previous = previous;
+		this.current = current;
+		Map<String, CfService> before = servicesByName(previous);
+		Map<String, CfService> after = servicesByName(current);
+		Set<String> added = new LinkedHashSet<>();
+		Set<String> changed = new LinkedHashSet<>();
+		for (Map.Entry<String, CfService> entry : after.entrySet()) {
+			CfService old = before.get(entry.getKey());
+			if (old == null) {
+				added.add(entry.getKey());
+			}
+			else if (!Objects.equals(old.getMap(), entry.getValue().getMap())) {
+				changed.add(entry.getKey());
+			}
+		}
+		Set<String> removed = new LinkedHashSet<>(before.keySet());
+		removed.removeAll(after.keySet());
+		this.added = Collections.unmodifiableSet(added);
+		this.removed = Collections.unmodifiableSet(removed);
+		this.changed = Collections.unmodifiableSet(changed);
+	}
+
+	private static Map<String, CfService> servicesByName(CfEnvSnapshot snapshot) {
+		Map<String, CfService> services = new LinkedHashMap<>();
+		if (snapshot != null) {
+			for (CfService service : snapshot.findAllServices()) {
+				services.putIfAbsent(service.getName(), service);
+			}
+		}
+		return services;
+	}
+
+	/**
+	 * The snapshot that was replaced, {@code null} for the first snapshot of a holder.
+	 */
+	public CfEnvSnapshot getPrevious() {
+		return this.previous;
+	}
+
+	public CfEnvSnapshot getCurrent() {
+		return this.current;
+	}
+
+	public Set<String> getAddedServiceNames() {
+		return this.added;
+	}
+
+	public Set<String> getRemovedServiceNames() {
+		return this.removed;
+	}
+
+	public Set<String> getChangedServiceNames() {
+		return this.changed;
+	}
+
+	/**
+	 * Whether any binding was added, removed or changed.
+	 */
+	public boolean hasServiceChanges() {
+		return !this.added.isEmpty() || !this.removed.isEmpty() || !this.changed.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "CfEnvChangeEvent{version=" + this.current.getVersion() + ", added=" + this.added
+				+ ", removed=" + this.removed + ", changed=" + this.changed + "}";
+	}
+
+}
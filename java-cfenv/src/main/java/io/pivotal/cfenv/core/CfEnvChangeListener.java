@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+/**
+ * Callback notified by a {@link CfEnvSnapshotHolder} after a new snapshot has been
+ * published.
+ *
+ * @see CfEnvSnapshotHolder#addListener(CfEnvChangeListener)
+ */
+@FunctionalInterface
+public interface CfEnvChangeListener {
+
+	/**
+	 * Handle a published change. Called on the thread that published the snapshot.
+	 * @param event the change, with the previous and the current snapshot
+	 */
+	void onChange(CfEnvChangeEvent event);
+
+}
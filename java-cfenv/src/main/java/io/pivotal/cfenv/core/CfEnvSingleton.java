@@ -16,22 +16,37 @@
 package io.pivotal.cfenv.core;
 
 /**
- * JVM singleton for cases where you want to avoid reparsing the JSON per instance of {@code CfEnv}
+ * JVM singleton for cases where you want to avoid reparsing the JSON per instance of {@code CfEnv}.
+ * The instance is created like {@link CfEnv#CfEnv()}, so services are read from the file named by
+ * {@value CfEnv#VCAP_SERVICES_FILE_PATH} when that variable is set. The instance is shared with the
+ * other users of {@link CfEnvCache}.
+ * <p>
+ * The instance is fixed once created and does not follow later changes to the bindings:
+ * callers typically keep the returned {@code CfEnv} in a field, so replacing it here would
+ * not reach them. Code that must see rotated credentials should read a
+ * {@link CfEnvSnapshotHolder} that a {@link CfEnvWatcher} keeps up to date instead.
  * @author Mark Pollack
  */
 public final class CfEnvSingleton {
 
-	private static CfEnv INSTANCE;
+	private static volatile CfEnv INSTANCE;
 
 	private CfEnvSingleton() {
 
 	}
 
-	public synchronized static CfEnv getCfEnvInstance() {
-		if (INSTANCE == null) {
-			INSTANCE = new CfEnv();
+	public static CfEnv getCfEnvInstance() {
+		CfEnv instance = INSTANCE;
+		if (instance == null) {
+			synchronized (CfEnvSingleton.class) {
+				instance = INSTANCE;
+				if (instance == null) {
+					instance = CfEnvCache.get();
+					INSTANCE = instance;
+				}
+			}
 		}
-		return INSTANCE;
+		return instance;
 	}
 
 }
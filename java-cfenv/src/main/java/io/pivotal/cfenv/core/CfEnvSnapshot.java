@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of the services and application of a {@link CfEnv}.
+ * <p>
+ * The service and application maps, the credentials and the derived credentials of a
+ * snapshot are deep, unmodifiable copies, so a snapshot can be shared between threads
+ * without synchronization. The copies are compact: maps and lists are sized to their
+ * content and repeated strings are stored once. Snapshots are published through a {@link CfEnvSnapshotHolder}.
+ *
+ * @see CfEnvSnapshotHolder
+ */
+public final class CfEnvSnapshot {
+
+	private final long version;
+
+	private final CfApplication cfApplication;
+
+	private final List<CfService> cfServices;
+
+	private final CfServiceIndex serviceIndex;
+
+	private CfEnvSnapshot(long version, CfApplication cfApplication, List<CfService> cfServices) {
+		this.version = version;
+		this.cfApplication = cfApplication;
+		this.cfServices = cfServices;
+		this.serviceIndex = new CfServiceIndex(cfServices);
+	}
+
+	/**
+	 * Create a snapshot of the given environment.
+	 * @param cfEnv the environment to copy
+	 * @param version the version of the snapshot
+	 * @return the snapshot
+	 */
+	public static CfEnvSnapshot of(CfEnv cfEnv, long version) {
+		CompactModel compactModel = new CompactModel();
+		List<CfService> services = new ArrayList<>();
+		for (CfService service : cfEnv.findAllServices()) {
+			services.add(freeze(service, compactModel));
+		}
+		CfApplication application = (cfEnv.getApp() != null)
+				? new CfApplication(compactModel.map(cfEnv.getApp().getMap())) : null;
+		return new CfEnvSnapshot(version, application, Collections.unmodifiableList(services));
+	}
+
+	private static CfService freeze(CfService service, CompactModel compactModel) {
+		CfCredentials credentials = service.getCredentials();
+		// Copied before the service map, which then shares the copy
+		Map<String, Object> credentialsData = compactModel.map(credentials.getMap());
+		Map<String, Object> serviceData = compactModel.map(service.getMap());
+		Map<String, String> derivedCredentials = credentials.getDerivedCredentials();
+		return new CfService(serviceData, new CfCredentials(credentialsData,
+				derivedCredentials.isEmpty() ? Collections.emptyMap()
+						: Collections.unmodifiableMap(new LinkedHashMap<>(derivedCredentials))));
+	}
+
+	/**
+	 * The version of this snapshot, incremented each time a
+	 * {@link CfEnvSnapshotHolder} publishes a new snapshot.
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	public CfApplication getApp() {
+		return this.cfApplication;
+	}
+
+	public List<CfService> findAllServices() {
+		return this.cfServices;
+	}
+
+	public List<CfService> findServicesByName(String... spec) {
+		return this.serviceIndex.findByName(spec);
+	}
+
+	public List<CfService> findServicesByLabel(String... spec) {
+		return this.serviceIndex.findByLabel(spec);
+	}
+
+	public List<CfService> findServicesByTag(String... spec) {
+		return this.serviceIndex.findByTag(spec);
+	}
+
+	public List<CfService> findServices(ServiceSelector selector) {
+		return selector.select(this.cfServices);
+	}
+
+}
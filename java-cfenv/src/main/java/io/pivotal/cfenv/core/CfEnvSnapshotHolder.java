@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publishes {@link CfEnvSnapshot snapshots} of the Cloud Foundry environment.
+ * <p>
+ * Readers call {@link #get()} without locking and always see a complete snapshot; a new
+ * snapshot replaces the current one with a single volatile write. Registered
+ * {@link CfEnvChangeListener listeners} are notified after each write with the services
+ * that were added, removed or changed.
+ * <p>
+ * Updates are serialized, and a listener is notified on the updating thread before the
+ * next update is published, so events arrive in version order and the previous snapshot
+ * of each event is the current snapshot of the one before. A listener must therefore not
+ * block on another thread that updates the same holder.
+ *
+ * @see CfEnvSingleton
+ */
+public class CfEnvSnapshotHolder {
+
+	private volatile CfEnvSnapshot snapshot;
+
+	private final List<CfEnvChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+	public CfEnvSnapshotHolder() {
+	}
+
+	public CfEnvSnapshotHolder(CfEnv cfEnv) {
+		this.snapshot = CfEnvSnapshot.of(cfEnv, 1);
+	}
+
+	/**
+	 * The current snapshot, {@code null} until the first {@link #update(CfEnv)}.
+	 */
+	public CfEnvSnapshot get() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Publish a snapshot of the given environment and notify the listeners.
+	 * @param cfEnv the environment to publish
+	 * @return the published snapshot
+	 */
+	public synchronized CfEnvSnapshot update(CfEnv cfEnv) {
+		CfEnvSnapshot previous = this.snapshot;
+		long version = (previous != null) ? previous.getVersion() + 1 : 1;
+		CfEnvSnapshot next = CfEnvSnapshot.of(cfEnv, version);
+		this.snapshot = next;
+		if (!this.listeners.isEmpty()) {
+			CfEnvChangeEvent event = new CfEnvChangeEvent(previous, next);
+			for (CfEnvChangeListener listener : this.listeners) {
+				listener.onChange(event);
+			}
+		}
+		return next;
+	}
+
+	public void addListener(CfEnvChangeListener listener) {
+		this.listeners.add(listener);
+	}
+
+	public void removeListener(CfEnvChangeListener listener) {
+		this.listeners.remove(listener);
+	}
+
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches file-based service bindings and publishes a new {@link CfEnvSnapshot} to a
+ * {@link CfEnvSnapshotHolder} when they change, for example when credentials are rotated.
+ * <p>
+ * Two sources are supported: the file named by {@value CfEnv#VCAP_SERVICES_FILE_PATH}, and
+ * the binding directories under {@value KubernetesBindingSource#SERVICE_BINDING_ROOT}. For
+ * the latter, only the binding directories that changed are read again. Changes are
+ * debounced: a snapshot is published once no further change has been seen for the
+ * debounce period, so a burst of writes results in a single update.
+ * <p>
+ * Failures while reading bindings are passed to the {@link #setErrorHandler error handler},
+ * which logs them as warnings by default, and leave the current snapshot in place.
+ *
+ * @see CfEnvSnapshotHolder#addListener(CfEnvChangeListener)
+ */
+public class CfEnvWatcher implements Closeable {
+
+	/**
+	 * Default quiet period after the last change before bindings are read again.
+	 */
+	public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+	private static final String VCAP_APPLICATION = "VCAP_APPLICATION";
+
+	private static final System.Logger logger = System.getLogger(CfEnvWatcher.class.getName());
+
+	private final CfEnvSnapshotHolder holder;
+
+	private final Path vcapServicesFile;
+
+	private final KubernetesBindingSource bindingSource;
+
+	private final Duration debounce;
+
+	private final CfApplication cfApplication;
+
+	private final Map<String, CfService> bindings = new TreeMap<>();
+
+	private final Map<WatchKey, String> watchedBindings = new HashMap<>();
+
+	private volatile Consumer<Exception> errorHandler = e -> logger.log(System.Logger.Level.WARNING,
+			"Could not reload service bindings", e);
+
+	private WatchService watchService;
+
+	private Thread thread;
+
+	private CfEnvWatcher(CfEnvSnapshotHolder holder, Path vcapServicesFile,
+			KubernetesBindingSource bindingSource, Duration debounce) {
+		this.holder = holder;
+		this.vcapServicesFile = vcapServicesFile;
+		this.bindingSource = bindingSource;
+		this.debounce = debounce;
+		this.cfApplication = new CfEnv(System.getenv(VCAP_APPLICATION), null).getApp();
+	}
+
+	/**
+	 * Create a watcher for a file holding the VCAP_SERVICES document.
+	 * @param vcapServicesFile the file to watch
+	 * @param holder the holder to publish snapshots to
+	 * @param debounce the quiet period after the last change
+	 * @return the watcher, not yet started
+	 */
+	public static CfEnvWatcher forVcapServicesFile(Path vcapServicesFile, CfEnvSnapshotHolder holder,
+			Duration debounce) {
+		return new CfEnvWatcher(holder, vcapServicesFile, null, debounce);
+	}
+
+	/**
+	 * Create a watcher for a directory of Kubernetes service bindings.
+	 * @param bindingRoot the directory holding one directory per binding
+	 * @param holder the holder to publish snapshots to
+	 * @param debounce the quiet period after the last change
+	 * @return the watcher, not yet started
+	 */
+	public static CfEnvWatcher forBindingRoot(Path bindingRoot, CfEnvSnapshotHolder holder,
+			Duration debounce) {
+		return new CfEnvWatcher(holder, null, new KubernetesBindingSource(bindingRoot), debounce);
+	}
+
+	/**
+	 * Create a watcher for the file-based binding source the environment points to, as
+	 * read by {@link CfEnv#CfEnv()}.
+	 * @param holder the holder to publish snapshots to
+	 * @param debounce the quiet period after the last change
+	 * @return the watcher, not yet started, or {@code null} if the bindings are not read
+	 * from files
+	 */
+	public static CfEnvWatcher fromEnvironment(CfEnvSnapshotHolder holder, Duration debounce) {
+		String file = System.getenv(CfEnv.VCAP_SERVICES_FILE_PATH);
+		if (file != null && file.length() > 0) {
+			return forVcapServicesFile(Path.of(file), holder, debounce);
+		}
+		String root = System.getenv(KubernetesBindingSource.SERVICE_BINDING_ROOT);
+		if (System.getenv("VCAP_SERVICES") == null && root != null && root.length() > 0) {
+			return forBindingRoot(Path.of(root), holder, debounce);
+		}
+		return null;
+	}
+
+	/**
+	 * Set the handler for failures to watch or read the bindings. By default they are
+	 * logged as warnings with {@link System.Logger}.
+	 * @param errorHandler the handler
+	 */
+	public void setErrorHandler(Consumer<Exception> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	public CfEnvSnapshotHolder getHolder() {
+		return this.holder;
+	}
+
+	/**
+	 * Read the bindings, publish the initial snapshot if the holder does not have one yet
+	 * and start watching for changes on a daemon thread.
+	 */
+	public synchronized void start() {
+		if (this.thread != null) {
+			return;
+		}
+		try {
+			this.watchService = (this.bindingSource != null)
+					? this.bindingSource.getRoot().getFileSystem().newWatchService()
+					: this.vcapServicesFile.getFileSystem().newWatchService();
+			if (this.bindingSource != null) {
+				register(this.bindingSource.getRoot(), null);
+				for (CfService service : this.bindingSource.readServices()) {
+					this.bindings.put(service.getName(), service);
+					register(this.bindingSource.getRoot().resolve(service.getName()), service.getName());
+				}
+			}
+			else {
+				register(this.vcapServicesFile.toAbsolutePath().getParent(), null);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not watch service bindings", e);
+		}
+		if (this.holder.get() == null) {
+			this.holder.update(createCfEnv());
+		}
+		this.thread = new Thread(this::watch, "cfenv-binding-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	private void register(Path directory, String binding) throws IOException {
+		WatchKey key = directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+		this.watchedBindings.put(key, binding);
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				Set<String> changed = new LinkedHashSet<>();
+				collect(this.watchService.take(), changed);
+				WatchKey key;
+				while ((key = this.watchService.poll(this.debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+					collect(key, changed);
+				}
+				if (!changed.isEmpty()) {
+					try {
+						reload(changed);
+					}
+					catch (RuntimeException e) {
+						this.errorHandler.accept(e);
+					}
+				}
+			}
+		}
+		catch (ClosedWatchServiceException | InterruptedException e) {
+			// Closed
+		}
+	}
+
+	/**
+	 * Record the bindings affected by the events of a key. For a VCAP_SERVICES file there
+	 * is a single binding source, recorded under the file name.
+	 */
+	private void collect(WatchKey key, Set<String> changed) {
+		String binding = this.watchedBindings.get(key);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				changed.add("");
+				continue;
+			}
+			String name = event.context().toString();
+			if (this.bindingSource == null) {
+				// Kubernetes projections swap files through hidden "..data" links
+				if (name.equals(this.vcapServicesFile.getFileName().toString()) || name.startsWith("..")) {
+					changed.add(name);
+				}
+			}
+			else if (binding != null) {
+				changed.add(binding);
+			}
+			else if (!name.startsWith(".")) {
+				changed.add(name);
+			}
+		}
+		if (!key.reset()) {
+			this.watchedBindings.remove(key);
+		}
+	}
+
+	/**
+	 * Read the given bindings again and publish the result. An empty binding name stands
+	 * for all bindings.
+	 * @param changed the names of the changed bindings
+	 */
+	synchronized void reload(Set<String> changed) {
+		if (this.bindingSource != null) {
+			Set<String> names = changed;
+			if (changed.contains("")) {
+				names = new LinkedHashSet<>(this.bindings.keySet());
+				for (CfService service : this.bindingSource.readServices()) {
+					names.add(service.getName());
+				}
+			}
+			for (String name : names) {
+				reloadBinding(name);
+			}
+		}
+		// A rewrite can leave the size and modification time the cache is keyed on alone
+		CfEnvCache.clear();
+		this.holder.update(createCfEnv());
+	}
+
+	private void reloadBinding(String name) {
+		Path directory = this.bindingSource.getRoot().resolve(name);
+		if (!Files.isDirectory(directory)) {
+			this.bindings.remove(name);
+			return;
+		}
+		if (!this.bindings.containsKey(name) && this.watchService != null) {
+			try {
+				register(directory, name);
+			}
+			catch (IOException e) {
+				this.errorHandler.accept(e);
+			}
+		}
+		this.bindings.put(name, this.bindingSource.readService(directory));
+	}
+
+	private CfEnv createCfEnv() {
+		if (this.bindingSource != null) {
+			return new CfEnv(this.cfApplication, new ArrayList<>(this.bindings.values()));
+		}
+		CfEnv cfEnv = new CfEnv(null, CfEnv.readVcapServicesFile(this.vcapServicesFile), false);
+		return new CfEnv(this.cfApplication, cfEnv.findAllServices());
+	}
+
+	/**
+	 * Stop watching. The current snapshot stays available from the holder.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.watchService != null) {
+			try {
+				this.watchService.close();
+			}
+			catch (IOException e) {
+				this.errorHandler.accept(e);
+			}
+		}
+		if (this.thread != null) {
+			this.thread.interrupt();
+		}
+	}
+
+}
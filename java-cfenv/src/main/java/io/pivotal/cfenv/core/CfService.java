@@ -16,13 +16,17 @@
 package io.pivotal.cfenv.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Contains the Map of values and type-safe accessors for properties of a single service
- * defined in VCAP_SERVICES.
+ * defined in VCAP_SERVICES. The name, label, plan and tags are read from the map once,
+ * when the service is created.
  *
  * @author Mark Pollack
  */
@@ -36,27 +40,107 @@ public class CfService {
 
 	private final Map<String, Object> serviceData;
 
-	private final CfCredentials cfCredentials;
+	private final String name;
+
+	private final String label;
+
+	private final String plan;
+
+	private final List<String> tags;
+
+	private volatile CfCredentials cfCredentials;
 
 	private final List<CfVolume> cfVolumes;
 
+	private volatile Set<String> foldedTags;
+
+	/**
+	 * Create a service from its VCAP_SERVICES entry. If the credentials were left
+	 * undecoded by the parser they are decoded on first access rather than here.
+	 * @param serviceData the service entry
+	 */
 	public CfService(Map<String, Object> serviceData) {
 		this.serviceData = serviceData;
-		this.cfCredentials = createCredentials();
-		this.cfVolumes = createVolumes();
+		this.name = findName(serviceData);
+		this.label = attribute(serviceData, "label");
+		this.plan = attribute(serviceData, "plan");
+		this.tags = findTags(serviceData);
+		if (!(serviceData.get(CREDENTIALS) instanceof JsonStreamParser.DeferredValue)) {
+			this.cfCredentials = createCredentials();
+		}
+		this.cfVolumes = serviceData.containsKey(VOLUME_MOUNTS) ? createVolumes() : Collections.emptyList();
+	}
+
+	/**
+	 * Create an immutable service from an unmodifiable copy of its entry, as done by
+	 * {@link CfEnvSnapshot}, so that it can be shared by all readers of the snapshot.
+	 * @param serviceData the unmodifiable service entry
+	 * @param cfCredentials the credentials of the service
+	 */
+	CfService(Map<String, Object> serviceData, CfCredentials cfCredentials) {
+		this.serviceData = serviceData;
+		this.name = findName(serviceData);
+		this.label = attribute(serviceData, "label");
+		this.plan = attribute(serviceData, "plan");
+		this.tags = findTags(serviceData);
+		this.cfCredentials = cfCredentials;
+		this.cfVolumes = serviceData.containsKey(VOLUME_MOUNTS) ? Collections.unmodifiableList(createVolumes())
+				: Collections.emptyList();
+	}
+
+	private static String findName(Map<String, Object> serviceData) {
+		String name = attribute(serviceData, "name");
+		if (name == null) {
+			name = attribute(serviceData, "binding_name");
+		}
+		if (name == null) {
+			name = attribute(serviceData, "instance_name");
+		}
+		return name;
+	}
+
+	private static String attribute(Map<String, Object> serviceData, String key) {
+		Object value = serviceData.get(key);
+		return (value != null) ? value.toString() : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> findTags(Map<String, Object> serviceData) {
+		if (serviceData.containsKey(TAGS)) {
+			return (List<String>) serviceData.get(TAGS);
+		}
+		return Collections.emptyList();
 	}
 
 	public CfCredentials createCredentials() {
 		Map<String, Object> credentials = new HashMap<>();
 		if (this.serviceData.containsKey(CREDENTIALS)) {
-			credentials = (Map<String, Object>) this.serviceData.get(CREDENTIALS);
+			credentials = decodeCredentials();
 		}
 		if (credentials == null) {
-			credentials = new HashMap<>();
+			credentials = (this.serviceData instanceof CompactModel.CompactMap) ? Collections.emptyMap()
+					: new HashMap<>();
 		}
 		return new CfCredentials(credentials);
 	}
 
+	private Map<String, Object> decodeCredentials() {
+		Object credentials = this.serviceData.get(CREDENTIALS);
+		if (credentials instanceof JsonStreamParser.DeferredValue deferredValue) {
+			credentials = deferredValue.parse();
+			if (this.serviceData instanceof CompactModel.CompactMap<Object> compactMap) {
+				credentials = (credentials instanceof Map<?, ?> map)
+						? new CompactModel().map((Map<String, ?>) map) : credentials;
+				compactMap.set(CREDENTIALS, credentials);
+			}
+			else {
+				// Replacing the value of an existing key keeps the map's iteration order
+				this.serviceData.put(CREDENTIALS, credentials);
+			}
+		}
+		return (Map<String, Object>) credentials;
+	}
+
 	public List<CfVolume> createVolumes() {
 		List<CfVolume> volumes = new ArrayList<>();
 		if (this.serviceData.containsKey(VOLUME_MOUNTS)) {
@@ -69,11 +153,22 @@ public class CfService {
 	}
 
 	public Map<String, Object> getMap() {
+		getCredentials();
 		return this.serviceData;
 	}
 
 	public CfCredentials getCredentials() {
-		return this.cfCredentials;
+		CfCredentials credentials = this.cfCredentials;
+		if (credentials == null) {
+			synchronized (this) {
+				credentials = this.cfCredentials;
+				if (credentials == null) {
+					credentials = createCredentials();
+					this.cfCredentials = credentials;
+				}
+			}
+		}
+		return credentials;
 	}
 
 	public List<CfVolume> getVolumes() {
@@ -81,35 +176,66 @@ public class CfService {
 	}
 
 	public List<String> getTags() {
-		List<String> tags = new ArrayList<>();
-		if (this.serviceData.containsKey(TAGS)) {
-			tags = (List<String>) this.serviceData.get(TAGS);
+		return this.tags;
+	}
+
+	/**
+	 * The tags of this service, case-folded with {@link #foldCase(String)}.
+	 */
+	Set<String> getFoldedTags() {
+		Set<String> folded = this.foldedTags;
+		if (folded == null) {
+			List<String> tags = getTags();
+			folded = (tags == null || tags.isEmpty()) ? Collections.emptySet() : new HashSet<>();
+			if (tags != null) {
+				for (String tag : tags) {
+					if (tag != null) {
+						folded.add(foldCase(tag));
+					}
+				}
+			}
+			this.foldedTags = folded;
 		}
-		return tags;
+		return folded;
+	}
+
+	/**
+	 * Fold the case of a string so that two strings are equal after folding if and only
+	 * if they are equal according to {@link String#equalsIgnoreCase(String)}.
+	 */
+	static String foldCase(String value) {
+		char[] folded = null;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			char f = Character.toLowerCase(Character.toUpperCase(c));
+			if (f != c && folded == null) {
+				folded = value.toCharArray();
+			}
+			if (folded != null) {
+				folded[i] = f;
+			}
+		}
+		return (folded != null) ? new String(folded) : value;
 	}
 
 	public String getLabel() {
-		return this.getString("label");
+		return this.label;
 	}
 
 	public String getPlan() {
-		return this.getString("plan");
+		return this.plan;
 	}
 
 	public String getName() {
-		String name = this.getString("name");
-		if (name == null) {
-			name = this.getString("binding_name");
-		}
-		if (name == null) {
-			name = this.getString("instance_name");
-		}
-		return name;
+		return this.name;
 	}
 
 	public String getString(String... keys) {
 		if (this.serviceData != null) {
 			for (String key : keys) {
+				if (CREDENTIALS.equals(key)) {
+					getCredentials();
+				}
 				if (this.serviceData.containsKey(key)) {
 					return this.serviceData.get(key).toString();
 				}
@@ -122,12 +248,14 @@ public class CfService {
 
 	public boolean existsByTagIgnoreCase(String... tags) {
 		if (tags != null) {
-			for (String serviceTag : getTags()) {
-				for (String tagToMatch : tags) {
-					if (tagToMatch != null && tagToMatch.length() > 0) {
-						if (tagToMatch.equalsIgnoreCase(serviceTag)) {
-							return true;
-						}
+			Set<String> serviceTags = getFoldedTags();
+			if (serviceTags.isEmpty()) {
+				return false;
+			}
+			for (String tagToMatch : tags) {
+				if (tagToMatch != null && tagToMatch.length() > 0) {
+					if (serviceTags.contains(foldCase(tagToMatch))) {
+						return true;
 					}
 				}
 			}
@@ -161,12 +289,12 @@ public class CfService {
 	public boolean existsByCredentialsContainsUriField(String... uriSchemes) {
 		if (uriSchemes != null) {
 			CfCredentials cfCredentials = this.getCredentials();
+			Map<String, Object> credentials = cfCredentials.getMap();
 			for (String uriScheme : uriSchemes) {
-				if (cfCredentials.getMap().containsKey(uriScheme + "Uri")
-						|| cfCredentials.getMap().containsKey(uriScheme + "uri")
-						|| cfCredentials.getMap().containsKey(uriScheme + "Url")
-						|| cfCredentials.getMap().containsKey(uriScheme + "url")) {
-					return true;
+				for (String key : CfCredentials.getUriKeys(uriScheme)) {
+					if (credentials.containsKey(key)) {
+						return true;
+					}
 				}
 			}
 		}
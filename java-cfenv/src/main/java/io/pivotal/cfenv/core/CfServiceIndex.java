@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Lookup tables over the services of a {@link CfEnv}, built once and used by the
+ * {@code findServicesBy*} methods.
+ * <p>
+ * Specs without regular expression metacharacters are resolved with a hash lookup;
+ * other specs are compiled once and matched against each service. Results are the same
+ * as matching every service with {@link String#matches(String)}: ordered by spec, then by
+ * service, without duplicates.
+ */
+final class CfServiceIndex {
+
+	private static final String REGEX_METACHARACTERS = "\\.[]{}()*+?^$|";
+
+	private final List<CfService> services;
+
+	private final Map<String, List<CfService>> servicesByName = new HashMap<>();
+
+	private final Map<String, List<CfService>> servicesByLabel = new HashMap<>();
+
+	private final Map<String, List<CfService>> servicesByFoldedTag = new HashMap<>();
+
+	private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+	CfServiceIndex(List<CfService> services) {
+		this.services = services;
+		for (CfService service : services) {
+			String name = service.getName();
+			if (name != null && !name.isEmpty()) {
+				this.servicesByName.computeIfAbsent(name, k -> new ArrayList<>()).add(service);
+			}
+			String label = service.getLabel();
+			if (label != null && !label.isEmpty()) {
+				this.servicesByLabel.computeIfAbsent(label, k -> new ArrayList<>()).add(service);
+			}
+			for (String foldedTag : service.getFoldedTags()) {
+				this.servicesByFoldedTag.computeIfAbsent(foldedTag, k -> new ArrayList<>()).add(service);
+			}
+		}
+	}
+
+	List<CfService> findByName(String... spec) {
+		return find(spec, this.servicesByName, CfService::getName);
+	}
+
+	List<CfService> findByLabel(String... spec) {
+		return find(spec, this.servicesByLabel, CfService::getLabel);
+	}
+
+	List<CfService> findByTag(String... spec) {
+		if (spec == null || spec.length == 0) {
+			return Collections.emptyList();
+		}
+		Set<CfService> result = new LinkedHashSet<>();
+		for (String regex : spec) {
+			if (isLiteral(regex)) {
+				List<CfService> candidates = this.servicesByFoldedTag.get(CfService.foldCase(regex));
+				if (candidates != null) {
+					for (CfService candidate : candidates) {
+						if (candidate.getTags().contains(regex)) {
+							result.add(candidate);
+						}
+					}
+				}
+			}
+			else {
+				Pattern pattern = compile(regex);
+				for (CfService service : this.services) {
+					List<String> tags = service.getTags();
+					if (tags != null) {
+						for (String tag : tags) {
+							if (tag != null && pattern.matcher(tag).matches()) {
+								result.add(service);
+								break;
+							}
+						}
+					}
+				}
+			}
+		}
+		return new ArrayList<>(result);
+	}
+
+	private List<CfService> find(String[] spec, Map<String, List<CfService>> index,
+			Function<CfService, String> attribute) {
+		if (spec == null || spec.length == 0) {
+			return Collections.emptyList();
+		}
+		Set<CfService> result = new LinkedHashSet<>();
+		for (String regex : spec) {
+			if (isLiteral(regex)) {
+				result.addAll(index.getOrDefault(regex, Collections.emptyList()));
+			}
+			else {
+				Pattern pattern = compile(regex);
+				for (CfService service : this.services) {
+					String value = attribute.apply(service);
+					if (value != null && !value.isEmpty() && pattern.matcher(value).matches()) {
+						result.add(service);
+					}
+				}
+			}
+		}
+		return new ArrayList<>(result);
+	}
+
+	private Pattern compile(String regex) {
+		return this.patterns.computeIfAbsent(regex, Pattern::compile);
+	}
+
+	/**
+	 * Whether the spec only matches itself, i.e. contains no regular expression
+	 * metacharacters.
+	 */
+	static boolean isLiteral(String spec) {
+		for (int i = 0; i < spec.length(); i++) {
+			if (REGEX_METACHARACTERS.indexOf(spec.charAt(i)) >= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared registry of the optional classes java-cfenv probes for, such as JDBC drivers and
+ * libraries that change how bindings are processed.
+ * <p>
+ * Each class is probed once per class loader and both positive and negative results are
+ * cached. The results for other class loaders than the one of java-cfenv are cached
+ * without preventing the class loader from being garbage collected. On the JVM a class is
+ * only loaded when its class file is found, so absent classes are detected without
+ * throwing a {@link ClassNotFoundException}. When running with Spring AOT-generated
+ * artifacts, the results recorded during AOT processing in {@value #AOT_LOCATION} are used
+ * instead of probing.
+ */
+public final class ClasspathCapabilities {
+
+	/**
+	 * Location of the probe results recorded during AOT processing, as {@code className=true}
+	 * or {@code className=false} properties.
+	 */
+	public static final String AOT_LOCATION = "META-INF/cfenv/classpath-capabilities.properties";
+
+	private static final boolean IN_NATIVE_IMAGE = System.getProperty("org.graalvm.nativeimage.imagecode") != null;
+
+	private static final Map<String, Boolean> aotCapabilities = (IN_NATIVE_IMAGE
+			|| Boolean.getBoolean("spring.aot.enabled")) ? loadAotCapabilities() : Collections.emptyMap();
+
+	private static final Map<String, Boolean> capabilities = new ConcurrentHashMap<>(aotCapabilities);
+
+	private static final Map<ClassLoader, Map<String, Boolean>> capabilitiesByClassLoader = new WeakHashMap<>();
+
+	private ClasspathCapabilities() {
+	}
+
+	/**
+	 * Whether the given class can be loaded by the class loader of java-cfenv.
+	 * @param className the fully qualified name of the class
+	 * @return {@code true} if the class is present
+	 */
+	public static boolean isPresent(String className) {
+		Boolean present = capabilities.get(className);
+		if (present == null) {
+			present = capabilities.computeIfAbsent(className, name -> probe(name, getClassLoader()));
+		}
+		return present;
+	}
+
+	/**
+	 * Whether the given class can be loaded by the given class loader, for classes that may
+	 * only be visible to a child of the class loader of java-cfenv, such as a JDBC driver in
+	 * the {@code WEB-INF/lib} of a web application.
+	 * @param className the fully qualified name of the class
+	 * @param classLoader the class loader to probe, or {@code null} for the class loader of
+	 * java-cfenv
+	 * @return {@code true} if the class is present
+	 */
+	public static boolean isPresent(String className, ClassLoader classLoader) {
+		if (classLoader == null || classLoader == getClassLoader() || aotCapabilities.containsKey(className)) {
+			return isPresent(className);
+		}
+		Map<String, Boolean> loaderCapabilities;
+		synchronized (capabilitiesByClassLoader) {
+			loaderCapabilities = capabilitiesByClassLoader.computeIfAbsent(classLoader,
+					key -> new ConcurrentHashMap<>());
+		}
+		return loaderCapabilities.computeIfAbsent(className, name -> probe(name, classLoader));
+	}
+
+	/**
+	 * Return the results of all the probes of the class loader of java-cfenv so far, by
+	 * class name, for example to record them during AOT processing.
+	 */
+	public static Map<String, Boolean> getCapabilities() {
+		return new TreeMap<>(capabilities);
+	}
+
+	private static boolean probe(String className, ClassLoader classLoader) {
+		// Class files are not resources in a native image
+		if (!IN_NATIVE_IMAGE && classLoader.getResource(className.replace('.', '/') + ".class") == null) {
+			return false;
+		}
+		try {
+			Class.forName(className, false, classLoader);
+			return true;
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	private static ClassLoader getClassLoader() {
+		ClassLoader classLoader = ClasspathCapabilities.class.getClassLoader();
+		return (classLoader != null) ? classLoader : ClassLoader.getSystemClassLoader();
+	}
+
+	private static Map<String, Boolean> loadAotCapabilities() {
+		Map<String, Boolean> result = new HashMap<>();
+		try (InputStream input = getClassLoader().getResourceAsStream(AOT_LOCATION)) {
+			if (input != null) {
+				Properties properties = new Properties();
+				properties.load(input);
+				for (String className : properties.stringPropertyNames()) {
+					result.put(className, Boolean.valueOf(properties.getProperty(className)));
+				}
+			}
+		}
+		catch (IOException e) {
+			// Probe instead
+		}
+		return result;
+	}
+
+}
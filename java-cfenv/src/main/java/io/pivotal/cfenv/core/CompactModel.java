@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Copies parsed JSON trees into a compact, unmodifiable form.
+ * <p>
+ * Maps and lists are backed by arrays sized to their content and keep the iteration
+ * order of the originals; empty ones are replaced by the shared empty collections. Keys
+ * are {@link String#intern() interned}, since the same few keys appear in every binding,
+ * and equal string values are stored once per instance of this class, which is discarded
+ * once the environment is copied. A map or list that is reached twice is copied once.
+ */
+final class CompactModel {
+
+	private final Map<String, String> strings = new HashMap<>();
+
+	private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+	@SuppressWarnings("unchecked")
+	Map<String, Object> map(Map<String, ?> map) {
+		if (map.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Object copy = this.copies.get(map);
+		if (copy == null) {
+			String[] keys = new String[map.size()];
+			Object[] values = new Object[keys.length];
+			int i = 0;
+			for (Map.Entry<String, ?> entry : map.entrySet()) {
+				keys[i] = entry.getKey().intern();
+				values[i] = value(entry.getValue());
+				i++;
+			}
+			copy = new CompactMap<>(keys, values);
+			this.copies.put(map, copy);
+		}
+		return (Map<String, Object>) copy;
+	}
+
+	@SuppressWarnings("unchecked")
+	Object value(Object value) {
+		if (value instanceof String string) {
+			String shared = this.strings.putIfAbsent(string, string);
+			return (shared != null) ? shared : string;
+		}
+		if (value instanceof Map<?, ?> map) {
+			return map((Map<String, ?>) map);
+		}
+		if (value instanceof List<?> list) {
+			return list(list);
+		}
+		return value;
+	}
+
+	private List<Object> list(List<?> list) {
+		if (list.isEmpty()) {
+			return Collections.emptyList();
+		}
+		@SuppressWarnings("unchecked")
+		List<Object> copy = (List<Object>) this.copies.get(list);
+		if (copy == null) {
+			Object[] elements = new Object[list.size()];
+			int i = 0;
+			for (Object element : list) {
+				elements[i++] = value(element);
+			}
+			copy = new CompactList(elements);
+			this.copies.put(list, copy);
+		}
+		return copy;
+	}
+
+	/**
+	 * Unmodifiable, insertion-ordered map over parallel key and value arrays. Lookups scan
+	 * the keys, comparing the hash the JVM caches on each string before calling
+	 * {@code equals}; binding maps are small enough for this to beat hashing.
+	 */
+	static final class CompactMap<V> extends AbstractMap<String, V> {
+
+		private final String[] keys;
+
+		private final Object[] values;
+
+		CompactMap(String[] keys, Object[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+
+		private int indexOf(Object key) {
+			if (key instanceof String) {
+				int hash = key.hashCode();
+				for (int i = 0; i < this.keys.length; i++) {
+					String candidate = this.keys[i];
+					if (candidate == key || (candidate.hashCode() == hash && candidate.equals(key))) {
+						return i;
+					}
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V get(Object key) {
+			int index = indexOf(key);
+			return (index >= 0) ? (V) this.values[index] : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return indexOf(key) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return this.keys.length;
+		}
+
+		/**
+		 * Replace the value of an existing key, used to store credentials that were
+		 * decoded lazily. Callers must publish the change safely.
+		 * @throws UnsupportedOperationException if the key is not present
+		 */
+		void set(String key, V value) {
+			int index = indexOf(key);
+			if (index < 0) {
+				throw new UnsupportedOperationException();
+			}
+			this.values[index] = value;
+		}
+
+		@Override
+		public Set<Map.Entry<String, V>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return new Iterator<>() {
+
+						private int index;
+
+						@Override
+						public boolean hasNext() {
+							return this.index < keys.length;
+						}
+
+						@Override
+						@SuppressWarnings("unchecked")
+						public Map.Entry<String, V> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							int i = this.index++;
+							return new SimpleImmutableEntry<>(keys[i], (V) values[i]);
+						}
+
+					};
+				}
+
+				@Override
+				public int size() {
+					return keys.length;
+				}
+
+			};
+		}
+
+	}
+
+	/**
+	 * Unmodifiable list over an array; unlike {@link List#of} it allows {@code null}
+	 * elements, which JSON arrays may contain.
+	 */
+	private static final class CompactList extends AbstractList<Object> implements RandomAccess {
+
+		private final Object[] elements;
+
+		CompactList(Object[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object get(int index) {
+			return this.elements[index];
+		}
+
+		@Override
+		public int size() {
+			return this.elements.length;
+		}
+
+	}
+
+}
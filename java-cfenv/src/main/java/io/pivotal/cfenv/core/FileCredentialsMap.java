@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Credentials of a {@link KubernetesBindingSource} binding: a map whose values are read
+ * from their files on first access and cached.
+ * <p>
+ * Keys are known without reading any file, so {@link #containsKey(Object)},
+ * {@link #keySet()} and {@link #size()} never touch the file system. Values may be
+ * replaced or removed like in any other map. All access to the entries holds the map's
+ * monitor; iterators walk a copy of the keys taken when they are created.
+ */
+final class FileCredentialsMap extends AbstractMap<String, Object> {
+
+	private final Map<String, Object> entries = new LinkedHashMap<>();
+
+	synchronized void addFile(String key, Path file) {
+		this.entries.put(key, new UnreadFile(file));
+	}
+
+	@Override
+	public synchronized Object get(Object key) {
+		Object value = this.entries.get(key);
+		if (value instanceof UnreadFile unreadFile) {
+			value = KubernetesBindingSource.readValue(unreadFile.file);
+			this.entries.put((String) key, value);
+		}
+		return value;
+	}
+
+	@Override
+	public synchronized boolean containsKey(Object key) {
+		return this.entries.containsKey(key);
+	}
+
+	@Override
+	public synchronized Object put(String key, Object value) {
+		Object previous = get(key);
+		this.entries.put(key, value);
+		return previous;
+	}
+
+	@Override
+	public synchronized Object remove(Object key) {
+		Object previous = get(key);
+		this.entries.remove(key);
+		return previous;
+	}
+
+	@Override
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	private synchronized Iterator<String> keys() {
+		return new ArrayList<>(this.entries.keySet()).iterator();
+	}
+
+	private synchronized void removeKey(String key) {
+		this.entries.remove(key);
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				Iterator<String> keys = keys();
+				return new Iterator<>() {
+
+					private String last;
+
+					@Override
+					public boolean hasNext() {
+						return keys.hasNext();
+					}
+
+					@Override
+					public Map.Entry<String, Object> next() {
+						this.last = keys.next();
+						return new FileEntry(this.last);
+					}
+
+					@Override
+					public void remove() {
+						if (this.last == null) {
+							throw new IllegalStateException();
+						}
+						removeKey(this.last);
+						this.last = null;
+					}
+
+				};
+			}
+
+			@Override
+			public int size() {
+				return FileCredentialsMap.this.size();
+			}
+
+		};
+	}
+
+	/**
+	 * Map entry that reads its value through the map, so iterating over the keys alone
+	 * does not read any file.
+	 */
+	private final class FileEntry implements Map.Entry<String, Object> {
+
+		private final String key;
+
+		FileEntry(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public Object getValue() {
+			return get(this.key);
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			return put(this.key, value);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Map.Entry<?, ?> entry && this.key.equals(entry.getKey())
+					&& Objects.equals(getValue(), entry.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.key.hashCode() ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + getValue();
+		}
+
+	}
+
+	private static final class UnreadFile {
+
+		private final Path file;
+
+		UnreadFile(Path file) {
+			this.file = file;
+		}
+
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+/**
+ * Support for the Java Flight Recorder events of java-cfenv.
+ * <p>
+ * The events are recorded for parsing of the bindings, {@code CfEnvProcessor} calls,
+ * JDBC URL resolution and GenAI configuration requests, in the {@value #CATEGORY}
+ * category. Like all events they are only committed while a recording that enables them
+ * is running, and are otherwise reduced to a check of their enablement. Callers must check
+ * {@link #isAvailable()} before they touch an event class, so that java-cfenv also runs
+ * on runtimes built without the {@code jdk.jfr} module.
+ */
+public final class FlightRecorderSupport {
+
+	/**
+	 * Category of all java-cfenv events.
+	 */
+	public static final String CATEGORY = "java-cfenv";
+
+	private static final boolean AVAILABLE = ClasspathCapabilities.isPresent("jdk.jfr.Event");
+
+	private FlightRecorderSupport() {
+	}
+
+	/**
+	 * Whether the Flight Recorder API is available in this runtime.
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+}
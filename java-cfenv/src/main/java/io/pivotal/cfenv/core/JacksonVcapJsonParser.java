@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * {@link VcapJsonParser} backed by the streaming parser of Jackson 3, preferred when
+ * {@code jackson-core} is on the class path, as it is in Spring Boot applications, so that
+ * no other JSON library has to be loaded.
+ * <p>
+ * Jackson is only referenced from a nested class, which is loaded on the first parse, so
+ * this class can be instantiated and asked whether it {@link #isAvailable() is available}
+ * without Jackson on the class path.
+ */
+public class JacksonVcapJsonParser implements VcapJsonParser {
+
+	private static final String JSON_FACTORY = "tools.jackson.core.json.JsonFactory";
+
+	@Override
+	public Map<String, Object> parseObject(CharSequence json) {
+		if (json instanceof Utf8CharSequence utf8) {
+			// Jackson decodes the mapped bytes itself, so the document is never a String
+			return Reader.parseObject(utf8.getInputStream());
+		}
+		return Reader.parseObject(json.toString());
+	}
+
+	@Override
+	public boolean isAvailable() {
+		return ClasspathCapabilities.isPresent(JSON_FACTORY);
+	}
+
+	@Override
+	public int getOrder() {
+		return 100;
+	}
+
+	private static final class Reader {
+
+		private static final JsonFactory FACTORY = new JsonFactory();
+
+		static Map<String, Object> parseObject(String json) {
+			try (JsonParser parser = FACTORY.createParser(ObjectReadContext.empty(), json)) {
+				return readDocument(parser);
+			}
+			catch (JacksonException e) {
+				throw new IllegalArgumentException(e.getMessage(), e);
+			}
+		}
+
+		static Map<String, Object> parseObject(InputStream json) {
+			try (JsonParser parser = FACTORY.createParser(ObjectReadContext.empty(), json)) {
+				return readDocument(parser);
+			}
+			catch (JacksonException e) {
+				throw new IllegalArgumentException(e.getMessage(), e);
+			}
+		}
+
+		private static Map<String, Object> readDocument(JsonParser parser) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException("Expected a JSON object");
+			}
+			Map<String, Object> object = readObject(parser);
+			if (parser.nextToken() != null) {
+				throw new IllegalArgumentException("Unexpected content after the JSON object");
+			}
+			return object;
+		}
+
+		private static Map<String, Object> readObject(JsonParser parser) {
+			Map<String, Object> object = new LinkedHashMap<>();
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_OBJECT) {
+				if (token == null) {
+					throw new IllegalArgumentException("Unterminated JSON object");
+				}
+				String name = parser.currentName();
+				object.put(name, readValue(parser, parser.nextToken()));
+			}
+			return object;
+		}
+
+		private static List<Object> readArray(JsonParser parser) {
+			List<Object> array = new ArrayList<>();
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				array.add(readValue(parser, token));
+			}
+			return array;
+		}
+
+		private static Object readValue(JsonParser parser, JsonToken token) {
+			if (token == JsonToken.START_OBJECT) {
+				return readObject(parser);
+			}
+			if (token == JsonToken.START_ARRAY) {
+				return readArray(parser);
+			}
+			if (token == JsonToken.VALUE_STRING) {
+				return parser.getValueAsString();
+			}
+			if (token == JsonToken.VALUE_NUMBER_INT) {
+				Number number = parser.getNumberValue();
+				return (number instanceof BigInteger) ? number : JsonStreamParser.narrow(number.longValue());
+			}
+			if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+				return parser.getDoubleValue();
+			}
+			if (token == JsonToken.VALUE_TRUE) {
+				return Boolean.TRUE;
+			}
+			if (token == JsonToken.VALUE_FALSE) {
+				return Boolean.FALSE;
+			}
+			if (token == JsonToken.VALUE_NULL) {
+				return null;
+			}
+			throw new IllegalArgumentException("Unexpected JSON token " + token);
+		}
+
+	}
+
+}
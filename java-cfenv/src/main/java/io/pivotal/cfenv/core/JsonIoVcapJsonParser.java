@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.Map;
+
+/**
+ * {@link VcapJsonParser} backed by json-io through {@link JsonIoConverter}. It accepts
+ * some documents the other parsers reject, so it is preferred least.
+ */
+public class JsonIoVcapJsonParser implements VcapJsonParser {
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> parseObject(CharSequence json) {
+		try {
+			return JsonIoConverter.jsonToJavaWithListsAndInts(json.toString());
+		}
+		catch (RuntimeException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public int getOrder() {
+		return 300;
+	}
+
+}
@@ -0,0 +1,595 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass JSON parser that builds the same tree as
+ * {@link JsonIoConverter#jsonToJavaWithListsAndInts(String)} directly from the source
+ * text, which may be a {@link String} or a byte-indexed view of UTF-8 encoded bytes:
+ * objects become {@link LinkedHashMap}s, arrays become {@link ArrayList}s and
+ * integral numbers that would print with at most nine characters are narrowed to
+ * {@link Integer}, everything else stays a {@link Long}.
+ * <p>
+ * No intermediate object graph is built and numbers are narrowed by range rather than by
+ * formatting them, so parsing allocates little more than the resulting tree.
+ *
+ * @see JsonIoConverter
+ */
+public final class JsonStreamParser {
+
+	/**
+	 * Smallest value whose decimal representation is at most nine characters long,
+	 * including the sign.
+	 */
+	private static final long MIN_NARROWED = -99_999_999L;
+
+	/**
+	 * Largest value whose decimal representation is at most nine characters long.
+	 */
+	private static final long MAX_NARROWED = 999_999_999L;
+
+	private final CharSequence json;
+
+	private final int end;
+
+	private int pos;
+
+	private int depth;
+
+	private String deferredKey;
+
+	private int deferredDepth;
+
+	private StringBuilder escapeBuffer;
+
+	private JsonStreamParser(CharSequence json, int start, int end) {
+		this.json = json;
+		this.pos = start;
+		this.end = end;
+	}
+
+	/**
+	 * Parse a JSON document whose root is an object.
+	 *
+	 * @param json the JSON text
+	 * @return the parsed object
+	 * @throws IllegalArgumentException if the text is not a single, well-formed JSON
+	 * object
+	 */
+	public static Map<String, Object> parseObject(CharSequence json) {
+		JsonStreamParser parser = new JsonStreamParser(json, 0, json.length());
+		parser.skipWhitespace();
+		if (parser.peek() != '{') {
+			throw parser.error("Expected '{'");
+		}
+		Map<String, Object> result = parser.readObject();
+		parser.expectEnd();
+		return result;
+	}
+
+	/**
+	 * Parse a JSON document whose root is an object, leaving object values stored under
+	 * {@code deferredKey} at the given nesting depth undecoded. Such values are validated
+	 * and represented in the result by a {@link DeferredValue} that records their position
+	 * in the source, so they can be decoded on demand.
+	 *
+	 * @param json the JSON text
+	 * @param deferredKey the member name whose object values are deferred
+	 * @param deferredDepth the nesting depth of the objects holding that member, the root
+	 * object being at depth 1
+	 * @return the parsed object
+	 * @throws IllegalArgumentException if the text is not a single, well-formed JSON
+	 * object
+	 */
+	static Map<String, Object> parseObject(CharSequence json, String deferredKey, int deferredDepth) {
+		JsonStreamParser parser = new JsonStreamParser(json, 0, json.length());
+		parser.deferredKey = deferredKey;
+		parser.deferredDepth = deferredDepth;
+		parser.skipWhitespace();
+		if (parser.peek() != '{') {
+			throw parser.error("Expected '{'");
+		}
+		Map<String, Object> result = parser.readObject();
+		parser.expectEnd();
+		return result;
+	}
+
+	/**
+	 * Parse a JSON document with any root value.
+	 *
+	 * @param json the JSON text
+	 * @return the parsed value, which may be {@code null}
+	 * @throws IllegalArgumentException if the text is not a single, well-formed JSON
+	 * value
+	 */
+	public static Object parse(CharSequence json) {
+		JsonStreamParser parser = new JsonStreamParser(json, 0, json.length());
+		Object result = parser.readValue();
+		parser.expectEnd();
+		return result;
+	}
+
+	/**
+	 * Narrow a long to an int with the same rule json-io based parsing applies: values
+	 * that print with nine characters or fewer become {@link Integer}.
+	 *
+	 * @param value the value to narrow
+	 * @return an {@link Integer} or a {@link Long}
+	 */
+	static Number narrow(long value) {
+		if (value >= MIN_NARROWED && value <= MAX_NARROWED) {
+			return (int) value;
+		}
+		return value;
+	}
+
+	private Object readValue() {
+		skipWhitespace();
+		char c = peek();
+		switch (c) {
+			case '{':
+				return readObject();
+			case '[':
+				return readArray();
+			case '"':
+				return readString();
+			case 't':
+				readLiteral("true");
+				return Boolean.TRUE;
+			case 'f':
+				readLiteral("false");
+				return Boolean.FALSE;
+			case 'n':
+				readLiteral("null");
+				return null;
+			default:
+				if (c == '-' || (c >= '0' && c <= '9')) {
+					return readNumber();
+				}
+				throw error("Unexpected character '" + c + "'");
+		}
+	}
+
+	private Map<String, Object> readObject() {
+		this.pos++;
+		this.depth++;
+		Map<String, Object> map = new LinkedHashMap<>();
+		skipWhitespace();
+		if (peek() == '}') {
+			this.pos++;
+			this.depth--;
+			return map;
+		}
+		boolean deferring = this.deferredKey != null && this.depth == this.deferredDepth;
+		while (true) {
+			skipWhitespace();
+			if (peek() != '"') {
+				throw error("Expected object key");
+			}
+			String key = readString();
+			skipWhitespace();
+			expect(':');
+			if (deferring && key.equals(this.deferredKey)) {
+				map.put(key, readDeferrableValue());
+			}
+			else {
+				map.put(key, readValue());
+			}
+			skipWhitespace();
+			char c = next();
+			if (c == '}') {
+				this.depth--;
+				return map;
+			}
+			if (c != ',') {
+				throw error("Expected ',' or '}'");
+			}
+		}
+	}
+
+	private Object readDeferrableValue() {
+		skipWhitespace();
+		if (peek() != '{') {
+			return readValue();
+		}
+		int start = this.pos;
+		skipValue();
+		if (this.json instanceof Utf8CharSequence utf8) {
+			// Copied, as the file the text may be mapped from can be rewritten before the
+			// value is decoded
+			return new DeferredValue(utf8.copy(start, this.pos), 0, this.pos - start);
+		}
+		return new DeferredValue(this.json, start, this.pos);
+	}
+
+	private List<Object> readArray() {
+		this.pos++;
+		this.depth++;
+		List<Object> list = new ArrayList<>();
+		skipWhitespace();
+		if (peek() == ']') {
+			this.pos++;
+			this.depth--;
+			return list;
+		}
+		while (true) {
+			list.add(readValue());
+			skipWhitespace();
+			char c = next();
+			if (c == ']') {
+				this.depth--;
+				return list;
+			}
+			if (c != ',') {
+				throw error("Expected ',' or ']'");
+			}
+		}
+	}
+
+	/**
+	 * Validate the next value and move past it without building anything.
+	 */
+	private void skipValue() {
+		skipWhitespace();
+		char c = peek();
+		switch (c) {
+			case '{':
+				this.pos++;
+				skipWhitespace();
+				if (peek() == '}') {
+					this.pos++;
+					return;
+				}
+				while (true) {
+					skipWhitespace();
+					if (peek() != '"') {
+						throw error("Expected object key");
+					}
+					skipString();
+					skipWhitespace();
+					expect(':');
+					skipValue();
+					skipWhitespace();
+					char next = next();
+					if (next == '}') {
+						return;
+					}
+					if (next != ',') {
+						throw error("Expected ',' or '}'");
+					}
+				}
+			case '[':
+				this.pos++;
+				skipWhitespace();
+				if (peek() == ']') {
+					this.pos++;
+					return;
+				}
+				while (true) {
+					skipValue();
+					skipWhitespace();
+					char next = next();
+					if (next == ']') {
+						return;
+					}
+					if (next != ',') {
+						throw error("Expected ',' or ']'");
+					}
+				}
+			case '"':
+				skipString();
+				return;
+			case 't':
+				readLiteral("true");
+				return;
+			case 'f':
+				readLiteral("false");
+				return;
+			case 'n':
+				readLiteral("null");
+				return;
+			default:
+				if (c == '-' || (c >= '0' && c <= '9')) {
+					skipNumber();
+					return;
+				}
+				throw error("Unexpected character '" + c + "'");
+		}
+	}
+
+	private void skipString() {
+		this.pos++;
+		while (this.pos < this.end) {
+			char c = this.json.charAt(this.pos++);
+			if (c == '"') {
+				return;
+			}
+			if (c == '\\') {
+				char escaped = next();
+				if (escaped == 'u') {
+					readHexChar();
+				}
+				else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+					throw error("Invalid escape '\\" + escaped + "'");
+				}
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	private void skipNumber() {
+		if (peek() == '-') {
+			this.pos++;
+		}
+		skipDigits();
+		if (this.pos < this.end && this.json.charAt(this.pos) == '.') {
+			this.pos++;
+			skipDigits();
+		}
+		if (this.pos < this.end && (this.json.charAt(this.pos) == 'e' || this.json.charAt(this.pos) == 'E')) {
+			this.pos++;
+			if (this.pos < this.end && (this.json.charAt(this.pos) == '+' || this.json.charAt(this.pos) == '-')) {
+				this.pos++;
+			}
+			skipDigits();
+		}
+	}
+
+	private String readString() {
+		this.pos++;
+		int start = this.pos;
+		// Fast path: no escapes, the value is a plain slice of the input
+		while (this.pos < this.end) {
+			char c = this.json.charAt(this.pos);
+			if (c == '"') {
+				String value = this.json.subSequence(start, this.pos).toString();
+				this.pos++;
+				return value;
+			}
+			if (c == '\\') {
+				return readEscapedString(start);
+			}
+			this.pos++;
+		}
+		throw error("Unterminated string");
+	}
+
+	private String readEscapedString(int start) {
+		StringBuilder sb = this.escapeBuffer;
+		if (sb == null) {
+			sb = new StringBuilder();
+			this.escapeBuffer = sb;
+		}
+		sb.setLength(0);
+		// Unescaped runs are appended as decoded slices rather than char by char, so that
+		// sources indexed by byte decode multi-byte characters correctly
+		int runStart = start;
+		while (this.pos < this.end) {
+			char c = this.json.charAt(this.pos);
+			if (c == '"') {
+				sb.append(this.json.subSequence(runStart, this.pos).toString());
+				this.pos++;
+				return sb.toString();
+			}
+			if (c != '\\') {
+				this.pos++;
+				continue;
+			}
+			sb.append(this.json.subSequence(runStart, this.pos).toString());
+			this.pos++;
+			char escaped = next();
+			switch (escaped) {
+				case '"':
+				case '\\':
+				case '/':
+					sb.append(escaped);
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'u':
+					sb.append(readHexChar());
+					break;
+				default:
+					throw error("Invalid escape '\\" + escaped + "'");
+			}
+			runStart = this.pos;
+		}
+		throw error("Unterminated string");
+	}
+
+	private char readHexChar() {
+		if (this.pos + 4 > this.end) {
+			throw error("Truncated unicode escape");
+		}
+		int value = 0;
+		for (int i = 0; i < 4; i++) {
+			int digit = Character.digit(this.json.charAt(this.pos++), 16);
+			if (digit < 0) {
+				throw error("Invalid unicode escape");
+			}
+			value = (value << 4) | digit;
+		}
+		return (char) value;
+	}
+
+	private Object readNumber() {
+		int start = this.pos;
+		boolean negative = peek() == '-';
+		if (negative) {
+			this.pos++;
+		}
+		int digitsStart = this.pos;
+		long value = 0;
+		boolean overflow = false;
+		while (this.pos < this.end) {
+			char c = this.json.charAt(this.pos);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			int digit = c - '0';
+			// Accumulate negatively so Long.MIN_VALUE is representable
+			if (value < (Long.MIN_VALUE + digit) / 10) {
+				overflow = true;
+			}
+			value = value * 10 - digit;
+			this.pos++;
+		}
+		if (this.pos == digitsStart) {
+			throw error("Expected digit");
+		}
+		boolean decimal = false;
+		if (this.pos < this.end && this.json.charAt(this.pos) == '.') {
+			decimal = true;
+			this.pos++;
+			skipDigits();
+		}
+		if (this.pos < this.end && (this.json.charAt(this.pos) == 'e' || this.json.charAt(this.pos) == 'E')) {
+			decimal = true;
+			this.pos++;
+			if (this.pos < this.end && (this.json.charAt(this.pos) == '+' || this.json.charAt(this.pos) == '-')) {
+				this.pos++;
+			}
+			skipDigits();
+		}
+		if (decimal) {
+			return Double.parseDouble(this.json.subSequence(start, this.pos).toString());
+		}
+		if (overflow || (!negative && value == Long.MIN_VALUE)) {
+			return new BigInteger(this.json.subSequence(start, this.pos).toString());
+		}
+		return narrow(negative ? value : -value);
+	}
+
+	private void skipDigits() {
+		int digitsStart = this.pos;
+		while (this.pos < this.end) {
+			char c = this.json.charAt(this.pos);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			this.pos++;
+		}
+		if (this.pos == digitsStart) {
+			throw error("Expected digit");
+		}
+	}
+
+	private void readLiteral(String literal) {
+		int length = literal.length();
+		if (this.pos + length > this.end) {
+			throw error("Expected '" + literal + "'");
+		}
+		for (int i = 0; i < length; i++) {
+			if (this.json.charAt(this.pos + i) != literal.charAt(i)) {
+				throw error("Expected '" + literal + "'");
+			}
+		}
+		this.pos += length;
+	}
+
+	private void skipWhitespace() {
+		while (this.pos < this.end) {
+			char c = this.json.charAt(this.pos);
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+				return;
+			}
+			this.pos++;
+		}
+	}
+
+	private void expect(char expected) {
+		if (next() != expected) {
+			this.pos--;
+			throw error("Expected '" + expected + "'");
+		}
+	}
+
+	private void expectEnd() {
+		skipWhitespace();
+		if (this.pos != this.end) {
+			throw error("Unexpected trailing content");
+		}
+	}
+
+	private char peek() {
+		if (this.pos >= this.end) {
+			throw error("Unexpected end of input");
+		}
+		return this.json.charAt(this.pos);
+	}
+
+	private char next() {
+		char c = peek();
+		this.pos++;
+		return c;
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + this.pos);
+	}
+
+	/**
+	 * A syntactically valid JSON value that has been skipped over rather than decoded,
+	 * identified by its range in the source text.
+	 */
+	static final class DeferredValue {
+
+		private final CharSequence json;
+
+		private final int start;
+
+		private final int end;
+
+		DeferredValue(CharSequence json, int start, int end) {
+			this.json = json;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Decode the value. The range was validated when it was skipped, so this does not
+		 * fail for well-formed input.
+		 * @return the decoded value
+		 */
+		Object parse() {
+			JsonStreamParser parser = new JsonStreamParser(this.json, this.start, this.end);
+			Object result = parser.readValue();
+			parser.expectEnd();
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads service bindings laid out as described by the
+ * <a href="https://servicebinding.io/spec/core/1.0.0/">Service Binding for Kubernetes</a>
+ * specification: one directory per binding under {@code $SERVICE_BINDING_ROOT}, one file
+ * per entry in each binding directory.
+ * <p>
+ * Each binding becomes a {@link CfService} named after its directory, with the
+ * {@code type} entry as label and tag, the {@code provider} entry as provider and tag, and
+ * any comma-separated {@code tags} entry as further tags. All entries are available as
+ * credentials, so processors that match on labels, tags or credential keys work the same
+ * as with VCAP_SERVICES.
+ * <p>
+ * Only the directory listing and the metadata entries are read up front. Every other
+ * entry is read from its file the first time its value is requested and cached after
+ * that, so bindings with many entries cost little until they are used.
+ *
+ * @see CfEnv#CfEnv()
+ */
+public class KubernetesBindingSource {
+
+	/**
+	 * Environment variable holding the root directory of the service bindings.
+	 */
+	public static final String SERVICE_BINDING_ROOT = "SERVICE_BINDING_ROOT";
+
+	private static final String TYPE = "type";
+
+	private static final String PROVIDER = "provider";
+
+	private static final String TAGS = "tags";
+
+	private final Path root;
+
+	public KubernetesBindingSource(Path root) {
+		this.root = root;
+	}
+
+	public Path getRoot() {
+		return this.root;
+	}
+
+	/**
+	 * Whether the root directory holds at least one binding, without reading any.
+	 * @return {@code true} if there is a binding directory under the root
+	 */
+	public boolean hasBindings() {
+		if (!Files.isDirectory(this.root)) {
+			return false;
+		}
+		for (Path binding : list(this.root)) {
+			if (Files.isDirectory(binding)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the source for the directory named by the {@value #SERVICE_BINDING_ROOT}
+	 * environment variable.
+	 * @return the source, or {@code null} if the variable is not set
+	 */
+	public static KubernetesBindingSource fromEnvironment() {
+		String bindingRoot = System.getenv(SERVICE_BINDING_ROOT);
+		if (bindingRoot == null || bindingRoot.isEmpty()) {
+			return null;
+		}
+		return new KubernetesBindingSource(Path.of(bindingRoot));
+	}
+
+	/**
+	 * Read the bindings under the root directory, ordered by name. A root that does not
+	 * exist has no bindings.
+	 * @return a service for each binding directory
+	 */
+	public List<CfService> readServices() {
+		List<CfService> services = new ArrayList<>();
+		if (!Files.isDirectory(this.root)) {
+			return services;
+		}
+		for (Path binding : list(this.root)) {
+			if (Files.isDirectory(binding)) {
+				services.add(readService(binding));
+			}
+		}
+		return services;
+	}
+
+	/**
+	 * Read a single binding directory.
+	 * @param binding the binding directory
+	 * @return the service for the binding
+	 */
+	public CfService readService(Path binding) {
+		FileCredentialsMap credentials = new FileCredentialsMap();
+		for (Path entry : list(binding)) {
+			if (Files.isRegularFile(entry)) {
+				credentials.addFile(entry.getFileName().toString(), entry);
+			}
+		}
+		List<String> tags = new ArrayList<>();
+		Object type = credentials.get(TYPE);
+		Object provider = credentials.get(PROVIDER);
+		if (type != null) {
+			tags.add(type.toString());
+		}
+		if (provider != null) {
+			tags.add(provider.toString());
+		}
+		Object extraTags = credentials.get(TAGS);
+		if (extraTags != null) {
+			Arrays.stream(extraTags.toString().split(","))
+					.map(String::trim)
+					.filter(tag -> !tag.isEmpty() && !tags.contains(tag))
+					.forEach(tags::add);
+		}
+		Map<String, Object> serviceData = new LinkedHashMap<>();
+		serviceData.put("name", binding.getFileName().toString());
+		if (type != null) {
+			serviceData.put("label", type);
+		}
+		if (provider != null) {
+			serviceData.put(PROVIDER, provider);
+		}
+		serviceData.put(TAGS, tags);
+		serviceData.put("credentials", credentials);
+		return new CfService(serviceData);
+	}
+
+	/**
+	 * List the entries of a directory by name, skipping hidden entries such as the
+	 * {@code ..data} links of Kubernetes volume projections.
+	 */
+	private static List<Path> list(Path directory) {
+		List<Path> entries = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+				path -> !path.getFileName().toString().startsWith("."))) {
+			stream.forEach(entries::add);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not list service binding directory " + directory, e);
+		}
+		entries.sort(Comparator.comparing(path -> path.getFileName().toString()));
+		return entries;
+	}
+
+	/**
+	 * Read the value of a binding entry. Surrounding whitespace, typically the trailing
+	 * newline of a file written by hand, is not part of the value.
+	 */
+	static String readValue(Path file) {
+		try {
+			return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not read service binding entry " + file, e);
+		}
+	}
+
+}
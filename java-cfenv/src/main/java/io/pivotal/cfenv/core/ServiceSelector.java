@@ -0,0 +1,465 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A composable query over bound services, combining predicates on name, label, tags,
+ * plan, URI scheme and credential keys with {@link #and(ServiceSelector) and},
+ * {@link #or(ServiceSelector) or} and {@link #not(ServiceSelector) not}.
+ * <p>
+ * Regular expressions are compiled when the selector is built and nested operators of
+ * the same kind are flattened. Within each operator, predicates on service metadata are
+ * evaluated before predicates that need the service credentials, so credentials are only
+ * consulted (and, with lazy credentials, decoded) when the metadata does not already
+ * decide the outcome.
+ * <pre class="code">
+ * ServiceSelector selector = ServiceSelector.tagIgnoreCase("redis")
+ *         .and(ServiceSelector.planStartsWith("cache-large"))
+ *         .or(ServiceSelector.label("rediscloud"));
+ * List&lt;CfService&gt; services = cfEnv.findServices(selector);
+ * </pre>
+ *
+ * @see CfEnv#findServices(ServiceSelector)
+ */
+public abstract class ServiceSelector {
+
+	/**
+	 * Relative cost of predicates that only read service metadata.
+	 */
+	private static final int METADATA_COST = 0;
+
+	/**
+	 * Relative cost of predicates that read the service credentials.
+	 */
+	private static final int CREDENTIALS_COST = 1;
+
+	private ServiceSelector() {
+	}
+
+	/**
+	 * Match services whose name matches any of the given regular expressions.
+	 * @param regex regular expressions for the name
+	 * @return the selector
+	 */
+	public static ServiceSelector name(String... regex) {
+		return matching("name", CfService::getName, regex);
+	}
+
+	/**
+	 * Match services whose label matches any of the given regular expressions.
+	 * @param regex regular expressions for the label
+	 * @return the selector
+	 */
+	public static ServiceSelector label(String... regex) {
+		return matching("label", CfService::getLabel, regex);
+	}
+
+	/**
+	 * Match services whose label starts with any of the given prefixes.
+	 * @param prefixes label prefixes
+	 * @return the selector
+	 */
+	public static ServiceSelector labelStartsWith(String... prefixes) {
+		return startingWith("label", CfService::getLabel, prefixes);
+	}
+
+	/**
+	 * Match services whose plan matches any of the given regular expressions.
+	 * @param regex regular expressions for the plan
+	 * @return the selector
+	 */
+	public static ServiceSelector plan(String... regex) {
+		return matching("plan", CfService::getPlan, regex);
+	}
+
+	/**
+	 * Match services whose plan starts with any of the given prefixes.
+	 * @param prefixes plan prefixes
+	 * @return the selector
+	 */
+	public static ServiceSelector planStartsWith(String... prefixes) {
+		return startingWith("plan", CfService::getPlan, prefixes);
+	}
+
+	/**
+	 * Match services with a tag that matches any of the given regular expressions,
+	 * case-sensitively, as {@link CfEnv#findServicesByTag(String...)} does.
+	 * @param regex regular expressions for the tags
+	 * @return the selector
+	 */
+	public static ServiceSelector tag(String... regex) {
+		List<Predicate<String>> matchers = compile(regex);
+		return new Leaf("tag ~ " + Arrays.toString(regex), METADATA_COST, service -> {
+			List<String> tags = service.getTags();
+			if (tags != null) {
+				for (String tag : tags) {
+					if (tag != null && anyMatch(matchers, tag)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * Match services that have any of the given tags, ignoring case, as
+	 * {@link CfService#existsByTagIgnoreCase(String...)} does.
+	 * @param tags the tags
+	 * @return the selector
+	 */
+	public static ServiceSelector tagIgnoreCase(String... tags) {
+		String[] copy = tags.clone();
+		return new Leaf("tag ~i " + Arrays.toString(copy), METADATA_COST,
+				service -> service.existsByTagIgnoreCase(copy));
+	}
+
+	/**
+	 * Match services whose {@code uri} credential starts with any of the given schemes
+	 * followed by {@code ://}, as {@link CfService#existsByUriSchemeStartsWith(String...)}
+	 * does.
+	 * @param schemes the URI schemes
+	 * @return the selector
+	 */
+	public static ServiceSelector uriScheme(String... schemes) {
+		String[] copy = schemes.clone();
+		return new Leaf("uri scheme in " + Arrays.toString(copy), CREDENTIALS_COST,
+				service -> service.existsByUriSchemeStartsWith(copy));
+	}
+
+	/**
+	 * Match services whose credentials contain any of the given keys.
+	 * @param keys the credential keys
+	 * @return the selector
+	 */
+	public static ServiceSelector credentialKey(String... keys) {
+		String[] copy = keys.clone();
+		return new Leaf("credentials contain any of " + Arrays.toString(copy), CREDENTIALS_COST, service -> {
+			Map<String, Object> credentials = service.getCredentials().getMap();
+			for (String key : copy) {
+				if (credentials.containsKey(key)) {
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * Negate a selector.
+	 * @param selector the selector to negate
+	 * @return the selector
+	 */
+	public static ServiceSelector not(ServiceSelector selector) {
+		Objects.requireNonNull(selector, "selector must not be null");
+		if (selector instanceof Not not) {
+			return not.operand;
+		}
+		return new Not(selector);
+	}
+
+	/**
+	 * Combine this selector with another one so that both have to match.
+	 * @param other the other selector
+	 * @return the combined selector
+	 */
+	public ServiceSelector and(ServiceSelector other) {
+		Objects.requireNonNull(other, "other must not be null");
+		return new And(flatten(And.class, this, other));
+	}
+
+	/**
+	 * Combine this selector with another one so that either has to match.
+	 * @param other the other selector
+	 * @return the combined selector
+	 */
+	public ServiceSelector or(ServiceSelector other) {
+		Objects.requireNonNull(other, "other must not be null");
+		return new Or(flatten(Or.class, this, other));
+	}
+
+	/**
+	 * Determine whether the given service is matched by this selector.
+	 * @param service the service
+	 * @return {@code true} if the service matches
+	 */
+	public abstract boolean matches(CfService service);
+
+	/**
+	 * Select the matching services in a single pass, keeping their order.
+	 * @param services the services to filter
+	 * @return the matching services
+	 */
+	public List<CfService> select(List<CfService> services) {
+		List<CfService> result = new ArrayList<>();
+		for (CfService service : services) {
+			if (matches(service)) {
+				result.add(service);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Describe how this selector evaluates against the given service, for diagnostics.
+	 * Every predicate is evaluated, including those that evaluation would short-circuit.
+	 * @param service the service
+	 * @return a description of each predicate and its outcome
+	 */
+	public String explain(CfService service) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Service [").append(service.getName()).append("] ")
+				.append(matches(service) ? "matches" : "does not match").append(':');
+		explain(service, sb, 1);
+		return sb.toString();
+	}
+
+	abstract void explain(CfService service, StringBuilder sb, int indent);
+
+	abstract int cost();
+
+	private static ServiceSelector matching(String attributeName, Function<CfService, String> attribute,
+			String... regex) {
+		List<Predicate<String>> matchers = compile(regex);
+		return new Leaf(attributeName + " ~ " + Arrays.toString(regex), METADATA_COST, service -> {
+			String value = attribute.apply(service);
+			return value != null && !value.isEmpty() && anyMatch(matchers, value);
+		});
+	}
+
+	private static ServiceSelector startingWith(String attributeName, Function<CfService, String> attribute,
+			String... prefixes) {
+		String[] copy = prefixes.clone();
+		return new Leaf(attributeName + " starts with any of " + Arrays.toString(copy), METADATA_COST, service -> {
+			String value = attribute.apply(service);
+			if (value != null) {
+				for (String prefix : copy) {
+					if (value.startsWith(prefix)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		});
+	}
+
+	private static List<Predicate<String>> compile(String... regex) {
+		List<Predicate<String>> matchers = new ArrayList<>(regex.length);
+		for (String spec : regex) {
+			if (CfServiceIndex.isLiteral(spec)) {
+				matchers.add(spec::equals);
+			}
+			else {
+				matchers.add(Pattern.compile(spec).asMatchPredicate());
+			}
+		}
+		return matchers;
+	}
+
+	private static boolean anyMatch(List<Predicate<String>> matchers, String value) {
+		for (Predicate<String> matcher : matchers) {
+			if (matcher.test(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<ServiceSelector> flatten(Class<? extends Composite> type, ServiceSelector... selectors) {
+		List<ServiceSelector> operands = new ArrayList<>();
+		for (ServiceSelector selector : selectors) {
+			if (type.isInstance(selector)) {
+				operands.addAll(((Composite) selector).operands);
+			}
+			else {
+				operands.add(selector);
+			}
+		}
+		// Stable sort: cheaper predicates first, declaration order otherwise
+		operands.sort(Comparator.comparingInt(ServiceSelector::cost));
+		return Collections.unmodifiableList(operands);
+	}
+
+	private static void indent(StringBuilder sb, int indent) {
+		sb.append('\n');
+		for (int i = 0; i < indent; i++) {
+			sb.append("  ");
+		}
+	}
+
+	private static final class Leaf extends ServiceSelector {
+
+		private final String description;
+
+		private final int cost;
+
+		private final Predicate<CfService> predicate;
+
+		Leaf(String description, int cost, Predicate<CfService> predicate) {
+			this.description = description;
+			this.cost = cost;
+			this.predicate = predicate;
+		}
+
+		@Override
+		public boolean matches(CfService service) {
+			return this.predicate.test(service);
+		}
+
+		@Override
+		void explain(CfService service, StringBuilder sb, int indent) {
+			indent(sb, indent);
+			sb.append(this.description).append(" -> ").append(matches(service));
+		}
+
+		@Override
+		int cost() {
+			return this.cost;
+		}
+
+		@Override
+		public String toString() {
+			return this.description;
+		}
+
+	}
+
+	private abstract static class Composite extends ServiceSelector {
+
+		final List<ServiceSelector> operands;
+
+		private final int cost;
+
+		Composite(List<ServiceSelector> operands) {
+			this.operands = operands;
+			this.cost = operands.stream().mapToInt(ServiceSelector::cost).max().orElse(METADATA_COST);
+		}
+
+		abstract String operator();
+
+		@Override
+		void explain(CfService service, StringBuilder sb, int indent) {
+			indent(sb, indent);
+			sb.append(operator()).append(" -> ").append(matches(service));
+			for (ServiceSelector operand : this.operands) {
+				operand.explain(service, sb, indent + 1);
+			}
+		}
+
+		@Override
+		int cost() {
+			return this.cost;
+		}
+
+		@Override
+		public String toString() {
+			return this.operands.stream().map(operand -> (operand instanceof Composite) ? "(" + operand + ")" : operand.toString())
+					.collect(Collectors.joining(" " + operator() + " "));
+		}
+
+	}
+
+	private static final class And extends Composite {
+
+		And(List<ServiceSelector> operands) {
+			super(operands);
+		}
+
+		@Override
+		public boolean matches(CfService service) {
+			for (ServiceSelector operand : this.operands) {
+				if (!operand.matches(service)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		String operator() {
+			return "AND";
+		}
+
+	}
+
+	private static final class Or extends Composite {
+
+		Or(List<ServiceSelector> operands) {
+			super(operands);
+		}
+
+		@Override
+		public boolean matches(CfService service) {
+			for (ServiceSelector operand : this.operands) {
+				if (operand.matches(service)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		String operator() {
+			return "OR";
+		}
+
+	}
+
+	private static final class Not extends ServiceSelector {
+
+		private final ServiceSelector operand;
+
+		Not(ServiceSelector operand) {
+			this.operand = operand;
+		}
+
+		@Override
+		public boolean matches(CfService service) {
+			return !this.operand.matches(service);
+		}
+
+		@Override
+		void explain(CfService service, StringBuilder sb, int indent) {
+			indent(sb, indent);
+			sb.append("NOT -> ").append(matches(service));
+			this.operand.explain(service, sb, indent + 1);
+		}
+
+		@Override
+		int cost() {
+			return this.operand.cost();
+		}
+
+		@Override
+		public String toString() {
+			return "NOT (" + this.operand + ")";
+		}
+
+	}
+
+}
@@ -48,6 +48,8 @@ public class UriInfo {
 
 	private String hosts;
 
+	private URI uri;
+
 	public UriInfo(String scheme, String host, int port, String username,
 				   String password) {
 		this(scheme, host, port, username, password, null, null);
@@ -68,13 +70,27 @@ public class UriInfo {
 		this.path = path;
 		this.query = query;
 
-		this.uriString = buildUri().toString();
+		this.uri = buildUri();
+		this.uriString = this.uri.toString();
 	}
 
 	public UriInfo(String uriString) {
+		this(uriString, true);
+	}
+
+	/**
+	 * Parse the given URI string, in a single pass when it has the common
+	 * {@code scheme://userinfo@host:port/path?query} form and otherwise, or when
+	 * {@code tokenize} is {@code false}, with {@link URI}.
+	 */
+	UriInfo(String uriString, boolean tokenize) {
 		this.uriString = uriString;
+		if (!tokenize || !tokenize(uriString)) {
+			parse(getUri());
+		}
+	}
 
-		URI uri = getUri();
+	private void parse(URI uri) {
 		this.scheme = uri.getScheme();
 		this.path = parsePath(uri);
 		this.query = uri.getQuery();
@@ -109,6 +125,205 @@ public class UriInfo {
 		}
 	}
 
+	/**
+	 * Parse a URI string in a single pass, with the results of {@link URI} for
+	 * the subset of the RFC 2396 syntax it accepts: a hierarchical URI with a
+	 * non-empty authority, a path and a query without escapes, and no fragment or
+	 * IPv6 address. Other URI strings are left to {@link URI}.
+	 * @return whether the URI string was parsed
+	 */
+	private boolean tokenize(String uriString) {
+		int length = uriString.length();
+		if (length == 0 || !isAlpha(uriString.charAt(0))) {
+			return false;
+		}
+		int colon = 1;
+		while (colon < length && isSchemeChar(uriString.charAt(colon))) {
+			colon++;
+		}
+		if (!uriString.startsWith("://", colon)) {
+			return false;
+		}
+
+		int authorityStart = colon + 3;
+		int at = -1;
+		int hostsComma = -1;
+		int hostsColons = 0;
+		boolean hostname = true;
+		int authorityEnd = authorityStart;
+		for (; authorityEnd < length; authorityEnd++) {
+			char c = uriString.charAt(authorityEnd);
+			if (c == '/' || c == '?' || c == '#') {
+				break;
+			}
+			if (c == '@') {
+				if (at != -1) {
+					return false;
+				}
+				at = authorityEnd;
+				hostsComma = -1;
+				hostsColons = 0;
+				hostname = true;
+			}
+			else if (c == '%') {
+				if (!isEscape(uriString, authorityEnd)) {
+					return false;
+				}
+				hostname = false;
+			}
+			else if (isUnreserved(c) || ";:&=+$,".indexOf(c) != -1) {
+				if (c == ',' && hostsComma == -1) {
+					hostsComma = authorityEnd;
+				}
+				else if (c == ':') {
+					hostsColons++;
+				}
+				else if (!isAlphanumeric(c) && c != '.' && c != '-') {
+					hostname = false;
+				}
+			}
+			else {
+				return false;
+			}
+		}
+		int hostsStart = (at != -1) ? at + 1 : authorityStart;
+		if (at == authorityStart || hostsStart == authorityEnd) {
+			return false;
+		}
+
+		int pathEnd = authorityEnd;
+		for (; pathEnd < length; pathEnd++) {
+			char c = uriString.charAt(pathEnd);
+			if (c == '?') {
+				break;
+			}
+			if (c == '%' ? !isEscape(uriString, pathEnd)
+					: !isUnreserved(c) && ";:@&=+$,/".indexOf(c) == -1) {
+				return false;
+			}
+		}
+		String query = null;
+		if (pathEnd < length) {
+			for (int i = pathEnd + 1; i < length; i++) {
+				char c = uriString.charAt(i);
+				if (!isUnreserved(c) && ";/?:@&=+$,".indexOf(c) == -1) {
+					return false;
+				}
+			}
+			query = uriString.substring(pathEnd + 1);
+		}
+
+		if (hostsComma != -1) {
+			// A multi-host authority, which java.net.URI parses as registry-based
+			parseAuthority(uriString.substring(authorityStart, authorityEnd));
+		}
+		else if (hostname) {
+			if (hostsColons > 1) {
+				return false;
+			}
+			int hostEnd = (hostsColons == 1) ? uriString.indexOf(':', hostsStart) : authorityEnd;
+			if (!isHostname(uriString, hostsStart, hostEnd)) {
+				return false;
+			}
+			int port = -1;
+			if (hostsColons == 1) {
+				if (authorityEnd - hostEnd < 2 || authorityEnd - hostEnd > 10) {
+					return false;
+				}
+				port = 0;
+				for (int i = hostEnd + 1; i < authorityEnd; i++) {
+					char c = uriString.charAt(i);
+					if (c < '0' || c > '9') {
+						return false;
+					}
+					port = port * 10 + (c - '0');
+				}
+			}
+			String userInfo = null;
+			int separator = -1;
+			if (at != -1) {
+				userInfo = uriString.substring(authorityStart, at);
+				separator = userInfo.indexOf(':');
+				if (separator == -1 || separator == userInfo.length() - 1
+						|| userInfo.indexOf(':', separator + 1) != -1) {
+					// Rejected by parseUserinfo
+					return false;
+				}
+			}
+			this.host = uriString.substring(hostsStart, hostEnd);
+			this.port = port;
+			if (userInfo != null) {
+				this.userName = urlDecode(userInfo.substring(0, separator));
+				this.password = urlDecode(userInfo.substring(separator + 1));
+			}
+		}
+		else {
+			// A registry-based authority that isn't a list of hosts either, such as
+			// SQL Server's host:port;property=value, leaves host and port unset
+			this.port = -1;
+		}
+		this.scheme = uriString.substring(0, colon);
+		this.path = (pathEnd - authorityEnd > 1)
+				? uriString.substring(authorityEnd + 1, pathEnd) : null;
+		this.query = query;
+		return true;
+	}
+
+	/**
+	 * Whether the given range is a host name or IPv4 address that {@link URI}
+	 * accepts as the host of a server-based authority.
+	 */
+	private static boolean isHostname(String s, int start, int end) {
+		int labelStart = start;
+		int labels = 0;
+		boolean numeric = true;
+		for (int i = start; i <= end; i++) {
+			if (i < end && s.charAt(i) != '.') {
+				continue;
+			}
+			if (i == labelStart || s.charAt(labelStart) == '-' || s.charAt(i - 1) == '-') {
+				return false;
+			}
+			boolean digits = true;
+			for (int j = labelStart; j < i; j++) {
+				char c = s.charAt(j);
+				if (c < '0' || c > '9') {
+					digits = false;
+				}
+			}
+			numeric = numeric && digits && i - labelStart <= 3
+					&& Integer.parseInt(s, labelStart, i, 10) <= 255;
+			labels++;
+			if (i == end && labels > 1 && !isAlpha(s.charAt(labelStart))
+					&& !(numeric && labels == 4)) {
+				return false;
+			}
+			labelStart = i + 1;
+		}
+		return true;
+	}
+
+	private static boolean isEscape(String s, int index) {
+		return index + 2 < s.length() && Character.digit(s.charAt(index + 1), 16) != -1
+				&& Character.digit(s.charAt(index + 2), 16) != -1;
+	}
+
+	private static boolean isAlpha(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isAlphanumeric(char c) {
+		return isAlpha(c) || (c >= '0' && c <= '9');
+	}
+
+	private static boolean isSchemeChar(char c) {
+		return isAlphanumeric(c) || c == '+' || c == '-' || c == '.';
+	}
+
+	private static boolean isUnreserved(char c) {
+		return isAlphanumeric(c) || "-_.!~*'()".indexOf(c) != -1;
+	}
+
 	private void parseAuthority(String authority) {
 		String hostsPart = authority;
 
@@ -140,8 +355,8 @@ public class UriInfo {
 	}
 
 	public static String urlDecode(String s) {
-		if (s == null) {
-			return null;
+		if (s == null || s.indexOf('%') == -1) {
+			return s;
 		}
 
 		try {
@@ -191,11 +406,16 @@ public class UriInfo {
 	}
 
 	public URI getUri() {
-		try {
-			return new URI(uriString);
-		} catch (URISyntaxException e) {
-			throw new IllegalArgumentException("Invalid URI " + uriString, e);
+		URI uri = this.uri;
+		if (uri == null) {
+			try {
+				uri = new URI(uriString);
+			} catch (URISyntaxException e) {
+				throw new IllegalArgumentException("Invalid URI " + uriString, e);
+			}
+			this.uri = uri;
 		}
+		return uri;
 	}
 
 	public String getUriString() {
@@ -203,19 +423,19 @@ public class UriInfo {
 	}
 
 	public String formatUserNameAndPasswordQuery() {
-		if (userName != null && password != null) {
-			return String.format("?user=%s&password=%s", UriInfo.urlEncode(userName),
-					UriInfo.urlEncode(password));
+		if (userName == null) {
+			return "";
 		}
-		if (userName != null) {
-			return String.format("?user=%s", UriInfo.urlEncode(userName));
+		StringBuilder result = new StringBuilder("?user=").append(UriInfo.urlEncode(userName));
+		if (password != null) {
+			result.append("&password=").append(UriInfo.urlEncode(password));
 		}
-		return "";
+		return result.toString();
 	}
 
 	public String formatPort() {
 		if (getPort() != -1) {
-			return String.format(":%d", getPort());
+			return ":" + getPort();
 		}
 		return "";
 	}
@@ -237,11 +457,8 @@ public class UriInfo {
 
 	public String formatQuery() {
 		if (getQuery() != null) {
-			if (formatUserNameAndPasswordQuery().isEmpty()) {
-				return String.format("?%s", getQuery());
-			} else {
-				return String.format("&%s", getQuery());
-			}
+			// formatUserNameAndPasswordQuery() is empty without a user name
+			return ((userName == null) ? "?" : "&") + getQuery();
 		}
 		return "";
 	}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link CharSequence} view of UTF-8 encoded JSON held in a {@link ByteBuffer}, used to
+ * parse memory-mapped files with {@link JsonStreamParser} without decoding the whole
+ * document into a {@link String} first.
+ * <p>
+ * The view is indexed by byte: {@link #charAt(int)} returns each byte as an unsigned
+ * char. This is sufficient for the parser because every character that is significant
+ * to JSON syntax is ASCII, and bytes of multi-byte UTF-8 sequences are never in the ASCII
+ * range. Only {@link #toString()} decodes, so strings sliced out of the document with
+ * {@link #subSequence(int, int)} are correct UTF-8 decodings of their bytes. Parsers that
+ * decode UTF-8 themselves can read the bytes directly from {@link #getInputStream()}.
+ */
+final class Utf8CharSequence implements CharSequence {
+
+	private final ByteBuffer buffer;
+
+	private final int offset;
+
+	private final int length;
+
+	Utf8CharSequence(ByteBuffer buffer) {
+		this(buffer, buffer.position(), buffer.remaining());
+	}
+
+	private Utf8CharSequence(ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return this.length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= this.length) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return (char) (this.buffer.get(this.offset + index) & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > this.length || start > end) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + this.length);
+		}
+		return new Utf8CharSequence(this.buffer, this.offset + start, end - start);
+	}
+
+	/**
+	 * Copy a range of this sequence to the heap, so that it stays readable when the
+	 * buffer is a mapping of a file that is later truncated or rewritten.
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return a sequence over a copy of the bytes
+	 */
+	Utf8CharSequence copy(int start, int end) {
+		if (start < 0 || end > this.length || start > end) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + this.length);
+		}
+		byte[] bytes = new byte[end - start];
+		this.buffer.get(this.offset + start, bytes);
+		return new Utf8CharSequence(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Return a stream over the bytes of this sequence, reading them from the underlying
+	 * buffer without copying it.
+	 * @return a new stream positioned at the start of the sequence
+	 */
+	InputStream getInputStream() {
+		return new ByteBufferInputStream(this.buffer.slice(this.offset, this.length));
+	}
+
+	@Override
+	public String toString() {
+		byte[] bytes = new byte[this.length];
+		this.buffer.get(this.offset, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, this.buffer.remaining());
+			this.buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.remaining();
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.Map;
+
+/**
+ * Parses the VCAP_SERVICES and VCAP_APPLICATION documents into maps, lists, strings,
+ * numbers and booleans.
+ * <p>
+ * Implementations are found with {@link java.util.ServiceLoader}; {@link CfEnv} uses the
+ * available implementation with the lowest {@link #getOrder() order}, or the one named by
+ * the {@value #PARSER_PROPERTY} system property. All implementations must produce the
+ * same result: {@link java.util.LinkedHashMap}s and {@link java.util.ArrayList}s, integral
+ * numbers narrowed to {@link Integer} like {@link JsonIoConverter} does, {@link Long} or
+ * {@link java.math.BigInteger} otherwise, and {@link Double} for other numbers.
+ */
+public interface VcapJsonParser {
+
+	/**
+	 * System property holding the fully qualified class name of the parser to use.
+	 */
+	String PARSER_PROPERTY = "cfenv.json-parser";
+
+	/**
+	 * Parse a JSON object.
+	 * @param json the JSON document
+	 * @return the object
+	 * @throws IllegalArgumentException if the document is not a well-formed JSON object
+	 */
+	Map<String, Object> parseObject(CharSequence json);
+
+	/**
+	 * Whether this parser can be used, for example because the library it delegates to is
+	 * on the class path.
+	 */
+	default boolean isAvailable() {
+		return true;
+	}
+
+	/**
+	 * The order of this parser; available parsers with a lower order are preferred.
+	 */
+	int getOrder();
+
+}
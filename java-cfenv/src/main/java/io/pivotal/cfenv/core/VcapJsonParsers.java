@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Selects the {@link VcapJsonParser} used by {@link CfEnv}.
+ */
+final class VcapJsonParsers {
+
+	private static volatile Selection selection;
+
+	private VcapJsonParsers() {
+	}
+
+	/**
+	 * Return the parser named by {@value VcapJsonParser#PARSER_PROPERTY}, or else the
+	 * available parser with the lowest order. The choice is kept until the property
+	 * changes.
+	 */
+	static VcapJsonParser get() {
+		String name = System.getProperty(VcapJsonParser.PARSER_PROPERTY);
+		Selection current = selection;
+		if (current == null || !Objects.equals(current.name, name)) {
+			current = new Selection(name, select(name));
+			selection = current;
+		}
+		return current.parser;
+	}
+
+	private static VcapJsonParser select(String name) {
+		VcapJsonParser selected = null;
+		Iterator<VcapJsonParser> iterator = ServiceLoader
+				.load(VcapJsonParser.class, VcapJsonParser.class.getClassLoader()).iterator();
+		while (iterator.hasNext()) {
+			VcapJsonParser parser;
+			try {
+				parser = iterator.next();
+			}
+			catch (ServiceConfigurationError | LinkageError e) {
+				// An implementation whose library is missing
+				continue;
+			}
+			if (name != null) {
+				if (parser.getClass().getName().equals(name)) {
+					return parser;
+				}
+			}
+			else if (parser.isAvailable() && (selected == null || parser.getOrder() < selected.getOrder())) {
+				selected = parser;
+			}
+		}
+		if (name != null) {
+			throw new IllegalStateException("No " + VcapJsonParser.class.getSimpleName() + " named [" + name
+					+ "] from " + VcapJsonParser.PARSER_PROPERTY + " system property was found.");
+		}
+		return (selected != null) ? selected : new JsonStreamVcapJsonParser();
+	}
+
+	private static final class Selection {
+
+		private final String name;
+
+		private final VcapJsonParser parser;
+
+		Selection(String name, VcapJsonParser parser) {
+			this.name = name;
+			this.parser = parser;
+		}
+
+	}
+
+}
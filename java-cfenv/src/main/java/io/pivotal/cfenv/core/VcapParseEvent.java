@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the parsing of VCAP_SERVICES and VCAP_APPLICATION by a
+ * {@link CfEnv}. Only created when {@link FlightRecorderSupport#isAvailable()}.
+ */
+@Name("io.pivotal.cfenv.VcapParse")
+@Label("VCAP Parse")
+@Category(FlightRecorderSupport.CATEGORY)
+@Description("Parsing of VCAP_SERVICES and VCAP_APPLICATION")
+@StackTrace(false)
+final class VcapParseEvent extends Event {
+
+	@Label("VCAP_SERVICES Size")
+	@DataAmount
+	long size;
+
+	@Label("Services")
+	int services;
+
+	@Label("Parser")
+	String parser;
+
+	@Label("Lazy Credentials")
+	boolean lazyCredentials;
+
+	@Label("Compact Model")
+	boolean compactModel;
+
+	static VcapParseEvent start() {
+		VcapParseEvent event = new VcapParseEvent();
+		event.begin();
+		return event;
+	}
+
+	void end(CharSequence vcapServicesJson, int services, boolean lazyCredentials, boolean compactModel) {
+		end();
+		if (shouldCommit()) {
+			this.size = (vcapServicesJson != null) ? utf8Length(vcapServicesJson) : 0;
+			this.services = services;
+			this.parser = lazyCredentials ? JsonStreamParser.class.getSimpleName()
+					: VcapJsonParsers.get().getClass().getSimpleName();
+			this.lazyCredentials = lazyCredentials;
+			this.compactModel = compactModel;
+			commit();
+		}
+	}
+
+	/**
+	 * Number of bytes of the UTF-8 encoding of the given document.
+	 */
+	static long utf8Length(CharSequence json) {
+		if (json instanceof Utf8CharSequence) {
+			return json.length();
+		}
+		long length = 0;
+		for (int i = 0; i < json.length(); i++) {
+			char c = json.charAt(i);
+			if (c < 0x80) {
+				length++;
+			}
+			else if (c < 0x800) {
+				length += 2;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < json.length()
+					&& Character.isLowSurrogate(json.charAt(i + 1))) {
+				length += 4;
+				i++;
+			}
+			else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+}
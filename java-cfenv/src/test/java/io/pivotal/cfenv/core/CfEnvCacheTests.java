@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.pivotal.cfenv.core.test.CfEnvMock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CfEnvCacheTests {
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	public void clear() {
+		CfEnvCache.clear();
+	}
+
+	@Test
+	public void sameEnvironmentIsParsedOnce() {
+		CfEnvMock.configure().vcapServicesResource("vcap-services.json").mock();
+
+		CfEnv cfEnv = CfEnvCache.get();
+
+		assertThat(CfEnvCache.get()).isSameAs(cfEnv);
+		assertThat(cfEnv.findServiceByName("mysql")).isNotNull();
+	}
+
+	@Test
+	public void changedEnvironmentIsParsedAgain() {
+		CfEnvMock.configure().vcapServicesResource("vcap-services.json").mock();
+		CfEnv cfEnv = CfEnvCache.get();
+
+		CfEnvMock.configure().vcapServicesResource("vcap-services-multiple-mysql.json").mock();
+		CfEnv changed = CfEnvCache.get();
+
+		assertThat(changed).isNotSameAs(cfEnv);
+		assertThat(changed.findServicesByName("mysql2")).hasSize(1);
+		assertThat(CfEnvCache.get()).isSameAs(changed);
+	}
+
+	@Test
+	public void equalContentIsAHit() {
+		CfEnvMock.configure().vcapServices("{\"p-redis\":[{\"name\":\"redis\"}]}").mock();
+		CfEnv cfEnv = CfEnvCache.get();
+
+		CfEnvMock.configure().vcapServices(new String("{\"p-redis\":[{\"name\":\"redis\"}]}")).mock();
+
+		assertThat(CfEnvCache.get()).isSameAs(cfEnv);
+	}
+
+	@Test
+	public void rotatedBindingIsParsedAgain() throws IOException {
+		Path root = this.tempDir.resolve("bindings");
+		replace(root.resolve("db").resolve("type"), "mysql");
+		replace(root.resolve("db").resolve("password"), "secret-1");
+		CfEnvMock.configure().vcapServices(null).serviceBindingRoot(root.toString()).mock();
+		CfEnv cfEnv = CfEnvCache.get();
+		assertThat(cfEnv.findServiceByName("db").getCredentials().getPassword()).isEqualTo("secret-1");
+
+		replace(root.resolve("db").resolve("password"), "secret-2");
+		CfEnv rotated = CfEnvCache.get();
+
+		assertThat(rotated).isNotSameAs(cfEnv);
+		assertThat(rotated.findServiceByName("db").getCredentials().getPassword()).isEqualTo("secret-2");
+		assertThat(CfEnvCache.get()).isSameAs(rotated);
+	}
+
+	@Test
+	public void replacedVcapServicesFileIsParsedAgain() throws IOException {
+		Path file = this.tempDir.resolve("vcap-services.json");
+		replace(file, "{\"p-redis\":[{\"name\":\"redis-1\"}]}");
+		CfEnvMock.configure().vcapServices(null).vcapServicesFilePath(file.toString()).mock();
+		CfEnv cfEnv = CfEnvCache.get();
+
+		replace(file, "{\"p-redis\":[{\"name\":\"redis-2\"}]}");
+		CfEnv replaced = CfEnvCache.get();
+
+		assertThat(replaced).isNotSameAs(cfEnv);
+		assertThat(replaced.findServiceByName("redis-2")).isNotNull();
+	}
+
+	/**
+	 * Replace a file through a rename, keeping its size and modification time.
+	 */
+	private void replace(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Path next = Files.createTempFile(this.tempDir, "next", null);
+		Files.writeString(next, content);
+		Files.setLastModifiedTime(next, FileTime.fromMillis(1_000_000));
+		Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+}
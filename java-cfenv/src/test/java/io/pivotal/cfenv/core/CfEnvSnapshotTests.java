@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CfEnvSnapshotTests {
+
+	private String vcapServices;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		this.vcapServices = new ClassPathResource("vcap-services-multiple-mysql.json")
+				.getContentAsString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void snapshotIsDeeplyImmutable() {
+		CfEnvSnapshot snapshot = CfEnvSnapshot.of(new CfEnv(null, this.vcapServices), 1);
+		CfService mysql = snapshot.findServicesByName("mysql").get(0);
+
+		assertThat(snapshot.findAllServices()).hasSize(3);
+		assertThat(mysql.getCredentials().getUri()).startsWith("mysql://");
+		assertThatThrownBy(() -> snapshot.findAllServices().clear())
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> mysql.getMap().put("name", "other"))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> mysql.getCredentials().getMap().remove("uri"))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> mysql.getCredentials().getDerivedCredentials().put("jdbcUrl", "x"))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> mysql.getTags().add("other"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void volumesAreImmutable() {
+		String vcapServices = "{\"nfs\":[{\"name\":\"files\",\"credentials\":{},\"volume_mounts\":"
+				+ "[{\"container_dir\":\"/var/vcap/data/files\",\"device_type\":\"shared\",\"mode\":\"r\"}]}]}";
+		CfEnvSnapshot snapshot = CfEnvSnapshot.of(new CfEnv(null, vcapServices), 1);
+		CfService files = snapshot.findServicesByName("files").get(0);
+
+		assertThat(files.getVolumes()).hasSize(1);
+		assertThat(files.getVolumes().get(0).getMode()).isEqualTo(CfVolume.Mode.READ_ONLY);
+		assertThatThrownBy(() -> files.getVolumes().clear()).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> files.getVolumes().get(0).getMap().put("mode", "rw"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void snapshotIsIndependentOfSource() {
+		CfEnv cfEnv = new CfEnv(null, this.vcapServices, true);
+		CfEnvSnapshot snapshot = CfEnvSnapshot.of(cfEnv, 1);
+
+		cfEnv.findServiceByName("redis").getCredentials().getMap().put("host", "changed");
+
+		assertThat(snapshot.findServicesByName("redis").get(0).getCredentials().getHost())
+				.isNotEqualTo("changed");
+		assertThatThrownBy(() -> cfEnv.findAllServices().clear())
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void holderPublishesVersionsAndChanges() {
+		CfEnvSnapshotHolder holder = new CfEnvSnapshotHolder();
+		List<CfEnvChangeEvent> events = new ArrayList<>();
+		holder.addListener(events::add);
+
+		CfEnvSnapshot first = holder.update(new CfEnv(null, this.vcapServices));
+		String changed = this.vcapServices.replace("\"name\": \"mysql2\"", "\"name\": \"mysql3\"")
+				.replace("\"shared-vm\"", "\"dedicated-vm\"");
+		CfEnvSnapshot second = holder.update(new CfEnv(null, changed));
+
+		assertThat(first.getVersion()).isEqualTo(1);
+		assertThat(second.getVersion()).isEqualTo(2);
+		assertThat(holder.get()).isSameAs(second);
+		assertThat(events).hasSize(2);
+		assertThat(events.get(0).getPrevious()).isNull();
+		assertThat(events.get(0).getAddedServiceNames()).containsExactly("mysql", "mysql2", "redis");
+		CfEnvChangeEvent event = events.get(1);
+		assertThat(event.getPrevious()).isSameAs(first);
+		assertThat(event.getAddedServiceNames()).containsExactly("mysql3");
+		assertThat(event.getRemovedServiceNames()).containsExactly("mysql2");
+		assertThat(event.getChangedServiceNames()).containsExactly("redis");
+		assertThat(event.hasServiceChanges()).isTrue();
+
+		holder.update(new CfEnv(null, changed));
+		assertThat(events.get(2).hasServiceChanges()).isFalse();
+		assertThat(events.get(2).getCurrent().findServicesByName("mysql3")).hasSize(1);
+	}
+
+	@Test
+	public void holderNotifiesConcurrentUpdatesInVersionOrder() throws Exception {
+		CfEnvSnapshotHolder holder = new CfEnvSnapshotHolder();
+		List<CfEnvChangeEvent> events = Collections.synchronizedList(new ArrayList<>());
+		holder.addListener(events::add);
+		CfEnv cfEnv = new CfEnv(null, this.vcapServices);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<CfEnvSnapshot>> updates = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				updates.add(executor.submit(() -> holder.update(cfEnv)));
+			}
+			for (Future<CfEnvSnapshot> update : updates) {
+				update.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(events).hasSize(200);
+		for (int i = 0; i < events.size(); i++) {
+			CfEnvChangeEvent event = events.get(i);
+			assertThat(event.getCurrent().getVersion()).isEqualTo(i + 1);
+			assertThat(event.getPrevious()).isSameAs((i > 0) ? events.get(i - 1).getCurrent() : null);
+		}
+		assertThat(holder.get()).isSameAs(events.get(199).getCurrent());
+	}
+
+	@Test
+	public void applicationIsCopied() {
+		CfEnvSnapshot snapshot = CfEnvSnapshot.of(new CfEnv("{\"instance_index\":2,\"uris\":[\"a\"]}", null), 1);
+
+		assertThat(snapshot.getApp().getInstanceIndex()).isEqualTo(2);
+		assertThat(snapshot.findAllServices()).isEmpty();
+		assertThatThrownBy(() -> ((List<Object>) snapshot.getApp().getMap().get("uris")).add("b"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+}
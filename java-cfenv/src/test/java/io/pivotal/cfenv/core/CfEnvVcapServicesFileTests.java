@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+
+import io.pivotal.cfenv.core.test.CfEnvMock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CfEnvVcapServicesFileTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void servicesAreReadFromFile() throws IOException {
+		Path file = writeVcapServices(readResource("vcap-services.json"));
+		CfEnvMock.configure().vcapServices(null).vcapServicesFilePath(file.toString()).mock();
+
+		CfEnv cfEnv = new CfEnv();
+
+		assertThat(cfEnv.findAllServices()).hasSize(new CfEnv(null, readResource("vcap-services.json")).findAllServices().size());
+		assertThat(cfEnv.findServiceByName("mysql").getCredentials().getUri()).startsWith("mysql://");
+		assertThat(cfEnv.getApp()).isNotNull();
+	}
+
+	@Test
+	public void fileTakesPrecedenceOverVariable() throws IOException {
+		Path file = writeVcapServices("{\"p-redis\":[{\"name\":\"from-file\",\"credentials\":{}}]}");
+		CfEnvMock.configure().vcapServicesResource("vcap-services.json").vcapServicesFilePath(file.toString()).mock();
+
+		assertThat(new CfEnv().findAllServices()).extracting(CfService::getName).containsExactly("from-file");
+	}
+
+	@Test
+	public void multiByteAndEscapedCharactersAreDecoded() throws IOException {
+		String name = "caf\u00e9 \uD83D\uDE00";
+		Path file = writeVcapServices("\uFEFF{\"p-redis\":[{\"name\":\"" + name + "\",\"credentials\":"
+				+ "{\"password\":\"\\u00e9\\n" + name + "\"}}]}");
+
+		for (boolean lazy : new boolean[] {false, true}) {
+			CfEnv cfEnv = new CfEnv(null, CfEnv.readVcapServicesFile(file), lazy);
+			assertThat(cfEnv.findServiceByName(name).getCredentials().getPassword()).isEqualTo("\u00e9\n" + name);
+		}
+	}
+
+	@Test
+	public void lazyCredentialsAreReadableAfterFileIsTruncated() throws IOException {
+		Path file = writeVcapServices(readResource("vcap-services.json"));
+		CfEnv cfEnv = new CfEnv(null, CfEnv.readVcapServicesFile(file), true);
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(0);
+		}
+
+		assertThat(cfEnv.findServiceByName("mysql").getCredentials().getUri()).startsWith("mysql://");
+	}
+
+	@Test
+	public void emptyFileHasNoServices() throws IOException {
+		Path file = writeVcapServices("");
+
+		assertThat(new CfEnv(null, CfEnv.readVcapServicesFile(file), false).findAllServices()).isEmpty();
+	}
+
+	@Test
+	public void missingFileIsReported() {
+		assertThatThrownBy(() -> CfEnv.readVcapServicesFile(this.tempDir.resolve("missing.json")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("VCAP_SERVICES_FILE_PATH");
+	}
+
+	private Path writeVcapServices(String json) throws IOException {
+		return Files.writeString(this.tempDir.resolve("vcap-services.json"), json, StandardCharsets.UTF_8);
+	}
+
+	private static String readResource(String resource) throws IOException {
+		return new ClassPathResource(resource).getContentAsString(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CfEnvWatcherTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	public void reloadReadsOnlyChangedBindings() throws IOException {
+		writeEntry("db", "type", "postgresql");
+		writeEntry("db", "password", "secret");
+		writeEntry("cache", "type", "redis");
+		CfEnvSnapshotHolder holder = new CfEnvSnapshotHolder();
+		List<CfEnvChangeEvent> events = new CopyOnWriteArrayList<>();
+		try (CfEnvWatcher watcher = CfEnvWatcher.forBindingRoot(this.root, holder, Duration.ofMillis(10))) {
+			watcher.start();
+			holder.addListener(events::add);
+			CfService cache = holder.get().findServicesByName("cache").get(0);
+
+			writeEntry("db", "password", "rotated");
+			writeEntry("queue", "type", "rabbitmq");
+			watcher.reload(Set.of("db", "queue"));
+
+			assertThat(events).hasSize(1);
+			assertThat(events.get(0).getChangedServiceNames()).containsExactly("db");
+			assertThat(events.get(0).getAddedServiceNames()).containsExactly("queue");
+			assertThat(holder.get().findServicesByName("db").get(0).getCredentials().getPassword()).isEqualTo("rotated");
+			assertThat(holder.get().findServicesByName("cache").get(0).getMap()).isEqualTo(cache.getMap());
+			assertThat(holder.get().getVersion()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void removedBindingsAreReported() throws IOException {
+		writeEntry("db", "type", "postgresql");
+		writeEntry("cache", "type", "redis");
+		CfEnvSnapshotHolder holder = new CfEnvSnapshotHolder();
+		List<CfEnvChangeEvent> events = new CopyOnWriteArrayList<>();
+		try (CfEnvWatcher watcher = CfEnvWatcher.forBindingRoot(this.root, holder, Duration.ofMillis(10))) {
+			watcher.start();
+			holder.addListener(events::add);
+			Files.delete(this.root.resolve("cache").resolve("type"));
+			Files.delete(this.root.resolve("cache"));
+
+			watcher.reload(Set.of("cache"));
+
+			assertThat(events.get(0).getRemovedServiceNames()).containsExactly("cache");
+			assertThat(holder.get().findAllServices()).extracting(CfService::getName).containsExactly("db");
+		}
+	}
+
+	@Test
+	public void fileChangesArePublishedOnceDebounced() throws Exception {
+		Path file = this.root.resolve("vcap-services.json");
+		Files.writeString(file, "{\"p-redis\":[{\"name\":\"redis\",\"credentials\":{\"password\":\"a\"}}]}");
+		CfEnvSnapshotHolder holder = new CfEnvSnapshotHolder();
+		CountDownLatch latch = new CountDownLatch(1);
+		List<CfEnvChangeEvent> events = new CopyOnWriteArrayList<>();
+		try (CfEnvWatcher watcher = CfEnvWatcher.forVcapServicesFile(file, holder, Duration.ofMillis(200))) {
+			watcher.start();
+			holder.addListener(event -> {
+				events.add(event);
+				latch.countDown();
+			});
+
+			Files.writeString(file, "{\"p-redis\":[{\"name\":\"redis\",\"credentials\":{\"password\":\"b\"}}]}");
+			Files.writeString(file, "{\"p-redis\":[{\"name\":\"redis\",\"credentials\":{\"password\":\"c\"}}]}");
+
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(events.get(0).getChangedServiceNames()).containsExactly("redis");
+			assertThat(holder.get().findServicesByName("redis").get(0).getCredentials().getPassword()).isEqualTo("c");
+		}
+	}
+
+	private void writeEntry(String binding, String key, String value) throws IOException {
+		Path directory = Files.createDirectories(this.root.resolve(binding));
+		Files.writeString(directory.resolve(key), value);
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClasspathCapabilitiesTests {
+
+	@Test
+	public void presentClassIsDetected() {
+		assertThat(ClasspathCapabilities.isPresent(CfEnv.class.getName())).isTrue();
+		assertThat(ClasspathCapabilities.getCapabilities()).containsEntry(CfEnv.class.getName(), true);
+	}
+
+	@Test
+	public void absentClassIsDetected() {
+		String className = "io.pivotal.cfenv.core.DoesNotExist";
+
+		assertThat(ClasspathCapabilities.isPresent(className)).isFalse();
+		assertThat(ClasspathCapabilities.isPresent(className)).isFalse();
+		assertThat(ClasspathCapabilities.getCapabilities()).containsEntry(className, false);
+	}
+
+	@Test
+	public void capabilitiesAreACopy() {
+		ClasspathCapabilities.isPresent(String.class.getName());
+
+		ClasspathCapabilities.getCapabilities().clear();
+
+		assertThat(ClasspathCapabilities.getCapabilities()).containsKey(String.class.getName());
+	}
+
+	@Test
+	public void classesAreProbedPerClassLoader() throws IOException {
+		String className = CfEnv.class.getName();
+		try (URLClassLoader isolated = new URLClassLoader(new URL[0], null)) {
+			assertThat(ClasspathCapabilities.isPresent(className, isolated)).isFalse();
+			assertThat(ClasspathCapabilities.isPresent(className, isolated)).isFalse();
+		}
+		assertThat(ClasspathCapabilities.isPresent(className, CfEnv.class.getClassLoader())).isTrue();
+		assertThat(ClasspathCapabilities.isPresent(className, null)).isTrue();
+		assertThat(ClasspathCapabilities.getCapabilities()).containsEntry(className, true);
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompactModelTests {
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void compactEnvironmentEqualsParsedEnvironment(boolean lazyCredentials) throws IOException {
+		String vcapServices = new ClassPathResource("vcap-services-multiple-mysql.json")
+				.getContentAsString(StandardCharsets.UTF_8);
+		String vcapApplication = new ClassPathResource("test/vcap-application.json")
+				.getContentAsString(StandardCharsets.UTF_8);
+		CfEnv parsed = new CfEnv(vcapApplication, vcapServices);
+		CfEnv compact = new CfEnv(vcapApplication, vcapServices, lazyCredentials, true);
+
+		assertThat(compact.getApp().getMap()).isEqualTo(parsed.getApp().getMap());
+		assertThat(compact.findAllServices()).hasSameSizeAs(parsed.findAllServices());
+		for (int i = 0; i < parsed.findAllServices().size(); i++) {
+			CfService expected = parsed.findAllServices().get(i);
+			CfService actual = compact.findAllServices().get(i);
+			assertThat(actual.getMap()).isEqualTo(expected.getMap());
+			assertThat(actual.getMap().keySet()).containsExactlyElementsOf(expected.getMap().keySet());
+			assertThat(actual.getCredentials().getMap()).isEqualTo(expected.getCredentials().getMap());
+			assertThat(actual.getName()).isEqualTo(expected.getName());
+			assertThat(actual.getTags()).isEqualTo(expected.getTags());
+		}
+		assertThatThrownBy(() -> compact.findServiceByName("mysql").getMap().put("name", "other"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void sharesKeysAndRepeatedValues() {
+		Map<String, Object> first = new LinkedHashMap<>();
+		first.put(new String("hostname"), new String("10.0.4.35"));
+		first.put("tags", Arrays.asList("mysql", null));
+		Map<String, Object> second = new LinkedHashMap<>();
+		second.put(new String("hostname"), new String("10.0.4.35"));
+		second.put("volume_mounts", List.of());
+		second.put("credentials", new HashMap<>());
+
+		CompactModel compactModel = new CompactModel();
+		Map<String, Object> compactFirst = compactModel.map(first);
+		Map<String, Object> compactSecond = compactModel.map(second);
+
+		assertThat(compactFirst.keySet().iterator().next()).isSameAs("hostname");
+		assertThat(compactFirst.get("hostname")).isSameAs(compactSecond.get("hostname"));
+		assertThat(compactFirst.get("tags")).isEqualTo(Arrays.asList("mysql", null));
+		assertThat(compactSecond.get("volume_mounts")).isSameAs(Collections.emptyList());
+		assertThat(compactSecond.get("credentials")).isSameAs(Collections.emptyMap());
+		assertThat(compactFirst.get("missing")).isNull();
+		assertThat(compactFirst.containsKey(null)).isFalse();
+	}
+
+	@Test
+	public void serviceAttributesAreReadOnce() {
+		Map<String, Object> serviceData = new HashMap<>();
+		serviceData.put("binding_name", "db");
+		serviceData.put("label", "p-mysql");
+		CfService service = new CfService(serviceData);
+
+		assertThat(service.getName()).isEqualTo("db");
+		assertThat(service.getLabel()).isEqualTo("p-mysql");
+		assertThat(service.getPlan()).isNull();
+		assertThat(service.getTags()).isEmpty();
+		assertThat(service.getTags()).isSameAs(new CfService(new HashMap<>()).getTags());
+		assertThat(service.getVolumes()).isEmpty();
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.core.io.ClassPathResource;
+
+class JsonStreamParserTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = {"vcap-services.json", "vcap-services-multiple-mysql.json",
+			"vcap-null-credentials.json", "test/vcap-application.json"})
+	void parseObject_MatchesJsonIoConverter(String resource) throws IOException {
+		var json = readResource(resource);
+		Assertions.assertEquals(JsonIoConverter.jsonToJavaWithListsAndInts(json), JsonStreamParser.parseObject(json));
+	}
+
+	@Test
+	void parseObject_Application_Test() throws IOException {
+		var vcapApplicationAsMap = JsonStreamParser.parseObject(readResource("test/vcap-application.json"));
+		var applicationUris = vcapApplicationAsMap.get("application_uris");
+		Assertions.assertInstanceOf(List.class, applicationUris);
+		Assertions.assertEquals("my-app.example.com", ((List) applicationUris).get(0));
+		Assertions.assertEquals(61857, vcapApplicationAsMap.get("port"));
+		Assertions.assertEquals(1376265929L, vcapApplicationAsMap.get("state_timestamp"));
+	}
+
+	@Test
+	void parseObject_Services_Test() throws IOException {
+		var vcapServicesAsMap = JsonStreamParser.parseObject(readResource("vcap-services.json"));
+		var tags = ((List<Map>) vcapServicesAsMap.get("p-mysql")).get(0).get("tags");
+		Assertions.assertEquals(List.of("mysql", "relational"), tags);
+		Assertions.assertEquals(45470, ((List<Map<String, Map<String, Object>>>) vcapServicesAsMap.get("p-redis")).get(0).get("credentials").get("port"));
+	}
+
+	@Test
+	void parse_NumbersAreNarrowedLikeJsonIoConverter() {
+		var values = (List<Object>) JsonStreamParser.parse(
+				"[0, -99999999, -100000000, 999999999, 1000000000, 9223372036854775807, 9223372036854775808, 1.5, 2e3]");
+		Assertions.assertEquals(0, values.get(0));
+		Assertions.assertEquals(-99999999, values.get(1));
+		Assertions.assertEquals(-100000000L, values.get(2));
+		Assertions.assertEquals(999999999, values.get(3));
+		Assertions.assertEquals(1000000000L, values.get(4));
+		Assertions.assertEquals(Long.MAX_VALUE, values.get(5));
+		Assertions.assertEquals(new BigInteger("9223372036854775808"), values.get(6));
+		Assertions.assertEquals(1.5d, values.get(7));
+		Assertions.assertEquals(2000d, values.get(8));
+		for (long value : new long[] {-100000000L, -99999999L, 0L, 999999999L, 1000000000L}) {
+			Assertions.assertEquals(JsonIoConverter.tryAndConvertToInt(value), JsonStreamParser.narrow(value));
+		}
+	}
+
+	@Test
+	void parseObject_DefersValuesAtDepth() {
+		var json = "{\"p-redis\":[{\"name\":\"r\",\"credentials\":{\"port\":6379,\"tags\":[\"a\"]}}],"
+				+ "\"credentials\":{\"x\":1}}";
+		var result = JsonStreamParser.parseObject(json, "credentials", 3);
+		Assertions.assertEquals(Map.of("x", 1), result.get("credentials"));
+		var service = ((List<Map<String, Object>>) result.get("p-redis")).get(0);
+		Assertions.assertEquals("r", service.get("name"));
+		var credentials = Assertions.assertInstanceOf(JsonStreamParser.DeferredValue.class, service.get("credentials"));
+		Assertions.assertEquals(Map.of("port", 6379, "tags", List.of("a")), credentials.parse());
+	}
+
+	@Test
+	void parseObject_ValidatesDeferredValues() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> JsonStreamParser.parseObject("{\"l\":[{\"credentials\":{\"a\":tru}}]}", "credentials", 3));
+	}
+
+	@Test
+	void parse_StringEscapes() {
+		Assertions.assertEquals("a\"b\\c/d\né😀",
+				JsonStreamParser.parse("\"a\\\"b\\\\c\\/d\\n\\u00e9\\ud83d\\ude00\""));
+	}
+
+	@Test
+	void parse_RejectsMalformedInput() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> JsonStreamParser.parseObject("{\"a\":1,}"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> JsonStreamParser.parseObject("{\"a\":1} x"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> JsonStreamParser.parseObject("[]"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> JsonStreamParser.parse("\"unterminated"));
+	}
+
+	private static String readResource(String resource) throws IOException {
+		return new Scanner(new ClassPathResource(resource).getInputStream()).useDelimiter("\\A").next();
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServiceSelectorTests {
+
+	private CfEnv cfEnv;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		String vcapServices = new ClassPathResource("vcap-services-multiple-mysql.json")
+				.getContentAsString(StandardCharsets.UTF_8);
+		this.cfEnv = new CfEnv(null, vcapServices);
+	}
+
+	@Test
+	public void attributePredicates() {
+		assertThat(cfEnv.findServices(ServiceSelector.name("mysql"))).extracting(CfService::getName).containsExactly("mysql");
+		assertThat(cfEnv.findServices(ServiceSelector.name("mysql.*"))).extracting(CfService::getName).containsExactly("mysql", "mysql2");
+		assertThat(cfEnv.findServices(ServiceSelector.label("p-redis"))).extracting(CfService::getName).containsExactly("redis");
+		assertThat(cfEnv.findServices(ServiceSelector.tag("RELATIONAL"))).isEmpty();
+		assertThat(cfEnv.findServices(ServiceSelector.tagIgnoreCase("RELATIONAL"))).hasSize(2);
+		assertThat(cfEnv.findServices(ServiceSelector.planStartsWith("shared"))).extracting(CfService::getName).containsExactly("redis");
+		assertThat(cfEnv.findServices(ServiceSelector.uriScheme("mysql"))).hasSize(2);
+		assertThat(cfEnv.findServices(ServiceSelector.credentialKey("jdbcUrl"))).hasSize(2);
+	}
+
+	@Test
+	public void compositeSelectors() {
+		ServiceSelector selector = ServiceSelector.tagIgnoreCase("mysql")
+				.and(ServiceSelector.not(ServiceSelector.name("mysql2")))
+				.or(ServiceSelector.label("p-redis"));
+
+		assertThat(cfEnv.findServices(selector)).extracting(CfService::getName).containsExactly("mysql", "redis");
+		assertThat(cfEnv.findService(ServiceSelector.tagIgnoreCase("mysql").and(ServiceSelector.name("mysql2")))
+				.getName()).isEqualTo("mysql2");
+		assertThat(ServiceSelector.not(ServiceSelector.not(selector))).isSameAs(selector);
+	}
+
+	@Test
+	public void metadataPredicatesAreEvaluatedFirst() {
+		ServiceSelector selector = ServiceSelector.credentialKey("jdbcUrl").and(ServiceSelector.label("p-mysql"));
+
+		assertThat(selector.toString()).isEqualTo("label ~ [p-mysql] AND credentials contain any of [jdbcUrl]");
+	}
+
+	@Test
+	public void explainReportsEveryPredicate() {
+		CfService redis = cfEnv.findServiceByName("redis");
+
+		assertThat(ServiceSelector.tagIgnoreCase("mysql").or(ServiceSelector.label("p-redis")).explain(redis)).isEqualTo(
+				"Service [redis] matches:\n" +
+				"  OR -> true\n" +
+				"    tag ~i [mysql] -> false\n" +
+				"    label ~ [p-redis] -> true");
+	}
+
+	@Test
+	public void findServiceRequiresUniqueMatch() {
+		assertThatThrownBy(() -> cfEnv.findService(ServiceSelector.label("p-mysql")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("No unique service matching by selector [label ~ [p-mysql]] was found.");
+		assertThatThrownBy(() -> cfEnv.findService(ServiceSelector.label("blah")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("No service matching selector [label ~ [blah]] was found.");
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Reports what the first parse of a VCAP_SERVICES document costs with a given
+ * {@link VcapJsonParser}: the classes it loads and the time it takes, followed by the
+ * time of a warmed-up parse. Run it once per parser, each in a fresh JVM, with the
+ * {@code compareJsonParsers} Gradle task:
+ * <pre>
+ * ./gradlew :java-cfenv:compareJsonParsers
+ * </pre>
+ */
+public final class VcapJsonParserStartup {
+
+	private static final int WARMUP_PARSES = 2_000;
+
+	private VcapJsonParserStartup() {
+	}
+
+	/**
+	 * @param args the class name of the parser and, optionally, the path of a
+	 * VCAP_SERVICES document; the {@code vcap-services.json} test fixture is used by default
+	 */
+	public static void main(String[] args) throws Exception {
+		String json = (args.length > 1) ? Files.readString(Path.of(args[1])) : readFixture();
+		ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+
+		long classesBefore = classLoading.getTotalLoadedClassCount();
+		long start = System.nanoTime();
+		VcapJsonParser parser = (VcapJsonParser) Class.forName(args[0]).getDeclaredConstructor().newInstance();
+		Objects.requireNonNull(parser.parseObject(json));
+		long firstParse = System.nanoTime() - start;
+		long classesLoaded = classLoading.getTotalLoadedClassCount() - classesBefore;
+
+		for (int i = 0; i < WARMUP_PARSES; i++) {
+			parser.parseObject(json);
+		}
+		start = System.nanoTime();
+		parser.parseObject(json);
+		long warmParse = System.nanoTime() - start;
+
+		System.out.printf("%-50s classes loaded: %5d  first parse: %8.2f ms  warm parse: %8.2f us%n",
+				parser.getClass().getName(), classesLoaded, firstParse / 1e6, warmParse / 1e3);
+	}
+
+	private static String readFixture() throws IOException {
+		try (var in = VcapJsonParserStartup.class.getClassLoader().getResourceAsStream("vcap-services.json")) {
+			return new String(Objects.requireNonNull(in, "vcap-services.json").readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+}
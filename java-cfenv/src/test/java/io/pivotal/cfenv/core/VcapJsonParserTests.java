@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class VcapJsonParserTests {
+
+	private static final List<String> FIXTURES = List.of("vcap-services.json", "vcap-services-multiple-mysql.json",
+			"vcap-null-credentials.json", "test/vcap-application.json");
+
+	static List<VcapJsonParser> parsers() {
+		return List.of(new JacksonVcapJsonParser(), new JsonStreamVcapJsonParser(), new JsonIoVcapJsonParser());
+	}
+
+	@AfterEach
+	public void clearParserProperty() {
+		System.clearProperty(VcapJsonParser.PARSER_PROPERTY);
+	}
+
+	@ParameterizedTest
+	@MethodSource("parsers")
+	public void parsersProduceTheSameModel(VcapJsonParser parser) throws IOException {
+		for (String fixture : FIXTURES) {
+			String json = new ClassPathResource(fixture).getContentAsString(StandardCharsets.UTF_8);
+			assertThat(parser.parseObject(json)).isEqualTo(JsonIoConverter.jsonToJavaWithListsAndInts(json));
+		}
+		String values = "{\"n\":[0,-100000000,1000000000,9223372036854775808,2e3],\"s\":\"\\u00e9\",\"b\":[true,null]}";
+		assertThat(parser.parseObject(values)).isEqualTo(JsonStreamParser.parseObject(values));
+	}
+
+	@ParameterizedTest
+	@MethodSource("parsers")
+	public void malformedDocumentsAreRejected(VcapJsonParser parser) {
+		assertThatIllegalArgumentException().isThrownBy(() -> parser.parseObject("{\"a\":"));
+		assertThatIllegalArgumentException().isThrownBy(() -> parser.parseObject("{\"a\":[1,"));
+	}
+
+	@ParameterizedTest
+	@MethodSource("parsers")
+	public void mappedDocumentsAreParsed(VcapJsonParser parser) {
+		String json = "{\"s\":\"\u00e9 caf\u00e9\",\"n\":[1,2.5,{\"t\":true}]}";
+		ByteBuffer buffer = ByteBuffer.wrap((" " + json + " ").getBytes(StandardCharsets.UTF_8));
+		CharSequence document = new Utf8CharSequence(buffer.position(1).limit(buffer.limit() - 1));
+		assertThat(parser.parseObject(document)).isEqualTo(JsonStreamParser.parseObject(json));
+	}
+
+	@Test
+	public void jacksonIsPreferredWhenAvailable() {
+		assertThat(new JacksonVcapJsonParser().isAvailable()).isTrue();
+		assertThat(VcapJsonParsers.get()).isInstanceOf(JacksonVcapJsonParser.class);
+	}
+
+	@Test
+	public void parserCanBeChosenWithSystemProperty() {
+		System.setProperty(VcapJsonParser.PARSER_PROPERTY, JsonIoVcapJsonParser.class.getName());
+		assertThat(VcapJsonParsers.get()).isInstanceOf(JsonIoVcapJsonParser.class);
+
+		System.setProperty(VcapJsonParser.PARSER_PROPERTY, "com.example.MissingParser");
+		assertThatIllegalStateException().isThrownBy(VcapJsonParsers::get)
+				.withMessageContaining("com.example.MissingParser");
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pivotal.cfenv.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VcapParseEventTests {
+
+	@Test
+	public void parseIsRecorded(@TempDir Path directory) throws IOException {
+		String vcapServices = new ClassPathResource("vcap-services.json").getContentAsString(StandardCharsets.UTF_8);
+		Path file = directory.resolve("parse.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("io.pivotal.cfenv.VcapParse");
+			recording.start();
+			new CfEnv(null, vcapServices, true);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getLong("size")).isEqualTo(vcapServices.getBytes(StandardCharsets.UTF_8).length);
+		assertThat(event.getInt("services")).isEqualTo(new CfEnv(null, vcapServices).findAllServices().size());
+		assertThat(event.getString("parser")).isEqualTo("JsonStreamParser");
+		assertThat(event.getBoolean("lazyCredentials")).isTrue();
+		assertThat(event.getBoolean("compactModel")).isFalse();
+	}
+
+	@Test
+	public void utf8Length() {
+		String json = "{\"a\":\"é€😀\"}";
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+		assertThat(VcapParseEvent.utf8Length(json)).isEqualTo(bytes.length);
+		assertThat(VcapParseEvent.utf8Length(new Utf8CharSequence(ByteBuffer.wrap(bytes)))).isEqualTo(bytes.length);
+	}
+
+	@Test
+	public void flightRecorderIsAvailable() {
+		assertThat(FlightRecorderSupport.isAvailable()).isTrue();
+	}
+
+}
@@ -32,12 +32,15 @@ import org.springframework.util.Assert;
 public class CfEnvMock {
 	private static final String VCAP_APPLICATION = "VCAP_APPLICATION";
 	private static final String VCAP_SERVICES = "VCAP_SERVICES";
+	private static final String VCAP_SERVICES_FILE_PATH = "VCAP_SERVICES_FILE_PATH";
+	private static final String SERVICE_BINDING_ROOT = "SERVICE_BINDING_ROOT";
 
 	private static final Map<String, String> env = Collections.unmodifiableMap(System.getenv());
 
 	private MockUp<?> mockUp;
 
-	private CfEnvMock(String vcapServicesJson, String vcapApplicationJson) {
+	private CfEnvMock(String vcapServicesJson, String vcapApplicationJson, String vcapServicesFilePath,
+			String serviceBindingRoot) {
 
 		this.mockUp = new MockUp<System>() {
 			@mockit.Mock
@@ -48,6 +51,12 @@ public class CfEnvMock {
 				else if (name.equalsIgnoreCase(VCAP_APPLICATION)) {
 					return vcapApplicationJson;
 				}
+				else if (name.equalsIgnoreCase(VCAP_SERVICES_FILE_PATH)) {
+					return vcapServicesFilePath;
+				}
+				else if (name.equalsIgnoreCase(SERVICE_BINDING_ROOT)) {
+					return serviceBindingRoot;
+				}
 				return env.get(name);
 			}
 
@@ -69,6 +78,10 @@ public class CfEnvMock {
 
 		private String vcapApplication;
 
+		private String vcapServicesFilePath;
+
+		private String serviceBindingRoot;
+
 		private static String DEFAULT_VCAP_APPLICATION_PATH = "test/vcap-application.json";
 
 		private Configurer() {
@@ -86,6 +99,16 @@ public class CfEnvMock {
 			return this;
 		}
 
+		public Configurer vcapServicesFilePath(String vcapServicesFilePath) {
+			this.vcapServicesFilePath = vcapServicesFilePath;
+			return this;
+		}
+
+		public Configurer serviceBindingRoot(String serviceBindingRoot) {
+			this.serviceBindingRoot = serviceBindingRoot;
+			return this;
+		}
+
 		public Configurer vcapApplication(String vcapApplicationJson) {
 			this.vcapApplication = vcapApplicationJson;
 			return this;
@@ -110,7 +133,8 @@ public class CfEnvMock {
 		}
 
 		public CfEnvMock mock() {
-			return new CfEnvMock(this.vcapServices, this.vcapApplication);
+			return new CfEnvMock(this.vcapServices, this.vcapApplication, this.vcapServicesFilePath,
+					this.serviceBindingRoot);
 		}
 
 	}